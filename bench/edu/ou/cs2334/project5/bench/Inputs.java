@@ -0,0 +1,108 @@
+package edu.ou.cs2334.project5.bench;
+
+import java.util.Random;
+
+import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.models.StorageMode;
+/**
+ * Generates benchmark inputs: random grids of a given fill density and
+ * models whose clues come from one grid and whose cells come from another,
+ * so the model is in an unsolved, partly matching state like a game in
+ * progress.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+final class Inputs {
+	
+	/** Seed used for every generated input, so runs are comparable. */
+	static final long SEED = 2334;
+	
+	private Inputs() {
+	}
+	
+	/**
+	 * Generates a random grid.
+	 * 
+	 * @param numRows	number of rows
+	 * @param numCols	number of columns
+	 * @param density	probability that a cell is filled
+	 * @param random	source of randomness
+	 * @return	true for every filled cell
+	 */
+	static boolean[][] randomGrid(int numRows, int numCols, double density, Random random) {
+		boolean[][] grid = new boolean[numRows][numCols];
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				grid[row][col] = random.nextDouble() < density;
+			}
+		}
+		return grid;
+	}
+	
+	/**
+	 * Computes the row clues of a grid.
+	 * 
+	 * @param grid	filled cells
+	 * @return	clue of every row
+	 */
+	static int[][] rowClues(boolean[][] grid) {
+		int[][] clues = new int[grid.length][];
+		for (int row = 0; row < grid.length; ++row) {
+			clues[row] = NonogramModel.project(grid[row]).stream()
+					.mapToInt(Integer::intValue).toArray();
+		}
+		return clues;
+	}
+	
+	/**
+	 * Computes the column clues of a grid.
+	 * 
+	 * @param grid	filled cells
+	 * @return	clue of every column
+	 */
+	static int[][] colClues(boolean[][] grid) {
+		int numCols = grid[0].length;
+		int[][] clues = new int[numCols][];
+		boolean[] line = new boolean[grid.length];
+		for (int col = 0; col < numCols; ++col) {
+			for (int row = 0; row < grid.length; ++row) {
+				line[row] = grid[row][col];
+			}
+			clues[col] = NonogramModel.project(line).stream()
+					.mapToInt(Integer::intValue).toArray();
+		}
+		return clues;
+	}
+	
+	/**
+	 * Builds an unsolved model of the given size and density.
+	 * 
+	 * @param size	number of rows and columns
+	 * @param density	probability that a cell is filled
+	 * @param mode	how the model stores its cells
+	 * @return	the model
+	 */
+	static NonogramModel unsolvedModel(int size, double density, StorageMode mode) {
+		Random random = new Random(SEED);
+		while (true) {
+			boolean[][] solution = randomGrid(size, size, density, random);
+			boolean[][] progress = randomGrid(size, size, density, random);
+			NonogramModel model = new NonogramModel(rowClues(solution), colClues(solution), mode);
+			for (int row = 0; row < size; ++row) {
+				for (int col = 0; col < size; ++col) {
+					if (progress[row][col]) {
+						model.setCellState(row, col, CellState.FILLED);
+					}
+				}
+			}
+			
+			// tiny grids can end up solved, which freezes setCellState
+			if (!model.isSolved()) {
+				return model;
+			}
+		}
+	}
+
+}
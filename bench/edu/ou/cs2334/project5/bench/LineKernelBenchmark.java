@@ -0,0 +1,130 @@
+package edu.ou.cs2334.project5.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.LineKernel;
+/**
+ * Compares the throughput of the scalar LineKernel with the default one on
+ * wide lines stored one byte per cell. The fork adds the incubator vector
+ * module, so the default kernel is the Vector API one whenever the 
+ * {@code vector} folder was compiled onto the class path; otherwise both
+ * parameters measure the scalar kernel.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class LineKernelBenchmark {
+	
+	private static final int NUM_LINES = 64;
+	
+	@Param({"1000", "4000", "16000"})
+	private int length;
+	
+	@Param({"0.2", "0.5", "0.8"})
+	private double density;
+	
+	@Param({"scalar", "default"})
+	private String kernel;
+	
+	private LineKernel lineKernel;
+	private byte[] cells;
+	private byte[] expected;
+	private long[] bits;
+	private int[] runs;
+	private int lineIdx;
+	
+	/**
+	 * Picks the kernel and fills the lines with random cells.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.lineKernel = "scalar".equals(this.kernel) 
+				? LineKernel.scalar() : LineKernel.getDefault();
+		Random random = new Random(Inputs.SEED);
+		this.cells = randomCells(NUM_LINES * this.length, random);
+		this.expected = randomCells(this.length, random);
+		this.bits = new long[LineKernel.wordsFor(this.length)];
+		this.runs = new int[this.length];
+	}
+	
+	private byte[] randomCells(int numCells, Random random) {
+		byte[] result = new byte[numCells];
+		for (int i = 0; i < numCells; ++i) {
+			CellState state = random.nextDouble() < this.density ? CellState.FILLED 
+					: random.nextBoolean() ? CellState.EMPTY : CellState.MARKED;
+			result[i] = (byte) state.ordinal();
+		}
+		return result;
+	}
+	
+	private int nextOffset() {
+		this.lineIdx = this.lineIdx + 1 == NUM_LINES ? 0 : this.lineIdx + 1;
+		return this.lineIdx * this.length;
+	}
+	
+	/**
+	 * Packs the filled cells of a line into a bitset.
+	 * 
+	 * @return	the bitset
+	 */
+	@Benchmark
+	public long[] packFilled() {
+		this.lineKernel.packFilled(this.cells, nextOffset(), this.length, this.bits);
+		return this.bits;
+	}
+	
+	/**
+	 * Finds the runs of a line.
+	 * 
+	 * @return	number of runs
+	 */
+	@Benchmark
+	public int project() {
+		return this.lineKernel.project(this.cells, nextOffset(), this.length, 
+				this.bits, this.runs);
+	}
+	
+	/**
+	 * Compares the filled cells of a line with a solver's line.
+	 * 
+	 * @return	number of cells that differ
+	 */
+	@Benchmark
+	public int countFilledMismatches() {
+		return this.lineKernel.countFilledMismatches(this.cells, nextOffset(), 
+				this.expected, 0, this.length);
+	}
+	
+	/**
+	 * Compares the filled and marked cells of a line with a solver's line.
+	 * 
+	 * @return	number of cells that differ
+	 */
+	@Benchmark
+	public int countMismatches() {
+		return this.lineKernel.countMismatches(this.cells, nextOffset(), 
+				this.expected, 0, this.length);
+	}
+
+}
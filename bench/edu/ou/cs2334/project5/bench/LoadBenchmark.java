@@ -0,0 +1,158 @@
+package edu.ou.cs2334.project5.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Measures the file constructor of NonogramModel on the bundled puzzles
+ * and on generated text and binary files. Benchmarks must be run from the
+ * project directory so that puzzles/ can be found.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+	
+	/**
+	 * Loads one of the bundled puzzles.
+	 */
+	@State(Scope.Thread)
+	public static class BundledPuzzle {
+		
+		@Param({"space-invader", "bunny", "garfield", "mr-monopoly", "long-idk"})
+		private String name;
+		
+		private File file;
+		
+		/**
+		 * Finds the puzzle file.
+		 */
+		@Setup(Level.Trial)
+		public void setUp() {
+			this.file = new File("puzzles", this.name + ".txt");
+		}
+	}
+	
+	/**
+	 * Writes a generated puzzle to temporary files in both formats.
+	 */
+	@State(Scope.Thread)
+	public static class GeneratedPuzzle {
+		
+		@Param({"50", "500", "1000"})
+		private int size;
+		
+		@Param({"0.2", "0.5", "0.8"})
+		private double density;
+		
+		private File textFile;
+		private File binaryFile;
+		
+		/**
+		 * Generates the puzzle and writes the files.
+		 * 
+		 * @throws IOException	if a file cannot be written
+		 */
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			boolean[][] grid = Inputs.randomGrid(this.size, this.size, this.density, 
+					new Random(Inputs.SEED));
+			int[][] rowClues = Inputs.rowClues(grid);
+			int[][] colClues = Inputs.colClues(grid);
+			
+			this.textFile = File.createTempFile("nonogram", ".txt");
+			try (PrintWriter writer = new PrintWriter(this.textFile)) {
+				writer.println(this.size + " " + this.size);
+				writeClueLines(writer, rowClues);
+				writeClueLines(writer, colClues);
+			}
+			
+			this.binaryFile = File.createTempFile("nonogram", ".ngb");
+			try (OutputStream out = new FileOutputStream(this.binaryFile)) {
+				new NonogramModel(rowClues, colClues).writeBinary(out, false);
+			}
+		}
+		
+		private static void writeClueLines(PrintWriter writer, int[][] clues) {
+			for (int[] clue : clues) {
+				StringBuilder line = new StringBuilder();
+				for (int run : clue) {
+					line.append(line.length() == 0 ? "" : " ").append(run);
+				}
+				writer.println(line);
+			}
+		}
+		
+		/**
+		 * Deletes the files.
+		 */
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.textFile.delete();
+			this.binaryFile.delete();
+		}
+	}
+	
+	/**
+	 * Loads a bundled puzzle.
+	 * 
+	 * @param puzzle	puzzle to be loaded
+	 * @return	the model
+	 * @throws IOException	if the file cannot be read
+	 */
+	@Benchmark
+	public NonogramModel loadBundled(BundledPuzzle puzzle) throws IOException {
+		return new NonogramModel(puzzle.file);
+	}
+	
+	/**
+	 * Loads a generated puzzle in the text format.
+	 * 
+	 * @param puzzle	puzzle to be loaded
+	 * @return	the model
+	 * @throws IOException	if the file cannot be read
+	 */
+	@Benchmark
+	public NonogramModel loadGeneratedText(GeneratedPuzzle puzzle) throws IOException {
+		return new NonogramModel(puzzle.textFile);
+	}
+	
+	/**
+	 * Loads a generated puzzle in the binary format.
+	 * 
+	 * @param puzzle	puzzle to be loaded
+	 * @return	the model
+	 * @throws IOException	if the file cannot be read
+	 */
+	@Benchmark
+	public NonogramModel loadGeneratedBinary(GeneratedPuzzle puzzle) throws IOException {
+		return new NonogramModel(puzzle.binaryFile);
+	}
+
+}
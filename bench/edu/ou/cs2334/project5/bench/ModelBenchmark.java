@@ -0,0 +1,188 @@
+package edu.ou.cs2334.project5.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.models.StorageMode;
+/**
+ * Measures the hot paths of NonogramModel on generated square grids from
+ * 5x5 to 1000x1000 at several fill densities, for every storage mode.
+ * Every benchmark walks over all lines in turn so that large grids are
+ * not measured on a single cached line.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+	
+	@Param({"5", "50", "200", "500", "1000"})
+	private int size;
+	
+	@Param({"0.2", "0.5", "0.8"})
+	private double density;
+	
+	@Param({"ARRAY", "PACKED", "BYTES"})
+	private StorageMode mode;
+	
+	private NonogramModel model;
+	private boolean[][] lines;
+	private int[] runs;
+	private int lineIdx;
+	private int cellIdx;
+	
+	/**
+	 * Builds the model and the lines projected by the static benchmarks.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		this.model = Inputs.unsolvedModel(this.size, this.density, this.mode);
+		this.lines = Inputs.randomGrid(this.size, this.size, this.density, 
+				new Random(Inputs.SEED + 1));
+		this.runs = new int[NonogramModel.maxProjectionLength(this.size)];
+	}
+	
+	private int nextLine() {
+		this.lineIdx = this.lineIdx + 1 == this.size ? 0 : this.lineIdx + 1;
+		return this.lineIdx;
+	}
+	
+	/**
+	 * Projects a line into a new list.
+	 * 
+	 * @return	the projection
+	 */
+	@Benchmark
+	public List<Integer> project() {
+		return NonogramModel.project(this.lines[nextLine()]);
+	}
+	
+	/**
+	 * Projects a line into a reused buffer.
+	 * 
+	 * @return	number of runs
+	 */
+	@Benchmark
+	public int projectIntoBuffer() {
+		return NonogramModel.project(this.lines[nextLine()], this.runs);
+	}
+	
+	/**
+	 * Projects the cell states of a row of the model.
+	 * 
+	 * @return	the projection
+	 */
+	@Benchmark
+	public int[] projectCellStatesRow() {
+		return this.model.projectCellStatesRow(nextLine());
+	}
+	
+	/**
+	 * Projects the cell states of a column of the model.
+	 * 
+	 * @return	the projection
+	 */
+	@Benchmark
+	public int[] projectCellStatesCol() {
+		return this.model.projectCellStatesCol(nextLine());
+	}
+	
+	/**
+	 * Checks whether a row is solved.
+	 * 
+	 * @return	whether the row is solved
+	 */
+	@Benchmark
+	public boolean isRowSolved() {
+		return this.model.isRowSolved(nextLine());
+	}
+	
+	/**
+	 * Compares the cells of a row with its clue, as done when a cell of the
+	 * row changes.
+	 * 
+	 * @return	whether the row matches its clue
+	 */
+	@Benchmark
+	public boolean matchesRowClue() {
+		return this.model.matchesRowClue(nextLine());
+	}
+	
+	/**
+	 * Checks whether the puzzle is solved.
+	 * 
+	 * @return	whether the puzzle is solved
+	 */
+	@Benchmark
+	public boolean isSolved() {
+		return this.model.isSolved();
+	}
+	
+	/**
+	 * Toggles one cell between filled and empty, which also updates the
+	 * solved state of its row and column.
+	 * 
+	 * @return	whether the cell changed
+	 */
+	@Benchmark
+	public boolean setCellState() {
+		this.cellIdx = (this.cellIdx + 7919) % (this.size * this.size);
+		int row = this.cellIdx / this.size;
+		int col = this.cellIdx % this.size;
+		CellState state = this.model.getCellState(row, col) == CellState.FILLED 
+				? CellState.EMPTY : CellState.FILLED;
+		return this.model.setCellState(row, col, state);
+	}
+	
+	/**
+	 * Copies all row clues.
+	 * 
+	 * @return	the copy
+	 */
+	@Benchmark
+	public int[][] getRowClues() {
+		return this.model.getRowClues();
+	}
+	
+	/**
+	 * Copies the clue of one row.
+	 * 
+	 * @return	the copy
+	 */
+	@Benchmark
+	public int[] getRowClue() {
+		return this.model.getRowClue(nextLine());
+	}
+	
+	/**
+	 * Reads the first run of one row through its read-only view.
+	 * 
+	 * @return	the first run
+	 */
+	@Benchmark
+	public int getRowClueLine() {
+		return this.model.getRowClueLine(nextLine()).get(0);
+	}
+
+}
@@ -6,6 +6,7 @@ import javafx.stage.Stage;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 import edu.ou.cs2334.project5.presenters.NonogramPresenter;
+import edu.ou.cs2334.project5.views.RenderMode;
 /**
  * Extends Application and starts the nonogram puzzle.
  * 
@@ -16,9 +17,13 @@ public class Main extends Application {
 	
 	private static int IDX_CELL_SIZE = 0;
 	private static int DEFAULT_CELL_SIZE = 30;
+	private static String RENDERER_PARAMETER = "renderer";
 	
 	/**
-	 * Launches the puzzle.
+	 * Launches the puzzle. The optional first argument is the cell size in 
+	 * pixels. --renderer=canvas draws the cell grid on a single canvas, and 
+	 * --renderer=virtual draws the cells and the clues on canvases the size 
+	 * of the window; both suit very large puzzles.
 	 * 
 	 * @param args	arguments of the program
 	 */
@@ -42,9 +47,16 @@ public class Main extends Application {
 		else {
 			cellSize = DEFAULT_CELL_SIZE;
 		}
+		
+		// extract how the cell grid is drawn
+		RenderMode renderMode = RenderMode.NODES;
+		String renderer = getParameters().getNamed().get(RENDERER_PARAMETER);
+		if (renderer != null) {
+			renderMode = RenderMode.valueOf(renderer.toUpperCase());
+		}
 
 		// construct presenter
-		NonogramPresenter presenter = new NonogramPresenter(cellSize);
+		NonogramPresenter presenter = new NonogramPresenter(cellSize, renderMode);
 		
 		// create scene
 		Pane pane = presenter.getPane();
@@ -54,7 +66,8 @@ public class Main extends Application {
 		// set scene on primary stage
 				primaryStage.setScene(scene);
 				primaryStage.setTitle("Nonogram Puzzle");
-				primaryStage.setResizable(false);
+				// the canvas and virtual views scroll, so they can fit any window
+				primaryStage.setResizable(renderMode != RenderMode.NODES);
 				primaryStage.show();
 	}
 
@@ -1,6 +1,8 @@
 package edu.ou.cs2334.project5.handlers;
 
 import javafx.stage.Window;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.stage.FileChooser;
 /**
  * Represents a general handler involving file selection.
@@ -17,5 +19,21 @@ public abstract class AbstractBaseHandler {
 		this.window = window;
 		this.fileChooser = fileChooser;
 	}
+	
+	/**
+	 * Shows an error alert describing an exception.
+	 * 
+	 * @param header	short description of what failed
+	 * @param e	exception that occurred
+	 */
+	protected void showError(String header, Exception e) {
+		Alert error = new Alert(AlertType.ERROR);
+		error.initOwner(window);
+		error.setTitle("Error");
+		error.setHeaderText(header);
+		error.setContentText(e.getMessage() != null ? e.getMessage() 
+				: e.getClass().getSimpleName());
+		error.showAndWait();
+	}
 
 }
@@ -44,7 +44,7 @@ public class OpenHandler extends AbstractBaseHandler implements EventHandler<Act
 			}
 		}
 		catch (Exception e) {
-			e.getMessage();
+			showError("Could not open the file", e);
 		}
 	}
 
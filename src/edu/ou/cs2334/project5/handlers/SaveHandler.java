@@ -0,0 +1,49 @@
+package edu.ou.cs2334.project5.handlers;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.stage.FileChooser;
+import java.io.File;
+
+import javafx.stage.Window;
+import edu.ou.cs2334.project5.interfaces.Saveable;
+/**
+ * Extends AbstractBaseHandler and implements EventHandler interface to implement
+ * the handle method for the save button.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class SaveHandler extends AbstractBaseHandler implements EventHandler<ActionEvent> {
+	
+	private Saveable saver;
+	
+	/**
+	 * Constructs a SaveHandler using a window, fileChooser, and saver.
+	 * 
+	 * @param window	window of the program
+	 * @param fileChooser	allows user to choose a file to save to
+	 * @param saver	helps to implement saving process
+	 */
+	public SaveHandler(Window window, FileChooser fileChooser, Saveable saver) {
+		super(window, fileChooser);
+		this.saver = saver;
+	}
+
+	/**
+	 * Handles the saving of the file if it is not null.
+	 */
+	public void handle(ActionEvent event) {
+		try {
+			File file = fileChooser.showSaveDialog(window);
+			
+			if (file != null) {
+				saver.save(file);
+			}
+		}
+		catch (Exception e) {
+			showError("Could not save the file", e);
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+package edu.ou.cs2334.project5.interfaces;
+
+import javafx.scene.input.MouseButton;
+/**
+ * Interface that allows a cell grid view to report mouse input on its
+ * cells, however the cells are drawn.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public interface CellInputHandler {
+
+	/**
+	 * Called when a mouse button is pressed on a cell.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 * @param button	button that was pressed
+	 */
+	void cellPressed(int rowIdx, int colIdx, MouseButton button);
+
+	/**
+	 * Called when the mouse is dragged onto another cell while a button
+	 * is held.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 */
+	void cellEntered(int rowIdx, int colIdx);
+
+	/**
+	 * Called when the pressed button is released.
+	 */
+	void cellReleased();
+
+}
@@ -0,0 +1,38 @@
+package edu.ou.cs2334.project5.interfaces;
+
+import edu.ou.cs2334.project5.models.CellState;
+/**
+ * Interface that allows a view to read the states it draws on demand
+ * instead of keeping its own copy of the whole puzzle.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public interface GridSource {
+
+	/**
+	 * Returns the state of a cell.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 * @return	state of the cell
+	 */
+	CellState getCellState(int rowIdx, int colIdx);
+
+	/**
+	 * Indicates whether a row is solved.
+	 * 
+	 * @param rowIdx	row index
+	 * @return	true if the row matches its clue
+	 */
+	boolean isRowSolved(int rowIdx);
+
+	/**
+	 * Indicates whether a column is solved.
+	 * 
+	 * @param colIdx	column index
+	 * @return	true if the column matches its clue
+	 */
+	boolean isColSolved(int colIdx);
+
+}
@@ -0,0 +1,21 @@
+package edu.ou.cs2334.project5.interfaces;
+
+import java.io.File;
+import java.io.IOException;
+/**
+ * Interface that allows the SaveHandler to handle saving files.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public interface Saveable {
+	
+	/**
+	 * Allows SaveHandler to handle saving files.
+	 * 
+	 * @param file	file to be saved to
+	 * @throws IOException	if the file cannot be written
+	 */
+	void save(File file) throws IOException;
+
+}
@@ -0,0 +1,132 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Stores one CellState reference per cell.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class ArrayCellGrid extends CellGrid {
+	
+	private CellState[][] cellStates;
+	
+	/**
+	 * Constructs an empty grid with the given dimensions.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 */
+	ArrayCellGrid(int numRows, int numCols) {
+		this.cellStates = initCellStates(numRows, numCols);
+	}
+	
+	@Override
+	StorageMode getMode() {
+		return StorageMode.ARRAY;
+	}
+	
+	@Override
+	CellState get(int rowIdx, int colIdx) {
+		return this.cellStates[rowIdx][colIdx];
+	}
+	
+	@Override
+	void set(int rowIdx, int colIdx, CellState state) {
+		this.cellStates[rowIdx][colIdx] = state;
+	}
+	
+	@Override
+	void clear() {
+		for (int i = 0; i < this.cellStates.length; ++i) {
+			Arrays.fill(this.cellStates[i], CellState.EMPTY);
+		}
+	}
+	
+	@Override
+	int projectRow(int rowIdx, int[] runs) {
+		int numCols = this.cellStates[rowIdx].length;
+		return projectLine(rowIdx, 0, 0, 1, numCols, runs);
+	}
+	
+	@Override
+	int projectCol(int colIdx, int[] runs) {
+		return projectLine(0, colIdx, 1, 0, this.cellStates.length, runs);
+	}
+	
+	@Override
+	boolean matchesRow(int rowIdx, ClueSet clues) {
+		int numCols = this.cellStates[rowIdx].length;
+		return matchesLine(rowIdx, 0, 0, 1, numCols, clues, rowIdx);
+	}
+	
+	@Override
+	boolean matchesCol(int colIdx, ClueSet clues) {
+		return matchesLine(0, colIdx, 1, 0, this.cellStates.length, clues, colIdx);
+	}
+	
+	private int projectLine(int rowIdx, int colIdx, int rowStep, int colStep,
+			int length, int[] runs) {
+		int numRuns = 0;
+		int run = 0;
+		for (int i = 0; i < length; ++i) {
+			if (this.cellStates[rowIdx][colIdx] == CellState.FILLED) {
+				++run;
+			}
+			else if (run > 0) {
+				// end of the cluster
+				runs[numRuns++] = run;
+				run = 0;
+			}
+			rowIdx += rowStep;
+			colIdx += colStep;
+		}
+		
+		// close the cluster touching the end of the line
+		if (run > 0) {
+			runs[numRuns++] = run;
+		}
+		
+		return finishProjection(runs, numRuns);
+	}
+	
+	private boolean matchesLine(int rowIdx, int colIdx, int rowStep, int colStep,
+			int length, ClueSet clues, int lineIdx) {
+		int clueIdx = 0;
+		int run = 0;
+		for (int i = 0; i < length; ++i) {
+			if (this.cellStates[rowIdx][colIdx] == CellState.FILLED) {
+				++run;
+			}
+			else if (run > 0) {
+				// compare the finished cluster with the next clue number
+				if (!clues.matchesRun(lineIdx, clueIdx, run)) {
+					return false;
+				}
+				++clueIdx;
+				run = 0;
+			}
+			rowIdx += rowStep;
+			colIdx += colStep;
+		}
+		
+		return clues.matchesLastRun(lineIdx, clueIdx, run);
+	}
+	
+	// This is implemented for you
+	private static CellState[][] initCellStates(int numRows, int numCols) {
+		// Create a 2D array to store numRows * numCols elements
+		CellState[][] cellStates = new CellState[numRows][numCols];
+		
+		// Set each element of the array to empty
+		for (int rowIdx = 0; rowIdx < numRows; ++rowIdx) {
+			for (int colIdx = 0; colIdx < numCols; ++colIdx) {
+				cellStates[rowIdx][colIdx] = CellState.EMPTY;
+			}
+		}
+		
+		// Return the result
+		return cellStates;
+	}
+
+}
@@ -0,0 +1,154 @@
+package edu.ou.cs2334.project5.models;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+/**
+ * Reads puzzles in the binary format. A file starts with the magic bytes
+ * and a version byte, followed by a flags byte, the number of rows and
+ * columns, and the run lengths of every row and then every column, each
+ * line prefixed by its number of runs. All numbers are unsigned varints
+ * (seven bits per byte, low bits first). If the cells flag is set, the
+ * cell states follow in row-major order with two bits per cell.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class BinaryPuzzleReader {
+	
+	/** Bytes every binary puzzle starts with. */
+	static final byte[] MAGIC = {'N', 'G', 'R', 'M'};
+	
+	/** Version written by this code. */
+	static final int VERSION = 1;
+	
+	/** Flag set when the cell states are stored. */
+	static final int FLAG_CELLS = 1;
+	
+	private static final CellState[] STATES = CellState.values();
+	
+	private final InputStream in;
+	private long offset;
+	private int flags;
+	
+	/**
+	 * Constructs a BinaryPuzzleReader for a stream positioned right after
+	 * the magic bytes. The stream should be buffered.
+	 * 
+	 * @param in	stream to read the puzzle from
+	 */
+	BinaryPuzzleReader(InputStream in) {
+		this.in = in;
+		this.offset = MAGIC.length;
+	}
+	
+	/**
+	 * Indicates whether the first bytes of a file are the magic bytes.
+	 * 
+	 * @param head	first bytes of the file
+	 * @return	true if the file is a binary puzzle
+	 */
+	static boolean isBinary(byte[] head) {
+		return Arrays.equals(head, MAGIC);
+	}
+	
+	/**
+	 * Reads the version, the flags, and the dimensions.
+	 * 
+	 * @return	the number of rows and the number of columns
+	 * @throws IOException	if the stream cannot be read or the header is 
+	 * 			malformed
+	 */
+	int[] readHeader() throws IOException {
+		int version = readByte();
+		if (version != VERSION) {
+			throw new PuzzleFormatException("unsupported version " + version, this.offset - 1);
+		}
+		this.flags = readByte();
+		return new int[] {readVarint(), readVarint()};
+	}
+	
+	/**
+	 * Indicates whether the cell states follow the clues.
+	 * 
+	 * @return	true if the cells flag is set
+	 */
+	boolean hasCells() {
+		return (this.flags & FLAG_CELLS) != 0;
+	}
+	
+	/**
+	 * Reads the given number of clue lines.
+	 * 
+	 * @param numLines	number of lines to read
+	 * @return	the clues of every line
+	 * @throws IOException	if the stream cannot be read or ends early
+	 */
+	ClueSet readClueLines(int numLines) throws IOException {
+		ClueSet.Builder builder = new ClueSet.Builder();
+		for (int lineIdx = 0; lineIdx < numLines; ++lineIdx) {
+			int numRuns = readVarint();
+			for (int i = 0; i < numRuns; ++i) {
+				builder.add(readVarint());
+			}
+			builder.endLine();
+		}
+		return builder.build();
+	}
+	
+	/**
+	 * Reads the cell states into a grid.
+	 * 
+	 * @param cells	grid receiving the states
+	 * @param numRows	number of rows
+	 * @param numCols	number of columns
+	 * @throws IOException	if the stream cannot be read or holds an 
+	 * 			invalid state
+	 */
+	void readCells(CellGrid cells, int numRows, int numCols) throws IOException {
+		int bits = 0;
+		int cellIdx = 0;
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				// four cells per byte, the first in the lowest bits
+				if (cellIdx % 4 == 0) {
+					bits = readByte();
+				}
+				int code = (bits >> (2 * (cellIdx % 4))) & 3;
+				if (code >= STATES.length) {
+					throw new PuzzleFormatException("invalid cell state " + code, this.offset - 1);
+				}
+				cells.set(row, col, STATES[code]);
+				++cellIdx;
+			}
+		}
+	}
+	
+	private int readVarint() throws IOException {
+		long start = this.offset;
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			if (shift == 28 && (b & 0x78) != 0) {
+				// the value would not fit into a non-negative int
+				break;
+			}
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new PuzzleFormatException("number too large", start);
+	}
+	
+	private int readByte() throws IOException {
+		int b = this.in.read();
+		if (b < 0) {
+			throw new EOFException("binary puzzle ended at byte " + this.offset);
+		}
+		++this.offset;
+		return b;
+	}
+
+}
@@ -0,0 +1,89 @@
+package edu.ou.cs2334.project5.models;
+
+import java.io.IOException;
+import java.io.OutputStream;
+/**
+ * Writes puzzles in the binary format described in {@link BinaryPuzzleReader}.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class BinaryPuzzleWriter {
+	
+	private final OutputStream out;
+	
+	/**
+	 * Constructs a BinaryPuzzleWriter. The stream should be buffered.
+	 * 
+	 * @param out	stream to write the puzzle to
+	 */
+	BinaryPuzzleWriter(OutputStream out) {
+		this.out = out;
+	}
+	
+	/**
+	 * Writes the magic bytes, the version, the flags, and the dimensions.
+	 * 
+	 * @param numRows	number of rows
+	 * @param numCols	number of columns
+	 * @param withCells	whether the cell states will be written
+	 * @throws IOException	if writing fails
+	 */
+	void writeHeader(int numRows, int numCols, boolean withCells) throws IOException {
+		this.out.write(BinaryPuzzleReader.MAGIC);
+		this.out.write(BinaryPuzzleReader.VERSION);
+		this.out.write(withCells ? BinaryPuzzleReader.FLAG_CELLS : 0);
+		writeVarint(numRows);
+		writeVarint(numCols);
+	}
+	
+	/**
+	 * Writes clue lines, each prefixed by its number of runs.
+	 * 
+	 * @param clues	clues of every line
+	 * @throws IOException	if writing fails
+	 */
+	void writeClueLines(ClueSet clues) throws IOException {
+		for (int lineIdx = 0; lineIdx < clues.getNumLines(); ++lineIdx) {
+			int numRuns = clues.size(lineIdx);
+			writeVarint(numRuns);
+			for (int i = 0; i < numRuns; ++i) {
+				writeVarint(clues.get(lineIdx, i));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the cell states in row-major order, four cells per byte.
+	 * 
+	 * @param cells	grid holding the states
+	 * @param numRows	number of rows
+	 * @param numCols	number of columns
+	 * @throws IOException	if writing fails
+	 */
+	void writeCells(CellGrid cells, int numRows, int numCols) throws IOException {
+		int bits = 0;
+		int cellIdx = 0;
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				bits |= cells.get(row, col).ordinal() << (2 * (cellIdx % 4));
+				if (++cellIdx % 4 == 0) {
+					this.out.write(bits);
+					bits = 0;
+				}
+			}
+		}
+		if (cellIdx % 4 != 0) {
+			this.out.write(bits);
+		}
+	}
+	
+	private void writeVarint(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			this.out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		this.out.write(value);
+	}
+
+}
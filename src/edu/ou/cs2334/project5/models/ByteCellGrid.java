@@ -0,0 +1,101 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Stores one byte per cell, holding the ordinal of its CellState, in a 
+ * row-major array with a column-major copy. Lines are checked by packing 
+ * their filled cells into a bitset with the default LineKernel, which uses
+ * the Vector API when it is available, and scanning the bitset a word at a
+ * time.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class ByteCellGrid extends CellGrid {
+	
+	private static final CellState[] STATES = CellState.values();
+	
+	private final int numRows;
+	private final int numCols;
+	private final byte[] rowCells;
+	private final byte[] colCells;
+	private final long[] bits;
+	private final LineKernel kernel;
+	
+	/**
+	 * Constructs an empty grid with the given dimensions.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 */
+	ByteCellGrid(int numRows, int numCols) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.rowCells = new byte[numRows * numCols];
+		this.colCells = new byte[numCols * numRows];
+		this.bits = new long[LineKernel.wordsFor(Math.max(numRows, numCols))];
+		this.kernel = LineKernel.getDefault();
+	}
+	
+	@Override
+	StorageMode getMode() {
+		return StorageMode.BYTES;
+	}
+	
+	@Override
+	CellState get(int rowIdx, int colIdx) {
+		return STATES[this.rowCells[rowIdx * this.numCols + colIdx]];
+	}
+	
+	@Override
+	void set(int rowIdx, int colIdx, CellState state) {
+		byte value = (byte) state.ordinal();
+		this.rowCells[rowIdx * this.numCols + colIdx] = value;
+		this.colCells[colIdx * this.numRows + rowIdx] = value;
+	}
+	
+	@Override
+	void clear() {
+		Arrays.fill(this.rowCells, (byte) 0);
+		Arrays.fill(this.colCells, (byte) 0);
+	}
+	
+	@Override
+	int projectRow(int rowIdx, int[] runs) {
+		return this.kernel.project(this.rowCells, rowIdx * this.numCols, this.numCols, 
+				this.bits, runs);
+	}
+	
+	@Override
+	int projectCol(int colIdx, int[] runs) {
+		return this.kernel.project(this.colCells, colIdx * this.numRows, this.numRows, 
+				this.bits, runs);
+	}
+	
+	@Override
+	boolean matchesRow(int rowIdx, ClueSet clues) {
+		this.kernel.packFilled(this.rowCells, rowIdx * this.numCols, this.numCols, this.bits);
+		return PackedCellGrid.matchesBits(this.bits, 0, LineKernel.wordsFor(this.numCols), 
+				this.numCols, clues, rowIdx);
+	}
+	
+	@Override
+	boolean matchesCol(int colIdx, ClueSet clues) {
+		this.kernel.packFilled(this.colCells, colIdx * this.numRows, this.numRows, this.bits);
+		return PackedCellGrid.matchesBits(this.bits, 0, LineKernel.wordsFor(this.numRows), 
+				this.numRows, clues, colIdx);
+	}
+	
+	@Override
+	int countRowMismatches(int rowIdx, int numCols, byte[] expected, int offset) {
+		return this.kernel.countFilledMismatches(this.rowCells, rowIdx * this.numCols, 
+				expected, offset, this.numCols);
+	}
+	
+	@Override
+	int countRowStateMismatches(int rowIdx, int numCols, byte[] expected, int offset) {
+		return this.kernel.countMismatches(this.rowCells, rowIdx * this.numCols, 
+				expected, offset, this.numCols);
+	}
+
+}
@@ -0,0 +1,21 @@
+package edu.ou.cs2334.project5.models;
+/**
+ * Receives the cells changed by an undo or redo of a NonogramModel.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+@FunctionalInterface
+public interface CellChangeListener {
+	
+	/**
+	 * Called after the state of a cell and the solved states of its row
+	 * and column have been updated.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 * @param state	new state of the cell
+	 */
+	void cellChanged(int rowIdx, int colIdx, CellState state);
+
+}
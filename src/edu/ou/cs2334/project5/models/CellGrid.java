@@ -0,0 +1,184 @@
+package edu.ou.cs2334.project5.models;
+/**
+ * Stores the cell states of a NonogramModel and projects its rows and
+ * columns.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+abstract class CellGrid {
+	
+	/**
+	 * Creates an empty grid using the given storage mode.
+	 * 
+	 * @param mode	how the cell states are stored
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 * @return	a grid with every cell empty
+	 */
+	static CellGrid create(StorageMode mode, int numRows, int numCols) {
+		switch (mode) {
+			case ARRAY:
+				return new ArrayCellGrid(numRows, numCols);
+			case PACKED:
+				return new PackedCellGrid(numRows, numCols);
+			case BYTES:
+				return new ByteCellGrid(numRows, numCols);
+			default:
+				throw new IllegalArgumentException();
+		}
+	}
+	
+	/**
+	 * Returns the storage mode of the grid.
+	 * 
+	 * @return	the storage mode
+	 */
+	abstract StorageMode getMode();
+	
+	/**
+	 * Returns the state of the cell with the given indices.
+	 * 
+	 * @param rowIdx	row index
+	 * @param colIdx	column index
+	 * @return	state of the cell
+	 */
+	abstract CellState get(int rowIdx, int colIdx);
+	
+	/**
+	 * Sets the state of the cell with the given indices.
+	 * 
+	 * @param rowIdx	row index
+	 * @param colIdx	column index
+	 * @param state	new state of the cell
+	 */
+	abstract void set(int rowIdx, int colIdx, CellState state);
+	
+	/**
+	 * Changes the states of all cells to empty.
+	 */
+	abstract void clear();
+	
+	/**
+	 * Writes the projection of a row into the given buffer.
+	 * 
+	 * @param rowIdx	row index
+	 * @param runs	buffer receiving the run lengths
+	 * @return	number of run lengths written
+	 */
+	abstract int projectRow(int rowIdx, int[] runs);
+	
+	/**
+	 * Writes the projection of a column into the given buffer.
+	 * 
+	 * @param colIdx	column index
+	 * @param runs	buffer receiving the run lengths
+	 * @return	number of run lengths written
+	 */
+	abstract int projectCol(int colIdx, int[] runs);
+	
+	/**
+	 * Indicates whether a row projects to its clue.
+	 * 
+	 * @param rowIdx	row index
+	 * @param clues	clues of all rows
+	 * @return	true if the row matches its clue
+	 */
+	abstract boolean matchesRow(int rowIdx, ClueSet clues);
+	
+	/**
+	 * Indicates whether a column projects to its clue.
+	 * 
+	 * @param colIdx	column index
+	 * @param clues	clues of all columns
+	 * @return	true if the column matches its clue
+	 */
+	abstract boolean matchesCol(int colIdx, ClueSet clues);
+	
+	/**
+	 * Counts the cells of a row whose filled state differs from a line in
+	 * which the byte {@link LineKernel#FILLED} marks a filled cell.
+	 * 
+	 * @param rowIdx	row index
+	 * @param numCols	number of columns in the grid
+	 * @param expected	array holding the line to compare with
+	 * @param offset	index of the first cell of that line
+	 * @return	number of cells whose filled state differs
+	 */
+	int countRowMismatches(int rowIdx, int numCols, byte[] expected, int offset) {
+		int count = 0;
+		for (int col = 0; col < numCols; ++col) {
+			boolean filled = get(rowIdx, col) == CellState.FILLED;
+			if (filled != (expected[offset + col] == LineKernel.FILLED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Counts the cells of a row whose filled or marked state differs from 
+	 * a line in which the bytes {@link LineKernel#FILLED} and 
+	 * {@link LineKernel#MARKED} mark filled and marked cells.
+	 * 
+	 * @param rowIdx	row index
+	 * @param numCols	number of columns in the grid
+	 * @param expected	array holding the line to compare with
+	 * @param offset	index of the first cell of that line
+	 * @return	number of cells whose filled or marked state differs
+	 */
+	int countRowStateMismatches(int rowIdx, int numCols, byte[] expected, int offset) {
+		int count = 0;
+		for (int col = 0; col < numCols; ++col) {
+			CellState state = get(rowIdx, col);
+			byte expectedCell = expected[offset + col];
+			if ((state == CellState.FILLED) != (expectedCell == LineKernel.FILLED) 
+					|| (state == CellState.MARKED) != (expectedCell == LineKernel.MARKED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Compares the cluster touching the end of a line with the clue and 
+	 * checks that every clue number was used.
+	 * 
+	 * @param clue	clue of the line
+	 * @param clueIdx	number of clue numbers already matched
+	 * @param run	length of the cluster at the end of the line, or 0
+	 * @return	true if the whole line matches the clue
+	 */
+	static boolean matchesLastRun(int[] clue, int clueIdx, int run) {
+		// compare the cluster touching the end of the line
+		if (run > 0) {
+			if (clueIdx == clue.length || clue[clueIdx] != run) {
+				return false;
+			}
+			++clueIdx;
+		}
+		
+		// a line without filled cells matches the clue 0
+		if (clueIdx == 0) {
+			return clue.length == 1 && clue[0] == 0;
+		}
+		
+		return clueIdx == clue.length;
+	}
+	
+	/**
+	 * Writes the 0 projection of a line without filled cells if no run was
+	 * found.
+	 * 
+	 * @param runs	buffer receiving the run lengths
+	 * @param numRuns	number of run lengths written so far
+	 * @return	number of run lengths in the finished projection
+	 */
+	static int finishProjection(int[] runs, int numRuns) {
+		if (numRuns == 0) {
+			runs[numRuns++] = 0;
+		}
+		return numRuns;
+	}
+
+}
@@ -0,0 +1,178 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Collects the cells whose state changed and the rows and columns whose
+ * solved state changed since a NonogramModel's changes were last cleared.
+ * Each cell and line is listed at most once, so a view only has to update
+ * the parts that are out of date instead of the whole puzzle.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public final class ChangeTracker {
+	
+	private final int numCols;
+	
+	// a bit per cell avoids listing a cell twice
+	private final long[] cellMarked;
+	private long[] cells;
+	private int numCells;
+	
+	private final boolean[] rowMarked;
+	private final int[] rows;
+	private int numChangedRows;
+	
+	private final boolean[] colMarked;
+	private final int[] cols;
+	private int numChangedCols;
+	
+	/**
+	 * Constructs a ChangeTracker for a grid of the given size.
+	 * 
+	 * @param numRows	number of rows
+	 * @param numCols	number of columns
+	 */
+	ChangeTracker(int numRows, int numCols) {
+		this.numCols = numCols;
+		this.cellMarked = new long[(int) (((long) numRows * numCols + 63) >>> 6)];
+		this.cells = new long[16];
+		this.rowMarked = new boolean[numRows];
+		this.rows = new int[numRows];
+		this.colMarked = new boolean[numCols];
+		this.cols = new int[numCols];
+	}
+	
+	/**
+	 * Indicates whether nothing has changed.
+	 * 
+	 * @return	true if no cell or line is listed
+	 */
+	public boolean isEmpty() {
+		return this.numCells == 0 && this.numChangedRows == 0 && this.numChangedCols == 0;
+	}
+	
+	/**
+	 * Returns the number of changed cells.
+	 * 
+	 * @return	number of changed cells
+	 */
+	public int getNumCells() {
+		return this.numCells;
+	}
+	
+	/**
+	 * Returns the row index of a changed cell.
+	 * 
+	 * @param idx	index of the change, less than {@link #getNumCells()}
+	 * @return	row index of the cell
+	 */
+	public int getCellRow(int idx) {
+		return (int) (this.cells[idx] / this.numCols);
+	}
+	
+	/**
+	 * Returns the column index of a changed cell.
+	 * 
+	 * @param idx	index of the change, less than {@link #getNumCells()}
+	 * @return	column index of the cell
+	 */
+	public int getCellCol(int idx) {
+		return (int) (this.cells[idx] % this.numCols);
+	}
+	
+	/**
+	 * Returns the number of rows whose solved state changed.
+	 * 
+	 * @return	number of changed rows
+	 */
+	public int getNumRows() {
+		return this.numChangedRows;
+	}
+	
+	/**
+	 * Returns the index of a row whose solved state changed.
+	 * 
+	 * @param idx	index of the change, less than {@link #getNumRows()}
+	 * @return	row index
+	 */
+	public int getRow(int idx) {
+		return this.rows[idx];
+	}
+	
+	/**
+	 * Returns the number of columns whose solved state changed.
+	 * 
+	 * @return	number of changed columns
+	 */
+	public int getNumCols() {
+		return this.numChangedCols;
+	}
+	
+	/**
+	 * Returns the index of a column whose solved state changed.
+	 * 
+	 * @param idx	index of the change, less than {@link #getNumCols()}
+	 * @return	column index
+	 */
+	public int getCol(int idx) {
+		return this.cols[idx];
+	}
+	
+	/**
+	 * Lists a cell whose state changed.
+	 */
+	void markCell(int rowIdx, int colIdx) {
+		long cellIdx = (long) rowIdx * this.numCols + colIdx;
+		int word = (int) (cellIdx >>> 6);
+		long bit = 1L << cellIdx;
+		if ((this.cellMarked[word] & bit) != 0) {
+			return;
+		}
+		this.cellMarked[word] |= bit;
+		if (this.numCells == this.cells.length) {
+			this.cells = Arrays.copyOf(this.cells, 2 * this.numCells);
+		}
+		this.cells[this.numCells++] = cellIdx;
+	}
+	
+	/**
+	 * Lists a row whose solved state changed.
+	 */
+	void markRow(int rowIdx) {
+		if (!this.rowMarked[rowIdx]) {
+			this.rowMarked[rowIdx] = true;
+			this.rows[this.numChangedRows++] = rowIdx;
+		}
+	}
+	
+	/**
+	 * Lists a column whose solved state changed.
+	 */
+	void markCol(int colIdx) {
+		if (!this.colMarked[colIdx]) {
+			this.colMarked[colIdx] = true;
+			this.cols[this.numChangedCols++] = colIdx;
+		}
+	}
+	
+	/**
+	 * Empties the lists.
+	 */
+	void clear() {
+		// unmark only what was listed, so clearing costs as much as the changes
+		for (int i = 0; i < this.numCells; ++i) {
+			this.cellMarked[(int) (this.cells[i] >>> 6)] = 0;
+		}
+		for (int i = 0; i < this.numChangedRows; ++i) {
+			this.rowMarked[this.rows[i]] = false;
+		}
+		for (int i = 0; i < this.numChangedCols; ++i) {
+			this.colMarked[this.cols[i]] = false;
+		}
+		this.numCells = 0;
+		this.numChangedRows = 0;
+		this.numChangedCols = 0;
+	}
+
+}
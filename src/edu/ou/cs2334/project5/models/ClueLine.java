@@ -0,0 +1,119 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Read-only view of the clue of one row or column. The view shares the
+ * model's clue storage instead of copying it, so reading a clue never 
+ * allocates, and it offers no way to change the clue.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public final class ClueLine {
+	
+	private final int[] runs;
+	private final int offset;
+	private final int length;
+	
+	/**
+	 * Constructs a view of runs[offset, offset + length). The array must
+	 * not be changed afterwards.
+	 * 
+	 * @param runs	array holding the run lengths
+	 * @param offset	index of the first run
+	 * @param length	number of runs
+	 */
+	ClueLine(int[] runs, int offset, int length) {
+		this.runs = runs;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	/**
+	 * Returns the number of run lengths in the clue. The clue of an empty
+	 * line is {0}, so this is at least 1 for clues read from a file.
+	 * 
+	 * @return	number of run lengths
+	 */
+	public int size() {
+		return this.length;
+	}
+	
+	/**
+	 * Returns the run length at the given index.
+	 * 
+	 * @param idx	index of the run
+	 * @return	length of the run
+	 * @throws IndexOutOfBoundsException	if idx is not a valid index
+	 */
+	public int get(int idx) {
+		if (idx < 0 || idx >= this.length) {
+			throw new IndexOutOfBoundsException("run " + idx + " of " + this.length);
+		}
+		return this.runs[this.offset + idx];
+	}
+	
+	/**
+	 * Copies the run lengths into the given array.
+	 * 
+	 * @param dest	array receiving the run lengths
+	 * @param destPos	index in dest of the first run
+	 */
+	public void copyTo(int[] dest, int destPos) {
+		System.arraycopy(this.runs, this.offset, dest, destPos, this.length);
+	}
+	
+	/**
+	 * Returns a copy of the run lengths.
+	 * 
+	 * @return	new array holding the run lengths
+	 */
+	public int[] toArray() {
+		return Arrays.copyOfRange(this.runs, this.offset, this.offset + this.length);
+	}
+	
+	/**
+	 * Indicates whether the clue equals the first numRuns entries of the
+	 * given array, e.g. a projection made by NonogramModel.project.
+	 * 
+	 * @param other	array of run lengths
+	 * @param numRuns	number of runs in other
+	 * @return	true if the run lengths are equal
+	 */
+	public boolean matches(int[] other, int numRuns) {
+		return Arrays.equals(this.runs, this.offset, this.offset + this.length, 
+				other, 0, numRuns);
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ClueLine)) {
+			return false;
+		}
+		ClueLine other = (ClueLine) obj;
+		return Arrays.equals(this.runs, this.offset, this.offset + this.length, 
+				other.runs, other.offset, other.offset + other.length);
+	}
+	
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (int i = this.offset; i < this.offset + this.length; ++i) {
+			hash = 31 * hash + this.runs[i];
+		}
+		return hash;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = this.offset; i < this.offset + this.length; ++i) {
+			builder.append(i == this.offset ? "" : " ").append(this.runs[i]);
+		}
+		return builder.toString();
+	}
+
+}
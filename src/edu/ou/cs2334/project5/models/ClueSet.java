@@ -0,0 +1,287 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Immutable clues of all rows or all columns of a puzzle, stored in one
+ * flat array. Line i owns the runs at runs[offsets[i], offsets[i + 1]).
+ * The number of blocks, the sum, and the minimum span of every line are
+ * computed once when the set is built, since solvers ask for them often.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public final class ClueSet {
+
+	private final int[] runs;
+	private final int[] offsets;
+	private final int[] blockCounts;
+	private final int[] sums;
+	private final int[] minSpans;
+	private final long total;
+	
+	// views are made on first use so large puzzles don't pay for them
+	private ClueLine[] lines;
+	
+	private ClueSet(int[] runs, int[] offsets, int numLines) {
+		this.runs = runs;
+		this.offsets = offsets;
+		this.blockCounts = new int[numLines];
+		this.sums = new int[numLines];
+		this.minSpans = new int[numLines];
+		long total = 0;
+		for (int i = 0; i < numLines; ++i) {
+			int sum = 0;
+			int numBlocks = 0;
+			for (int j = offsets[i]; j < offsets[i + 1]; ++j) {
+				sum += runs[j];
+				if (runs[j] > 0) {
+					++numBlocks;
+				}
+			}
+			this.blockCounts[i] = numBlocks;
+			this.sums[i] = sum;
+			this.minSpans[i] = sum + Math.max(0, numBlocks - 1);
+			total += sum;
+		}
+		this.total = total;
+	}
+	
+	/**
+	 * Builds a ClueSet from a copy of the given clues.
+	 * 
+	 * @param clues	clue of every line
+	 * @return	the clue set
+	 */
+	public static ClueSet of(int[][] clues) {
+		Builder builder = new Builder();
+		for (int[] clue : clues) {
+			for (int run : clue) {
+				builder.add(run);
+			}
+			builder.endLine();
+		}
+		return builder.build();
+	}
+	
+	/**
+	 * Returns the number of lines.
+	 * 
+	 * @return	number of lines
+	 */
+	public int getNumLines() {
+		return this.sums.length;
+	}
+	
+	/**
+	 * Returns the number of run lengths in the clue of a line. The clue 0
+	 * of an empty line counts as one run length.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	number of run lengths
+	 */
+	public int size(int lineIdx) {
+		return this.offsets[lineIdx + 1] - this.offsets[lineIdx];
+	}
+	
+	/**
+	 * Returns one run length of the clue of a line.
+	 * 
+	 * @param lineIdx	line index
+	 * @param idx	index of the run within the clue
+	 * @return	length of the run
+	 * @throws IndexOutOfBoundsException	if idx is not a valid index
+	 */
+	public int get(int lineIdx, int idx) {
+		if (idx < 0 || idx >= size(lineIdx)) {
+			throw new IndexOutOfBoundsException("run " + idx + " of " + size(lineIdx));
+		}
+		return this.runs[this.offsets[lineIdx] + idx];
+	}
+	
+	/**
+	 * Returns the number of blocks of a line, which is 0 for the clue 0.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	number of blocks
+	 */
+	public int getBlockCount(int lineIdx) {
+		return this.blockCounts[lineIdx];
+	}
+	
+	/**
+	 * Returns the number of filled cells of a line.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	sum of the run lengths
+	 */
+	public int getSum(int lineIdx) {
+		return this.sums[lineIdx];
+	}
+	
+	/**
+	 * Returns the fewest cells the blocks of a line can occupy, counting one
+	 * empty cell between neighboring blocks.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	minimum span of the blocks
+	 */
+	public int getMinimumSpan(int lineIdx) {
+		return this.minSpans[lineIdx];
+	}
+	
+	/**
+	 * Returns the number of filled cells of all lines together.
+	 * 
+	 * @return	sum of all run lengths
+	 */
+	public long getTotal() {
+		return this.total;
+	}
+	
+	/**
+	 * Copies the blocks of a line, leaving out the 0 of an empty line.
+	 * 
+	 * @param lineIdx	line index
+	 * @param dest	array receiving the block lengths
+	 * @return	number of blocks copied
+	 */
+	public int copyBlocks(int lineIdx, int[] dest) {
+		int numBlocks = 0;
+		for (int i = this.offsets[lineIdx]; i < this.offsets[lineIdx + 1]; ++i) {
+			if (this.runs[i] > 0) {
+				dest[numBlocks++] = this.runs[i];
+			}
+		}
+		return numBlocks;
+	}
+	
+	/**
+	 * Returns a read-only view of the clue of a line. The same view is
+	 * returned every time.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	view of the clue
+	 */
+	public ClueLine getLine(int lineIdx) {
+		if (this.lines == null) {
+			this.lines = new ClueLine[getNumLines()];
+		}
+		ClueLine line = this.lines[lineIdx];
+		if (line == null) {
+			line = new ClueLine(this.runs, this.offsets[lineIdx], size(lineIdx));
+			this.lines[lineIdx] = line;
+		}
+		return line;
+	}
+	
+	/**
+	 * Returns a copy of the clue of a line.
+	 * 
+	 * @param lineIdx	line index
+	 * @return	new array holding the run lengths
+	 */
+	public int[] toArray(int lineIdx) {
+		return Arrays.copyOfRange(this.runs, this.offsets[lineIdx], this.offsets[lineIdx + 1]);
+	}
+	
+	/**
+	 * Returns a copy of all clues as one array per line.
+	 * 
+	 * @return	new 2D array holding the clues
+	 */
+	public int[][] toArrays() {
+		int[][] clues = new int[getNumLines()][];
+		for (int i = 0; i < clues.length; ++i) {
+			clues[i] = toArray(i);
+		}
+		return clues;
+	}
+	
+	/**
+	 * Indicates whether a line of a grid matches the clue of a line. The
+	 * grid reports its runs one at a time through this check, see
+	 * {@link CellGrid}.
+	 */
+	boolean matchesLastRun(int lineIdx, int runIdx, int run) {
+		int start = this.offsets[lineIdx];
+		int end = this.offsets[lineIdx + 1];
+		int idx = start + runIdx;
+		
+		// compare the cluster touching the end of the line
+		if (run > 0) {
+			if (idx == end || this.runs[idx] != run) {
+				return false;
+			}
+			++idx;
+		}
+		
+		// a line without filled cells matches the clue 0
+		if (idx == start) {
+			return end - start == 1 && this.runs[start] == 0;
+		}
+		
+		return idx == end;
+	}
+	
+	/**
+	 * Indicates whether a finished cluster of a grid line equals the run at
+	 * the given index of the clue.
+	 */
+	boolean matchesRun(int lineIdx, int runIdx, int run) {
+		int idx = this.offsets[lineIdx] + runIdx;
+		return idx < this.offsets[lineIdx + 1] && this.runs[idx] == run;
+	}
+	
+	/**
+	 * Collects run lengths line by line without creating an array per line.
+	 */
+	static class Builder {
+		
+		private int[] runs = new int[64];
+		private int[] offsets = new int[17];
+		private int numRuns;
+		private int numLines;
+		
+		/**
+		 * Appends a run length to the current line.
+		 * 
+		 * @param run	run length
+		 */
+		void add(int run) {
+			if (this.numRuns == this.runs.length) {
+				this.runs = Arrays.copyOf(this.runs, 2 * this.numRuns);
+			}
+			this.runs[this.numRuns++] = run;
+		}
+		
+		/**
+		 * Finishes the current line.
+		 */
+		void endLine() {
+			if (this.numLines + 2 > this.offsets.length) {
+				this.offsets = Arrays.copyOf(this.offsets, 2 * this.offsets.length);
+			}
+			this.offsets[++this.numLines] = this.numRuns;
+		}
+		
+		/**
+		 * Returns the number of run lengths in the current line so far.
+		 * 
+		 * @return	number of run lengths
+		 */
+		int getLineSize() {
+			return this.numRuns - this.offsets[this.numLines];
+		}
+		
+		/**
+		 * Builds the clue set from the finished lines.
+		 * 
+		 * @return	the clue set
+		 */
+		ClueSet build() {
+			return new ClueSet(Arrays.copyOf(this.runs, this.numRuns),
+					Arrays.copyOf(this.offsets, this.numLines + 1), this.numLines);
+		}
+	}
+
+}
@@ -0,0 +1,235 @@
+package edu.ou.cs2334.project5.models;
+/**
+ * Records cell changes of a model so they can be undone and redone. Each
+ * change is packed into one long holding the cell index, the old and new
+ * state, and whether the change starts a group. The entries live in a ring
+ * buffer that starts empty and doubles as changes are recorded, up to a 
+ * fixed capacity. A model that is never edited costs no buffer, and once
+ * the capacity is reached the oldest changes are dropped, so memory stays
+ * bounded however long a game runs.
+ * 
+ * <p>Changes made between {@link #beginGroup()} and {@link #endGroup()}
+ * form one group, which is undone and redone as a single step.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class EditHistory {
+	
+	private static final int STATE_BITS = 2;
+	private static final long STATE_MASK = (1L << STATE_BITS) - 1;
+	private static final int NEW_SHIFT = STATE_BITS;
+	private static final long GROUP_START = 1L << (2 * STATE_BITS);
+	private static final int CELL_SHIFT = 2 * STATE_BITS + 1;
+	private static final int INITIAL_LENGTH = 16;
+	
+	private final int capacity;
+	private long[] entries = new long[0];
+	
+	// index of the oldest entry, number of entries, and number applied
+	private int first;
+	private int size;
+	private int cursor;
+	
+	private int groupDepth;
+	private boolean groupPending;
+	
+	/**
+	 * Constructs an empty EditHistory.
+	 * 
+	 * @param capacity	number of changes kept, 0 to keep none
+	 */
+	EditHistory(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * Returns the number of changes kept.
+	 * 
+	 * @return	capacity of the history
+	 */
+	int getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * Records a change. Changes that were undone can no longer be redone.
+	 * 
+	 * @param cellIdx	index of the cell, row * numCols + col
+	 * @param oldState	ordinal of the state before the change
+	 * @param newState	ordinal of the state after the change
+	 */
+	void record(long cellIdx, int oldState, int newState) {
+		if (this.capacity == 0) {
+			return;
+		}
+		long entry = cellIdx << CELL_SHIFT | (long) newState << NEW_SHIFT | oldState;
+		if (this.groupDepth == 0 || this.groupPending) {
+			entry |= GROUP_START;
+			this.groupPending = false;
+		}
+		
+		// drop the redo tail, then grow the buffer or drop the oldest entry
+		this.size = this.cursor;
+		if (this.size == this.entries.length && this.size < this.capacity) {
+			grow();
+		}
+		else if (this.size == this.entries.length) {
+			this.first = (this.first + 1) % this.entries.length;
+			--this.size;
+			--this.cursor;
+			
+			// a group cut by the capacity becomes a group of its own
+			if (this.size > 0) {
+				this.entries[this.first] |= GROUP_START;
+			}
+		}
+		this.entries[physical(this.size)] = entry;
+		++this.size;
+		++this.cursor;
+	}
+	
+	/**
+	 * Starts a group of changes. Groups may be nested; only the outermost
+	 * group counts.
+	 */
+	void beginGroup() {
+		if (this.groupDepth++ == 0) {
+			this.groupPending = true;
+		}
+	}
+	
+	/**
+	 * Ends the group started by the matching call to {@link #beginGroup()}.
+	 */
+	void endGroup() {
+		if (this.groupDepth > 0) {
+			--this.groupDepth;
+		}
+	}
+	
+	/**
+	 * Indicates whether there is a change to undo.
+	 * 
+	 * @return	true if a change can be undone
+	 */
+	boolean canUndo() {
+		return this.cursor > 0;
+	}
+	
+	/**
+	 * Indicates whether there is an undone change to redo.
+	 * 
+	 * @return	true if a change can be redone
+	 */
+	boolean canRedo() {
+		return this.cursor < this.size;
+	}
+	
+	/**
+	 * Steps back over the last applied change. The caller keeps stepping
+	 * until it gets an entry that starts a group.
+	 * 
+	 * @return	the entry to revert
+	 */
+	long stepBack() {
+		--this.cursor;
+		return this.entries[physical(this.cursor)];
+	}
+	
+	/**
+	 * Steps forward over the next undone change. The caller keeps stepping
+	 * while {@link #continuesGroup()} is true.
+	 * 
+	 * @return	the entry to apply again
+	 */
+	long stepForward() {
+		long entry = this.entries[physical(this.cursor)];
+		++this.cursor;
+		return entry;
+	}
+	
+	/**
+	 * Indicates whether the next undone change belongs to the group that
+	 * was just redone.
+	 * 
+	 * @return	true if redo should continue
+	 */
+	boolean continuesGroup() {
+		return canRedo() && !startsGroup(this.entries[physical(this.cursor)]);
+	}
+	
+	/**
+	 * Removes all changes and ends any open group.
+	 */
+	void clear() {
+		this.first = 0;
+		this.size = 0;
+		this.cursor = 0;
+		this.groupDepth = 0;
+		this.groupPending = false;
+	}
+	
+	/**
+	 * Returns the cell index of an entry.
+	 * 
+	 * @param entry	packed change
+	 * @return	index of the changed cell
+	 */
+	static long cellIndex(long entry) {
+		return entry >>> CELL_SHIFT;
+	}
+	
+	/**
+	 * Returns the state ordinal before the change of an entry.
+	 * 
+	 * @param entry	packed change
+	 * @return	ordinal of the old state
+	 */
+	static int oldState(long entry) {
+		return (int) (entry & STATE_MASK);
+	}
+	
+	/**
+	 * Returns the state ordinal after the change of an entry.
+	 * 
+	 * @param entry	packed change
+	 * @return	ordinal of the new state
+	 */
+	static int newState(long entry) {
+		return (int) (entry >>> NEW_SHIFT & STATE_MASK);
+	}
+	
+	/**
+	 * Indicates whether an entry is the first change of its group.
+	 * 
+	 * @param entry	packed change
+	 * @return	true if the entry starts a group
+	 */
+	static boolean startsGroup(long entry) {
+		return (entry & GROUP_START) != 0;
+	}
+	
+	/**
+	 * Doubles the buffer, up to the capacity, and moves the entries to the
+	 * front in order.
+	 */
+	private void grow() {
+		int length = (int) Math.min(this.capacity, 
+				Math.max(INITIAL_LENGTH, 2L * this.entries.length));
+		long[] grown = new long[length];
+		for (int i = 0; i < this.size; ++i) {
+			grown[i] = this.entries[physical(i)];
+		}
+		this.entries = grown;
+		this.first = 0;
+	}
+	
+	private int physical(int idx) {
+		return (this.first + idx) % this.entries.length;
+	}
+
+}
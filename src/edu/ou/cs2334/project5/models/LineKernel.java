@@ -0,0 +1,166 @@
+package edu.ou.cs2334.project5.models;
+/**
+ * Scans lines stored one byte per cell. A kernel turns the filled cells of
+ * a line into a bitset, from which the runs of the line are found a word at
+ * a time, and compares the filled and marked cells of a line with the 
+ * cells of a solver's line. A cell is filled when its byte is 
+ * {@link #FILLED}, which is the ordinal of CellState.FILLED and the value 
+ * of a filled cell in a solver grid. A cell is marked when its byte is 
+ * {@link #MARKED}, which is the ordinal of CellState.MARKED and the value 
+ * of a cell a solver knows to be empty.
+ * 
+ * <p>The default kernel is chosen once, at startup. When the program runs
+ * with {@code --add-modules jdk.incubator.vector} and the kernel compiled
+ * from the {@code vector} folder is on the class path, the default kernel
+ * uses the Vector API and handles many cells per instruction. Otherwise,
+ * or when the system property {@code nonogram.vector} is {@code false},
+ * the scalar kernel is used.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public abstract class LineKernel {
+	
+	/**
+	 * Byte value of a filled cell.
+	 */
+	public static final byte FILLED = 1;
+	
+	/**
+	 * Byte value of a marked cell.
+	 */
+	public static final byte MARKED = 2;
+	
+	/**
+	 * System property that disables the vector kernel when set to false.
+	 */
+	public static final String VECTOR_PROPERTY = "nonogram.vector";
+	
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+	private static final String VECTOR_KERNEL = 
+			"edu.ou.cs2334.project5.models.VectorLineKernel";
+	private static final int WORD_SHIFT = 6;
+	
+	/**
+	 * Returns the kernel chosen at startup.
+	 * 
+	 * @return	the vector kernel if it is available, otherwise the scalar one
+	 */
+	public static LineKernel getDefault() {
+		return Holder.DEFAULT;
+	}
+	
+	/**
+	 * Returns the kernel that handles one cell at a time.
+	 * 
+	 * @return	the scalar kernel
+	 */
+	public static LineKernel scalar() {
+		return Holder.SCALAR;
+	}
+	
+	/**
+	 * Returns a short name of the kernel.
+	 * 
+	 * @return	the kernel name
+	 */
+	public abstract String getName();
+	
+	/**
+	 * Sets bit i of the bitset when cell i of the line is filled and clears
+	 * every other bit of the words the line covers.
+	 * 
+	 * @param cells	array holding the line
+	 * @param offset	index of the first cell of the line
+	 * @param length	number of cells in the line
+	 * @param bits	bitset of at least {@code wordsFor(length)} words
+	 */
+	public abstract void packFilled(byte[] cells, int offset, int length, long[] bits);
+	
+	/**
+	 * Counts the cells of a line that are filled in one array but not in 
+	 * the other.
+	 * 
+	 * @param cells	array holding the line
+	 * @param offset	index of the first cell of the line
+	 * @param expected	array holding the line to compare with
+	 * @param expectedOffset	index of the first cell of the other line
+	 * @param length	number of cells in the line
+	 * @return	number of cells whose filled state differs
+	 */
+	public abstract int countFilledMismatches(byte[] cells, int offset, 
+			byte[] expected, int expectedOffset, int length);
+	
+	/**
+	 * Counts the cells of a line that are filled or marked in one array but
+	 * not in the other. Any byte other than FILLED and MARKED, such as an 
+	 * empty cell of the model or an unknown cell of a solver, counts as
+	 * neither.
+	 * 
+	 * @param cells	array holding the line
+	 * @param offset	index of the first cell of the line
+	 * @param expected	array holding the line to compare with
+	 * @param expectedOffset	index of the first cell of the other line
+	 * @param length	number of cells in the line
+	 * @return	number of cells whose filled or marked state differs
+	 */
+	public abstract int countMismatches(byte[] cells, int offset, 
+			byte[] expected, int expectedOffset, int length);
+	
+	/**
+	 * Writes the projection of a line into the given buffer.
+	 * 
+	 * @param cells	array holding the line
+	 * @param offset	index of the first cell of the line
+	 * @param length	number of cells in the line
+	 * @param bits	work bitset of at least {@code wordsFor(length)} words
+	 * @param runs	buffer receiving the run lengths
+	 * @return	number of run lengths written
+	 */
+	public int project(byte[] cells, int offset, int length, long[] bits, int[] runs) {
+		packFilled(cells, offset, length, bits);
+		return PackedCellGrid.projectBits(bits, 0, wordsFor(length), length, runs);
+	}
+	
+	/**
+	 * Returns the number of 64-bit words a bitset of a line needs.
+	 * 
+	 * @param length	number of cells in the line
+	 * @return	number of words
+	 */
+	public static int wordsFor(int length) {
+		return (length + (1 << WORD_SHIFT) - 1) >>> WORD_SHIFT;
+	}
+	
+	@Override
+	public String toString() {
+		return getName();
+	}
+	
+	private static LineKernel select(LineKernel scalar) {
+		if ("false".equalsIgnoreCase(System.getProperty(VECTOR_PROPERTY))) {
+			return scalar;
+		}
+		
+		// the vector kernel can only be loaded when the incubator module is 
+		// part of the boot layer
+		if (!ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+			return scalar;
+		}
+		try {
+			return (LineKernel) Class.forName(VECTOR_KERNEL)
+					.getDeclaredConstructor().newInstance();
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			return scalar;
+		}
+	}
+	
+	// the kernels are created on first use, not when the class is loaded
+	private static final class Holder {
+		
+		private static final LineKernel SCALAR = new ScalarLineKernel();
+		private static final LineKernel DEFAULT = select(SCALAR);
+	}
+
+}
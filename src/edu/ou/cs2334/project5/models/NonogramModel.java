@@ -1,9 +1,16 @@
 package edu.ou.cs2334.project5.models;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -15,13 +22,23 @@ import java.util.List;
  */
 public class NonogramModel {
 
-	private static final String DELIMITER = " ";
 	private static final int IDX_NUM_ROWS = 0;
 	private static final int IDX_NUM_COLS = 1;
+	private static final CellState[] STATES = CellState.values();
+	
+	/**
+	 * Number of cell changes kept for undo unless set otherwise.
+	 */
+	public static final int DEFAULT_HISTORY_CAPACITY = 1 << 16;
 
-	private int[][] rowClues;
-	private int[][] colClues;
-	private CellState[][] cellStates;
+	private ClueSet rowClues;
+	private ClueSet colClues;
+	private CellGrid cells;
+	private boolean[] rowSolved;
+	private boolean[] colSolved;
+	private int numUnsolvedLines;
+	private EditHistory history = new EditHistory(DEFAULT_HISTORY_CAPACITY);
+	private ChangeTracker changes;
 	
 	/**
 	 * Constructs a NonogramModel using row clues and column clues.
@@ -30,10 +47,23 @@ public class NonogramModel {
 	 * @param colClues	2D array representing col projections of the solved puzzle
 	 */
 	public NonogramModel(int[][] rowClues, int[][] colClues) {
-		this.rowClues = deepCopy(rowClues);
-		this.colClues = deepCopy(colClues);
+		this(rowClues, colClues, StorageMode.ARRAY);
+	}
+	
+	/**
+	 * Constructs a NonogramModel using row clues, column clues, and the way
+	 * the cell states should be stored.
+	 * 
+	 * @param rowClues	2D array representing row projections of the solved puzzle
+	 * @param colClues	2D array representing col projections of the solved puzzle
+	 * @param mode	how the cell states are stored
+	 */
+	public NonogramModel(int[][] rowClues, int[][] colClues, StorageMode mode) {
+		this.rowClues = ClueSet.of(rowClues);
+		this.colClues = ClueSet.of(colClues);
 
-		cellStates = initCellStates(getNumRows(), getNumCols());
+		this.cells = CellGrid.create(mode, getNumRows(), getNumCols());
+		initSolvedStates();
 	}
 	
 	/**
@@ -43,27 +73,62 @@ public class NonogramModel {
 	 * @throws IOException	if I/O exception occurs
 	 */
 	public NonogramModel(File file) throws IOException {
-		// Number of rows and columns
-		BufferedReader reader = new BufferedReader(new FileReader(file));
-		String header = reader.readLine();
-		String[] fields = header.split(DELIMITER);
-		int numRows = Integer.parseInt(fields[IDX_NUM_ROWS]);
-		int numCols = Integer.parseInt(fields[IDX_NUM_COLS]);
-
-		// Initialize cellStates.
-		// This should be a simple one-liner. Please do ask about this on Discord.
-		this.cellStates = initCellStates(numRows, numCols);
-		
-		// Read in row clues.
-		// This should be a simple one-liner. Please do ask about this on Discord.
-		this.rowClues = readClueLines(reader, numRows);
-		
-		// Read in column clues.
-		// This should be a simple one-liner. Please do ask about this on Discord.
-		this.colClues = readClueLines(reader, numCols);
-		
-		// Close reader
-		reader.close();
+		this(file, StorageMode.ARRAY);
+	}
+	
+	/**
+	 * Constructs a NonogramModel using a file containing row and column clues
+	 * and the way the cell states should be stored. The file may be in the 
+	 * text format or in the binary format written by {@link #writeBinary}.
+	 * 
+	 * @param file	File containing puzzle information
+	 * @param mode	how the cell states are stored
+	 * @throws IOException	if I/O exception occurs
+	 * @throws PuzzleFormatException	if the file is malformed
+	 */
+	public NonogramModel(File file, StorageMode mode) throws IOException {
+		try (InputStream in = new FileInputStream(file)) {
+			read(in, mode);
+		}
+	}
+	
+	/**
+	 * Constructs a NonogramModel from a stream in the text format or in the
+	 * binary format written by {@link #writeBinary}. The stream is not 
+	 * closed.
+	 * 
+	 * @param in	stream containing puzzle information
+	 * @param mode	how the cell states are stored
+	 * @throws IOException	if I/O exception occurs
+	 * @throws PuzzleFormatException	if the stream is malformed
+	 */
+	public NonogramModel(InputStream in, StorageMode mode) throws IOException {
+		read(in, mode);
+	}
+	
+	/**
+	 * Reads only the clues of a puzzle in the text or binary format, without
+	 * allocating any cells, for tools that check many files. The stream is
+	 * not closed, and cell states stored after the clues are not read.
+	 * 
+	 * @param in	stream containing puzzle information
+	 * @return	the row clues followed by the column clues
+	 * @throws IOException	if I/O exception occurs
+	 * @throws PuzzleFormatException	if the stream is malformed
+	 */
+	public static ClueSet[] readClues(InputStream in) throws IOException {
+		byte[] head = in.readNBytes(BinaryPuzzleReader.MAGIC.length);
+		if (BinaryPuzzleReader.isBinary(head)) {
+			BinaryPuzzleReader reader = new BinaryPuzzleReader(new BufferedInputStream(in));
+			int[] header = reader.readHeader();
+			ClueSet rowClues = reader.readClueLines(header[IDX_NUM_ROWS]);
+			return new ClueSet[] {rowClues, reader.readClueLines(header[IDX_NUM_COLS])};
+		}
+		PuzzleReader reader = new PuzzleReader(
+				new SequenceInputStream(new ByteArrayInputStream(head), in));
+		int[] header = reader.readHeader();
+		ClueSet rowClues = reader.readClueLines(header[IDX_NUM_ROWS], "row");
+		return new ClueSet[] {rowClues, reader.readClueLines(header[IDX_NUM_COLS], "column")};
 	}
 
 	/**
@@ -83,7 +148,7 @@ public class NonogramModel {
 	 * @return	number of rows
 	 */
 	public int getNumRows() {
-		return rowClues.length;
+		return this.rowClues.getNumLines();
 	}
 	
 	/**
@@ -92,7 +157,16 @@ public class NonogramModel {
 	 * @return	number of columns
 	 */
 	public int getNumCols() {
-		return colClues.length;
+		return this.colClues.getNumLines();
+	}
+	
+	/**
+	 * Returns how the cell states of the nonogram are stored.
+	 * 
+	 * @return	the storage mode
+	 */
+	public StorageMode getStorageMode() {
+		return this.cells.getMode();
 	}
 	
 	/**
@@ -103,7 +177,7 @@ public class NonogramModel {
 	 * @return	CellState of the cell
 	 */
 	public CellState getCellState(int rowIdx, int colIdx) {
-		return this.cellStates[rowIdx][colIdx];
+		return this.cells.get(rowIdx, colIdx);
 	}
 	
 	/**
@@ -133,19 +207,117 @@ public class NonogramModel {
 			return false;
 		}
 		
-		// set the cell to the given state
-		this.cellStates[rowIdx][colIdx] = state;
+		// remember the change so it can be undone
+		this.history.record(cellIndex(rowIdx, colIdx), 
+				getCellState(rowIdx, colIdx).ordinal(), state.ordinal());
+		applyCellState(rowIdx, colIdx, state);
 		
 		return true;
 	}
 	
+	/**
+	 * Starts a group of cell changes, such as one drag stroke, that is 
+	 * undone and redone as a single step. Groups may be nested.
+	 */
+	public void beginEdit() {
+		this.history.beginGroup();
+	}
+	
+	/**
+	 * Ends the group of cell changes started by {@link #beginEdit()}.
+	 */
+	public void endEdit() {
+		this.history.endGroup();
+	}
+	
+	/**
+	 * Indicates whether there is a change that can be undone.
+	 * 
+	 * @return	true if undo would change the cells
+	 */
+	public boolean canUndo() {
+		return this.history.canUndo();
+	}
+	
+	/**
+	 * Indicates whether there is an undone change that can be redone.
+	 * 
+	 * @return	true if redo would change the cells
+	 */
+	public boolean canRedo() {
+		return this.history.canRedo();
+	}
+	
+	/**
+	 * Reverts the last change or group of changes. Only the rows and 
+	 * columns of the reverted cells are checked again. Undo also works 
+	 * after the puzzle has been solved.
+	 * 
+	 * @param listener	receives every reverted cell, may be null
+	 * @return	true if anything was undone
+	 */
+	public boolean undo(CellChangeListener listener) {
+		if (!this.history.canUndo()) {
+			return false;
+		}
+		long entry;
+		do {
+			entry = this.history.stepBack();
+			replay(entry, STATES[EditHistory.oldState(entry)], listener);
+		} while (!EditHistory.startsGroup(entry) && this.history.canUndo());
+		return true;
+	}
+	
+	/**
+	 * Applies the last undone change or group of changes again.
+	 * 
+	 * @param listener	receives every changed cell, may be null
+	 * @return	true if anything was redone
+	 */
+	public boolean redo(CellChangeListener listener) {
+		if (!this.history.canRedo()) {
+			return false;
+		}
+		do {
+			long entry = this.history.stepForward();
+			replay(entry, STATES[EditHistory.newState(entry)], listener);
+		} while (this.history.continuesGroup());
+		return true;
+	}
+	
+	/**
+	 * Returns the number of cell changes kept for undo.
+	 * 
+	 * @return	capacity of the undo history
+	 */
+	public int getHistoryCapacity() {
+		return this.history.getCapacity();
+	}
+	
+	/**
+	 * Sets the number of cell changes kept for undo and clears the 
+	 * history. Once the history is full the oldest changes are dropped.
+	 * 
+	 * @param capacity	number of changes to keep, 0 to disable undo
+	 */
+	public void setHistoryCapacity(int capacity) {
+		this.history = new EditHistory(capacity);
+	}
+	
+	/**
+	 * Forgets all changes, so they can no longer be undone or redone.
+	 */
+	public void clearHistory() {
+		this.history.clear();
+	}
+	
 	/**
 	 * Returns a deep copy of the row clues.
 	 * 
 	 * @return	deep copy of the row clues
 	 */
 	public int[][] getRowClues() {
-		return deepCopy(this.rowClues);
+		return this.rowClues.toArrays();
 	}
 	
 	/**
@@ -154,27 +326,69 @@ public class NonogramModel {
 	 * @return	deep copy of column clues
 	 */
 	public int[][] getColClues() {
-		return deepCopy(this.colClues);
+		return this.colClues.toArrays();
 	}
 	
 	/**
-	 * Returns a deep copy of the row clue with the given index.
+	 * Returns a copy of the row clue with the given index.
 	 * 
 	 * @param rowIdx	row index
 	 * @return	copy of the row clue
 	 */
 	public int[] getRowClue(int rowIdx) {
-		return deepCopy(this.rowClues)[rowIdx];
+		return this.rowClues.toArray(rowIdx);
 	}
 	
 	/**
-	 * Returns a deep copy of the column clue with the given index.
+	 * Returns a copy of the column clue with the given index.
 	 * 
 	 * @param colIdx	column index
 	 * @return	copy of the column clue
 	 */
 	public int[] getColClue(int colIdx) {
-		return deepCopy(this.colClues)[colIdx];
+		return this.colClues.toArray(colIdx);
+	}
+	
+	/**
+	 * Returns a read-only view of the row clue with the given index. Unlike
+	 * {@link #getRowClue}, this does not copy or allocate.
+	 * 
+	 * @param rowIdx	row index
+	 * @return	view of the row clue
+	 */
+	public ClueLine getRowClueLine(int rowIdx) {
+		return this.rowClues.getLine(rowIdx);
+	}
+	
+	/**
+	 * Returns a read-only view of the column clue with the given index. 
+	 * Unlike {@link #getColClue}, this does not copy or allocate.
+	 * 
+	 * @param colIdx	column index
+	 * @return	view of the column clue
+	 */
+	public ClueLine getColClueLine(int colIdx) {
+		return this.colClues.getLine(colIdx);
+	}
+	
+	/**
+	 * Returns the row clues. The ClueSet is immutable, so it is shared 
+	 * rather than copied.
+	 * 
+	 * @return	clues of all rows
+	 */
+	public ClueSet getRowClueSet() {
+		return this.rowClues;
+	}
+	
+	/**
+	 * Returns the column clues. The ClueSet is immutable, so it is shared 
+	 * rather than copied.
+	 * 
+	 * @return	clues of all columns
+	 */
+	public ClueSet getColClueSet() {
+		return this.colClues;
 	}
 	
 	/**
@@ -184,16 +398,7 @@ public class NonogramModel {
 	 * @return	true if the projected row matches the row's clue, false otherwise
 	 */
 	public boolean isRowSolved(int rowIdx) {
-		// get the row from the puzzle and its corresponding clue
-		int[] row = projectCellStatesRow(rowIdx);
-		int[] clues = getRowClue(rowIdx);
-		
-		// return true if they're equal
-		if (Arrays.equals(row, clues)) {
-			return true;
-		}
-		
-		return false;
+		return this.rowSolved[rowIdx];
 	}
 	
 	/**
@@ -203,49 +408,133 @@ public class NonogramModel {
 	 * @return	true if the projected column matches the column's clue, false otherwise
 	 */
 	public boolean isColSolved(int colIdx) {
-		// get the column and its corresponding clue
-		int[] col = projectCellStatesCol(colIdx);
-		int[] clues = getColClue(colIdx);
-		
-		// return true if they're equal
-		if (Arrays.equals(col, clues)) {
-			return true;
-		}
-		
-		return false;
+		return this.colSolved[colIdx];
 	}
 	
 	/**
 	 * Indicates whether the puzzle is solved.
 	 * 
+	 * <p>The solved state of every row and column is tracked as cells change,
+	 * so this check does not re-project the grid.
+	 * 
 	 * @return	true if the puzzle is solved, false otherwise
 	 */
 	public boolean isSolved() {
-		boolean solved = true;
+		return this.numUnsolvedLines == 0;
+	}
+	
+	/**
+	 * Changes the states of all cells to empty and clears the undo history.
+	 */
+	public void resetCells() {
+		markNonEmptyCells();
+		this.cells.clear();
+		this.history.clear();
 		
-		// check if each row is solved
+		// every line has to be checked again
 		for (int i = 0; i < getNumRows(); ++i) {
-			if (!isRowSolved(i)) {
-				solved = false;
-			}
+			updateRowSolved(i);
 		}
-		
-		// check if each col is solved
 		for (int i = 0; i < getNumCols(); ++i) {
-			if (!isColSolved(i)) {
-				solved = false;
+			updateColSolved(i);
+		}
+	}
+	
+	/**
+	 * Returns the cells, rows, and columns that changed since the changes 
+	 * were last cleared. The tracker is created by the first call, which 
+	 * lists everything that differs from an empty, unsolved puzzle, so a 
+	 * model without a view never allocates one. The tracker is live and 
+	 * belongs to the model.
+	 * 
+	 * @return	the changes since the last call to {@link #clearChanges()}
+	 */
+	public ChangeTracker getChanges() {
+		if (this.changes == null) {
+			this.changes = new ChangeTracker(getNumRows(), getNumCols());
+			markNonEmptyCells();
+			for (int i = 0; i < getNumRows(); ++i) {
+				if (this.rowSolved[i]) {
+					this.changes.markRow(i);
+				}
+			}
+			for (int i = 0; i < getNumCols(); ++i) {
+				if (this.colSolved[i]) {
+					this.changes.markCol(i);
+				}
 			}
 		}
-		
-		return solved;
+		return this.changes;
 	}
 	
 	/**
-	 * Changes the states of all cells to empty.
+	 * Forgets the listed changes, typically after a view has shown them.
 	 */
-	public void resetCells() {
-		for (int i = 0; i < this.cellStates.length; ++i) {
-			Arrays.fill(this.cellStates[i], CellState.EMPTY);
+	public void clearChanges() {
+		if (this.changes != null) {
+			this.changes.clear();
+		}
+	}
+	
+	/**
+	 * Writes the clues, and optionally the cell states, in the binary 
+	 * format. Saving the cell states keeps a game in progress. The stream 
+	 * is flushed but not closed.
+	 * 
+	 * @param out	stream to write to
+	 * @param withCells	whether to write the cell states
+	 * @throws IOException	if I/O exception occurs
+	 */
+	public void writeBinary(OutputStream out, boolean withCells) throws IOException {
+		BufferedOutputStream buffered = new BufferedOutputStream(out);
+		BinaryPuzzleWriter writer = new BinaryPuzzleWriter(buffered);
+		writer.writeHeader(getNumRows(), getNumCols(), withCells);
+		writer.writeClueLines(this.rowClues);
+		writer.writeClueLines(this.colClues);
+		if (withCells) {
+			writer.writeCells(this.cells, getNumRows(), getNumCols());
+		}
+		buffered.flush();
+	}
+	
+	/**
+	 * Writes the clues in the text format read by {@link PuzzleReader}, one
+	 * line for the dimensions, then one line per row and one per column.
+	 * The writer is flushed but not closed.
+	 * 
+	 * @param out	writer to write to
+	 * @throws IOException	if I/O exception occurs
+	 */
+	public void writeText(Writer out) throws IOException {
+		StringBuilder text = new StringBuilder();
+		text.append(getNumRows()).append(' ').append(getNumCols()).append('\n');
+		appendClueLines(text, this.rowClues);
+		appendClueLines(text, this.colClues);
+		out.write(text.toString());
+		out.flush();
+	}
+	
+	private static void appendClueLines(StringBuilder text, ClueSet clues) {
+		for (int i = 0; i < clues.getNumLines(); ++i) {
+			for (int j = 0; j < clues.size(i); ++j) {
+				if (j > 0) {
+					text.append(' ');
+				}
+				text.append(clues.get(i, j));
+			}
+			text.append('\n');
+		}
+	}
+	
+	/**
+	 * Saves the clues and the cell states to a file in the binary format.
+	 * 
+	 * @param file	file to write to
+	 * @throws IOException	if I/O exception occurs
+	 */
+	public void save(File file) throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			writeBinary(out, true);
 		}
 	}
 	
@@ -256,25 +545,9 @@ public class NonogramModel {
 	 * @return	int array of the row projection
 	 */
 	public int[] projectCellStatesRow(int rowIdx) {
-		// get the row to be projected
-		CellState[] row = this.cellStates[rowIdx];
-		
-		// create boolean array of cell states
-		boolean[] cells = new boolean[row.length];
-		for (int i = 0; i < cells.length; ++i) {
-			cells[i] = CellState.toBoolean(row[i]);
-		}
-		
-		// project the boolean array
-		List<Integer> projection = project(cells);
-		
-		// convert the ArrayList to an int array
-		int[] result = new int[projection.size()];
-		for (int i = 0; i < result.length; ++i) {
-			result[i] = (int) projection.get(i);
-		}
-		
-		return result;
+		int[] runs = new int[maxProjectionLength(getNumCols())];
+		int numRuns = projectRow(rowIdx, runs);
+		return Arrays.copyOf(runs, numRuns);
 	}
 	
 	/**
@@ -284,28 +557,87 @@ public class NonogramModel {
 	 * @return	int array of the column projection
 	 */
 	public int[] projectCellStatesCol(int colIdx) {
-		// get the column to be projected
-		CellState[] col = new CellState[getNumRows()];
-		for (int i = 0; i < col.length; ++i) {
-			col[i] = this.cellStates[i][colIdx];
-		}
-		
-		// create boolean array of cell states
-		boolean[] cells = new boolean[col.length];
-		for (int i = 0; i < cells.length; ++i) {
-			cells[i] = CellState.toBoolean(col[i]);
-		}
-		
-		// project boolean array
-		List<Integer> projection = project(cells);
-		
-		// convert the ArrayList to an int array
-		int[] result = new int[projection.size()];
-		for (int i = 0; i < result.length; ++i) {
-			result[i] = (int) projection.get(i);
-		}
-		
-		return result;
+		int[] runs = new int[maxProjectionLength(getNumRows())];
+		int numRuns = projectCol(colIdx, runs);
+		return Arrays.copyOf(runs, numRuns);
+	}
+	
+	/**
+	 * Writes the projection of the row with the given index into a 
+	 * caller-supplied buffer without allocating.
+	 * 
+	 * @param rowIdx	row index
+	 * @param runs	buffer of at least {@code maxProjectionLength(getNumCols())}
+	 * 				elements that receives the run lengths
+	 * @return	number of run lengths written to the buffer
+	 */
+	public int projectRow(int rowIdx, int[] runs) {
+		return this.cells.projectRow(rowIdx, runs);
+	}
+	
+	/**
+	 * Writes the projection of the column with the given index into a 
+	 * caller-supplied buffer without allocating.
+	 * 
+	 * @param colIdx	column index
+	 * @param runs	buffer of at least {@code maxProjectionLength(getNumRows())}
+	 * 				elements that receives the run lengths
+	 * @return	number of run lengths written to the buffer
+	 */
+	public int projectCol(int colIdx, int[] runs) {
+		return this.cells.projectCol(colIdx, runs);
+	}
+	
+	/**
+	 * Indicates whether the current cells of the row match the row's clue.
+	 * The cells are compared run by run, so no arrays are created.
+	 * 
+	 * @param rowIdx	row index
+	 * @return	true if the row's projection equals its clue, false otherwise
+	 */
+	public boolean matchesRowClue(int rowIdx) {
+		return this.cells.matchesRow(rowIdx, this.rowClues);
+	}
+	
+	/**
+	 * Indicates whether the current cells of the column match the column's 
+	 * clue. The cells are compared run by run, so no arrays are created.
+	 * 
+	 * @param colIdx	column index
+	 * @return	true if the column's projection equals its clue, false otherwise
+	 */
+	public boolean matchesColClue(int colIdx) {
+		return this.cells.matchesCol(colIdx, this.colClues);
+	}
+	
+	/**
+	 * Counts the cells of a row whose filled state differs from a solver's
+	 * line, such as a row read from a solved Grid. A marked cell counts as
+	 * not filled, like an empty one.
+	 * 
+	 * @param rowIdx	row index
+	 * @param expected	array holding the solver's line, where the byte 
+	 * 				{@link LineKernel#FILLED} marks a filled cell
+	 * @param offset	index of the first cell of the solver's line
+	 * @return	number of cells whose filled state differs
+	 */
+	public int countRowMismatches(int rowIdx, byte[] expected, int offset) {
+		return this.cells.countRowMismatches(rowIdx, getNumCols(), expected, offset);
+	}
+	
+	/**
+	 * Counts the cells of a row whose filled or marked state differs from a
+	 * solver's line. A solver stores a cell it knows to be empty as 
+	 * {@link LineKernel#MARKED}, so a marked cell matches it, while an 
+	 * empty cell matches a cell the solver has not decided.
+	 * 
+	 * @param rowIdx	row index
+	 * @param expected	array holding the solver's line
+	 * @param offset	index of the first cell of the solver's line
+	 * @return	number of cells whose filled or marked state differs
+	 */
+	public int countRowStateMismatches(int rowIdx, byte[] expected, int offset) {
+		return this.cells.countRowStateMismatches(rowIdx, getNumCols(), expected, offset);
 	}
 	
 	/**
@@ -342,67 +674,192 @@ public class NonogramModel {
 		return projection;
 	}
 	
-	// This is implemented for you
-	private static CellState[][] initCellStates(int numRows, int numCols) {
-		// Create a 2D array to store numRows * numCols elements
-		CellState[][] cellStates = new CellState[numRows][numCols];
-		
-		// Set each element of the array to empty
-		for (int rowIdx = 0; rowIdx < numRows; ++rowIdx) {
-			for (int colIdx = 0; colIdx < numCols; ++colIdx) {
-				cellStates[rowIdx][colIdx] = CellState.EMPTY;
+	/**
+	 * Writes the nonogram numbers of the given array of cells into a
+	 * caller-supplied buffer. A line without filled cells projects to a 
+	 * single 0, just like {@link #project(boolean[])}.
+	 * 
+	 * @param cells	boolean array of cells to be projected
+	 * @param runs	buffer of at least {@code maxProjectionLength(cells.length)}
+	 * 				elements that receives the run lengths
+	 * @return	number of run lengths written to the buffer
+	 */
+	public static int project(boolean[] cells, int[] runs) {
+		int numRuns = 0;
+		int run = 0;
+		for (int i = 0; i < cells.length; ++i) {
+			if (cells[i]) {
+				++run;
 			}
+			else if (run > 0) {
+				// end of the cluster
+				runs[numRuns++] = run;
+				run = 0;
+			}
+		}
+		
+		// close the cluster touching the end of the line
+		if (run > 0) {
+			runs[numRuns++] = run;
 		}
 		
-		// Return the result
-		return cellStates;
+		// if the line has no filled cells, its projection is 0
+		return CellGrid.finishProjection(runs, numRuns);
 	}
 	
-	private static int[][] deepCopy(int[][] array) {
-		/*
-		 * Title: Deep Copy of 2D Array in Java
-		 * Type: Source Code
-		 * Availability: https://www.knowprogram.com/java/copy-array-java/
-		 */
-		int[][] temp = new int[array.length][];
+	/**
+	 * Indicates whether the given array of cells projects to the given clue
+	 * without building the projection.
+	 * 
+	 * @param cells	boolean array of cells to be checked
+	 * @param clue	clue the cells should match
+	 * @return	true if the projection of the cells equals the clue
+	 */
+	public static boolean matchesClue(boolean[] cells, int[] clue) {
+		int clueIdx = 0;
+		int run = 0;
+		for (int i = 0; i < cells.length; ++i) {
+			if (cells[i]) {
+				++run;
+			}
+			else if (run > 0) {
+				// compare the finished cluster with the next clue number
+				if (clueIdx == clue.length || clue[clueIdx] != run) {
+					return false;
+				}
+				++clueIdx;
+				run = 0;
+			}
+		}
 		
-		for (int i = 0; i < array.length; ++i) {
-			temp[i] = new int[array[i].length];
+		return CellGrid.matchesLastRun(clue, clueIdx, run);
+	}
+	
+	/**
+	 * Returns the largest number of run lengths a line of the given length 
+	 * can project to, which is the buffer size needed by the primitive 
+	 * projection methods.
+	 * 
+	 * @param lineLength	number of cells in the line
+	 * @return	maximum length of the line's projection
+	 */
+	public static int maxProjectionLength(int lineLength) {
+		return Math.max(1, (lineLength + 1) / 2);
+	}
+	
+	private void read(InputStream in, StorageMode mode) throws IOException {
+		// binary files start with magic bytes that cannot begin a text file
+		byte[] head = in.readNBytes(BinaryPuzzleReader.MAGIC.length);
+		if (BinaryPuzzleReader.isBinary(head)) {
+			BinaryPuzzleReader reader = new BinaryPuzzleReader(new BufferedInputStream(in));
+			int[] header = reader.readHeader();
+			int numRows = header[IDX_NUM_ROWS];
+			int numCols = header[IDX_NUM_COLS];
+			this.rowClues = reader.readClueLines(numRows);
+			this.colClues = reader.readClueLines(numCols);
+			this.cells = CellGrid.create(mode, numRows, numCols);
+			if (reader.hasCells()) {
+				reader.readCells(this.cells, numRows, numCols);
+			}
+		}
+		else {
+			// Number of rows and columns
+			PuzzleReader reader = new PuzzleReader(
+					new SequenceInputStream(new ByteArrayInputStream(head), in));
+			int[] header = reader.readHeader();
+			int numRows = header[IDX_NUM_ROWS];
+			int numCols = header[IDX_NUM_COLS];
 			
-			for (int j = 0; j < array[i].length; ++j) {
-				temp[i][j] = array[i][j];
+			// Read in row and column clues
+			this.rowClues = reader.readClueLines(numRows, "row");
+			this.colClues = reader.readClueLines(numCols, "column");
+			
+			// Initialize cellStates
+			this.cells = CellGrid.create(mode, numRows, numCols);
+		}
+		
+		// Check which lines are already solved
+		initSolvedStates();
+	}
+	
+	private void applyCellState(int rowIdx, int colIdx, CellState state) {
+		this.cells.set(rowIdx, colIdx, state);
+		if (this.changes != null) {
+			this.changes.markCell(rowIdx, colIdx);
+		}
+		
+		// only the touched row and column can change their solved state
+		updateRowSolved(rowIdx);
+		updateColSolved(colIdx);
+	}
+	
+	private void replay(long entry, CellState state, CellChangeListener listener) {
+		long cellIdx = EditHistory.cellIndex(entry);
+		int rowIdx = (int) (cellIdx / getNumCols());
+		int colIdx = (int) (cellIdx % getNumCols());
+		applyCellState(rowIdx, colIdx, state);
+		if (listener != null) {
+			listener.cellChanged(rowIdx, colIdx, state);
+		}
+	}
+	
+	private long cellIndex(int rowIdx, int colIdx) {
+		return (long) rowIdx * getNumCols() + colIdx;
+	}
+	
+	private void markNonEmptyCells() {
+		if (this.changes == null) {
+			return;
+		}
+		for (int rowIdx = 0; rowIdx < getNumRows(); ++rowIdx) {
+			for (int colIdx = 0; colIdx < getNumCols(); ++colIdx) {
+				if (getCellState(rowIdx, colIdx) != CellState.EMPTY) {
+					this.changes.markCell(rowIdx, colIdx);
+				}
 			}
 		}
+	}
+	
+	private void initSolvedStates() {
+		this.rowSolved = new boolean[getNumRows()];
+		this.colSolved = new boolean[getNumCols()];
+		this.numUnsolvedLines = getNumRows() + getNumCols();
+		this.changes = null;
 		
-		return temp;
+		// check every line once; after this only touched lines are re-checked
+		for (int i = 0; i < getNumRows(); ++i) {
+			updateRowSolved(i);
+		}
+		for (int i = 0; i < getNumCols(); ++i) {
+			updateColSolved(i);
+		}
 	}
 	
-	// This method is implemented for you. You need to figure out how it is useful.
-	private static int[][] readClueLines(BufferedReader reader, int numLines)
-			throws IOException {
-		// Create a new 2D array to store the clues
-		int[][] clueLines = new int[numLines][];
+	private void updateRowSolved(int rowIdx) {
+		boolean solved = matchesRowClue(rowIdx);
 		
-		// Read in clues line-by-line and add them to the array
-		for (int lineNum = 0; lineNum < numLines; ++lineNum) {
-			// Read in a line
-			String line = reader.readLine();
-			
-			// Split the line according to the delimiter character
-			String[] tokens = line.split(DELIMITER);
-			
-			// Create new int array to store the clues in
-			int[] clues = new int[tokens.length];
-			for (int idx = 0; idx < tokens.length; ++idx) {
-				clues[idx] = Integer.parseInt(tokens[idx]);
+		// adjust the unsolved line counter only if the state flipped
+		if (solved != this.rowSolved[rowIdx]) {
+			this.rowSolved[rowIdx] = solved;
+			this.numUnsolvedLines += solved ? -1 : 1;
+			if (this.changes != null) {
+				this.changes.markRow(rowIdx);
 			}
-			
-			// Store the processed clues in the resulting 2D array
-			clueLines[lineNum] = clues;
 		}
+	}
+	
+	private void updateColSolved(int colIdx) {
+		boolean solved = matchesColClue(colIdx);
 		
-		// Return the result
-		return clueLines;
+		// adjust the unsolved line counter only if the state flipped
+		if (solved != this.colSolved[colIdx]) {
+			this.colSolved[colIdx] = solved;
+			this.numUnsolvedLines += solved ? -1 : 1;
+			if (this.changes != null) {
+				this.changes.markCol(colIdx);
+			}
+		}
 	}
 	
+	
 }
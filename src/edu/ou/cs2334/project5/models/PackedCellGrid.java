@@ -0,0 +1,180 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Stores cell states as bits. Each row owns a range of 64-bit words in a
+ * filled bitset and a marked bitset, and each column owns a range of words
+ * in a column-major copy of the filled bits. Only filled cells count towards
+ * a projection, so columns can be checked a word at a time without striding
+ * across rows. Three bits per cell replace one object reference per cell.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class PackedCellGrid extends CellGrid {
+	
+	private static final int WORD_SHIFT = 6;
+	private static final int WORD_BITS = 1 << WORD_SHIFT;
+	
+	private final int numRows;
+	private final int numCols;
+	private final int rowWords;
+	private final int colWords;
+	private final long[] rowFilled;
+	private final long[] rowMarked;
+	private final long[] colFilled;
+	
+	/**
+	 * Constructs an empty grid with the given dimensions.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 */
+	PackedCellGrid(int numRows, int numCols) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.rowWords = wordsFor(numCols);
+		this.colWords = wordsFor(numRows);
+		this.rowFilled = new long[numRows * this.rowWords];
+		this.rowMarked = new long[numRows * this.rowWords];
+		this.colFilled = new long[numCols * this.colWords];
+	}
+	
+	@Override
+	StorageMode getMode() {
+		return StorageMode.PACKED;
+	}
+	
+	@Override
+	CellState get(int rowIdx, int colIdx) {
+		int word = rowIdx * this.rowWords + (colIdx >>> WORD_SHIFT);
+		long bit = 1L << colIdx;
+		if ((this.rowFilled[word] & bit) != 0) {
+			return CellState.FILLED;
+		}
+		if ((this.rowMarked[word] & bit) != 0) {
+			return CellState.MARKED;
+		}
+		return CellState.EMPTY;
+	}
+	
+	@Override
+	void set(int rowIdx, int colIdx, CellState state) {
+		int word = rowIdx * this.rowWords + (colIdx >>> WORD_SHIFT);
+		long bit = 1L << colIdx;
+		int colWord = colIdx * this.colWords + (rowIdx >>> WORD_SHIFT);
+		long colBit = 1L << rowIdx;
+		
+		// clear both bits, then set the one belonging to the new state
+		this.rowFilled[word] &= ~bit;
+		this.rowMarked[word] &= ~bit;
+		this.colFilled[colWord] &= ~colBit;
+		if (state == CellState.FILLED) {
+			this.rowFilled[word] |= bit;
+			this.colFilled[colWord] |= colBit;
+		}
+		else if (state == CellState.MARKED) {
+			this.rowMarked[word] |= bit;
+		}
+	}
+	
+	@Override
+	void clear() {
+		Arrays.fill(this.rowFilled, 0L);
+		Arrays.fill(this.rowMarked, 0L);
+		Arrays.fill(this.colFilled, 0L);
+	}
+	
+	@Override
+	int projectRow(int rowIdx, int[] runs) {
+		return projectBits(this.rowFilled, rowIdx * this.rowWords, 
+				this.rowWords, this.numCols, runs);
+	}
+	
+	@Override
+	int projectCol(int colIdx, int[] runs) {
+		return projectBits(this.colFilled, colIdx * this.colWords, 
+				this.colWords, this.numRows, runs);
+	}
+	
+	@Override
+	boolean matchesRow(int rowIdx, ClueSet clues) {
+		return matchesBits(this.rowFilled, rowIdx * this.rowWords, 
+				this.rowWords, this.numCols, clues, rowIdx);
+	}
+	
+	@Override
+	boolean matchesCol(int colIdx, ClueSet clues) {
+		return matchesBits(this.colFilled, colIdx * this.colWords, 
+				this.colWords, this.numRows, clues, colIdx);
+	}
+	
+	static int projectBits(long[] bits, int base, int numWords, 
+			int length, int[] runs) {
+		int numRuns = 0;
+		int start = nextSetBit(bits, base, numWords, 0);
+		while (start >= 0) {
+			// a cluster runs until the next clear bit
+			int end = nextClearBit(bits, base, numWords, length, start);
+			runs[numRuns++] = end - start;
+			start = end < length ? nextSetBit(bits, base, numWords, end) : -1;
+		}
+		
+		return finishProjection(runs, numRuns);
+	}
+	
+	static boolean matchesBits(long[] bits, int base, int numWords, 
+			int length, ClueSet clues, int lineIdx) {
+		int clueIdx = 0;
+		int start = nextSetBit(bits, base, numWords, 0);
+		while (start >= 0) {
+			int end = nextClearBit(bits, base, numWords, length, start);
+			
+			// compare the cluster with the next clue number
+			if (!clues.matchesRun(lineIdx, clueIdx, end - start)) {
+				return false;
+			}
+			++clueIdx;
+			start = end < length ? nextSetBit(bits, base, numWords, end) : -1;
+		}
+		
+		return clues.matchesLastRun(lineIdx, clueIdx, 0);
+	}
+	
+	private static int nextSetBit(long[] bits, int base, int numWords, int from) {
+		int wordIdx = from >>> WORD_SHIFT;
+		if (wordIdx >= numWords) {
+			return -1;
+		}
+		
+		// skip whole words without filled cells
+		long word = bits[base + wordIdx] & (-1L << from);
+		while (word == 0) {
+			if (++wordIdx == numWords) {
+				return -1;
+			}
+			word = bits[base + wordIdx];
+		}
+		return wordIdx * WORD_BITS + Long.numberOfTrailingZeros(word);
+	}
+	
+	private static int nextClearBit(long[] bits, int base, int numWords, 
+			int length, int from) {
+		int wordIdx = from >>> WORD_SHIFT;
+		
+		// skip whole words of filled cells
+		long word = ~bits[base + wordIdx] & (-1L << from);
+		while (word == 0) {
+			if (++wordIdx == numWords) {
+				return length;
+			}
+			word = ~bits[base + wordIdx];
+		}
+		return Math.min(length, wordIdx * WORD_BITS + Long.numberOfTrailingZeros(word));
+	}
+	
+	private static int wordsFor(int numBits) {
+		return (numBits + WORD_BITS - 1) >>> WORD_SHIFT;
+	}
+
+}
@@ -0,0 +1,61 @@
+package edu.ou.cs2334.project5.models;
+
+import java.io.IOException;
+/**
+ * Signals that a puzzle file is malformed. The message includes the line
+ * and column where reading stopped, or the byte offset for binary files.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class PuzzleFormatException extends IOException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final int lineNum;
+	private final int colNum;
+	
+	/**
+	 * Constructs a PuzzleFormatException.
+	 * 
+	 * @param message	description of the problem
+	 * @param lineNum	line of the problem, starting at 1
+	 * @param colNum	column of the problem, starting at 1
+	 */
+	public PuzzleFormatException(String message, int lineNum, int colNum) {
+		super("line " + lineNum + ", column " + colNum + ": " + message);
+		this.lineNum = lineNum;
+		this.colNum = colNum;
+	}
+	
+	/**
+	 * Constructs a PuzzleFormatException for a binary file.
+	 * 
+	 * @param message	description of the problem
+	 * @param offset	offset of the problem in bytes
+	 */
+	public PuzzleFormatException(String message, long offset) {
+		super("byte " + offset + ": " + message);
+		this.lineNum = 0;
+		this.colNum = 0;
+	}
+	
+	/**
+	 * Returns the line of the problem.
+	 * 
+	 * @return	line number, starting at 1, or 0 for binary files
+	 */
+	public int getLineNum() {
+		return this.lineNum;
+	}
+	
+	/**
+	 * Returns the column of the problem.
+	 * 
+	 * @return	column number, starting at 1, or 0 for binary files
+	 */
+	public int getColNum() {
+		return this.colNum;
+	}
+
+}
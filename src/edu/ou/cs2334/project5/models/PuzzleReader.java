@@ -0,0 +1,160 @@
+package edu.ou.cs2334.project5.models;
+
+import java.io.IOException;
+import java.io.InputStream;
+/**
+ * Reads the clues of a puzzle file straight from its bytes. The first line
+ * holds the number of rows and columns, followed by one line of clues per
+ * row and then one per column. Numbers are parsed digit by digit without
+ * creating strings, any run of spaces or tabs separates them, and both
+ * Unix and Windows line endings are accepted.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class PuzzleReader {
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int END_OF_INPUT = -1;
+	
+	private final InputStream in;
+	private final byte[] buffer;
+	private int pos;
+	private int limit;
+	
+	private int lineNum;
+	private int colNum;
+	
+	/**
+	 * Constructs a PuzzleReader. The stream is read in large chunks, so it
+	 * does not need to be buffered.
+	 * 
+	 * @param in	stream to read the puzzle from
+	 */
+	public PuzzleReader(InputStream in) {
+		this.in = in;
+		this.buffer = new byte[BUFFER_SIZE];
+		this.lineNum = 1;
+		this.colNum = 1;
+	}
+	
+	/**
+	 * Reads the header line.
+	 * 
+	 * @return	the number of rows and the number of columns
+	 * @throws IOException	if the stream cannot be read or the header is 
+	 * 			malformed
+	 */
+	public int[] readHeader() throws IOException {
+		int startLine = this.lineNum;
+		ClueSet.Builder builder = new ClueSet.Builder();
+		readLine("header", builder);
+		if (builder.getLineSize() != 2) {
+			throw new PuzzleFormatException("expected the number of rows and columns", 
+					startLine, 1);
+		}
+		builder.endLine();
+		return builder.build().toArray(0);
+	}
+	
+	/**
+	 * Reads the given number of clue lines straight into a flat ClueSet.
+	 * 
+	 * @param numLines	number of lines to read
+	 * @param kind	name of the lines used in error messages, e.g. "row"
+	 * @return	the clues of every line
+	 * @throws IOException	if the stream cannot be read or a line is malformed
+	 */
+	public ClueSet readClueLines(int numLines, String kind) throws IOException {
+		ClueSet.Builder builder = new ClueSet.Builder();
+		for (int lineIdx = 0; lineIdx < numLines; ++lineIdx) {
+			readLine(kind + " clue " + (lineIdx + 1), builder);
+			builder.endLine();
+		}
+		return builder.build();
+	}
+	
+	/**
+	 * Reads one line of numbers into the builder and moves to the start of
+	 * the next line.
+	 */
+	private void readLine(String what, ClueSet.Builder builder) throws IOException {
+		int count = 0;
+		int c = peek();
+		if (c == END_OF_INPUT) {
+			throw error("expected " + what + " but the file ended");
+		}
+		while (true) {
+			// skip blanks between numbers
+			while (c == ' ' || c == '\t') {
+				advance();
+				c = peek();
+			}
+			if (c == END_OF_INPUT || c == '\n' || c == '\r') {
+				break;
+			}
+			if (c < '0' || c > '9') {
+				throw error("unexpected character '" + (char) c + "' in " + what);
+			}
+			builder.add(readNumber(what));
+			++count;
+			c = peek();
+		}
+		if (count == 0) {
+			throw error("expected a number in " + what);
+		}
+		
+		// consume the line ending
+		if (c == '\r') {
+			advance();
+			c = peek();
+		}
+		if (c == '\n') {
+			advance();
+		}
+		++this.lineNum;
+		this.colNum = 1;
+	}
+	
+	private int readNumber(String what) throws IOException {
+		int startCol = this.colNum;
+		int value = 0;
+		int c = peek();
+		while (c >= '0' && c <= '9') {
+			int digit = c - '0';
+			if (value > (Integer.MAX_VALUE - digit) / 10) {
+				throw new PuzzleFormatException("number too large in " + what, 
+						this.lineNum, startCol);
+			}
+			value = 10 * value + digit;
+			advance();
+			c = peek();
+		}
+		if (c != END_OF_INPUT && c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+			throw error("unexpected character '" + (char) c + "' in " + what);
+		}
+		return value;
+	}
+	
+	private int peek() throws IOException {
+		if (this.pos == this.limit) {
+			this.limit = this.in.read(this.buffer, 0, this.buffer.length);
+			this.pos = 0;
+			if (this.limit <= 0) {
+				this.limit = 0;
+				return END_OF_INPUT;
+			}
+		}
+		return this.buffer[this.pos] & 0xFF;
+	}
+	
+	private void advance() {
+		++this.pos;
+		++this.colNum;
+	}
+	
+	private PuzzleFormatException error(String message) {
+		return new PuzzleFormatException(message, this.lineNum, this.colNum);
+	}
+
+}
@@ -0,0 +1,55 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+/**
+ * Scans lines one cell at a time. Used when the Vector API is not 
+ * available.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+final class ScalarLineKernel extends LineKernel {
+	
+	@Override
+	public String getName() {
+		return "scalar";
+	}
+	
+	@Override
+	public void packFilled(byte[] cells, int offset, int length, long[] bits) {
+		Arrays.fill(bits, 0, wordsFor(length), 0L);
+		for (int i = 0; i < length; ++i) {
+			if (cells[offset + i] == FILLED) {
+				bits[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+	
+	@Override
+	public int countFilledMismatches(byte[] cells, int offset, byte[] expected, 
+			int expectedOffset, int length) {
+		int count = 0;
+		for (int i = 0; i < length; ++i) {
+			if ((cells[offset + i] == FILLED) != (expected[expectedOffset + i] == FILLED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public int countMismatches(byte[] cells, int offset, byte[] expected, 
+			int expectedOffset, int length) {
+		int count = 0;
+		for (int i = 0; i < length; ++i) {
+			byte cell = cells[offset + i];
+			byte expectedCell = expected[expectedOffset + i];
+			if ((cell == FILLED) != (expectedCell == FILLED) 
+					|| (cell == MARKED) != (expectedCell == MARKED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+}
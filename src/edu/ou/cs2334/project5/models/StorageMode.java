@@ -0,0 +1,30 @@
+package edu.ou.cs2334.project5.models;
+/**
+ * This enumeration selects how a NonogramModel stores its cell states.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public enum StorageMode {
+	
+	/**
+	 * One CellState reference per cell. Best for the small puzzles played
+	 * in the game window.
+	 */
+	ARRAY, 
+	
+	/**
+	 * Filled and marked bits packed into 64-bit words per row, with a
+	 * column-major copy of the filled bits. Uses a fraction of the memory
+	 * and checks lines a word at a time, which suits very large puzzles.
+	 */
+	PACKED, 
+	
+	/**
+	 * One byte per cell in a row-major array, with a column-major copy.
+	 * Lines are checked many cells at a time with the Vector API when it
+	 * is available (see LineKernel), which suits very wide puzzles.
+	 */
+	BYTES;
+
+}
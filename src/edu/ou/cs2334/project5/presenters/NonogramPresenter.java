@@ -1,7 +1,8 @@
 package edu.ou.cs2334.project5.presenters;
 
-import edu.ou.cs2334.project5.views.CellView;
 import edu.ou.cs2334.project5.views.NonogramView;
+import edu.ou.cs2334.project5.views.RenderMode;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.scene.Scene;
 import javafx.scene.input.MouseButton;
@@ -10,11 +11,15 @@ import javafx.stage.FileChooser;
 import javafx.stage.Window;
 import javafx.stage.FileChooser.ExtensionFilter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import edu.ou.cs2334.project5.handlers.OpenHandler;
+import edu.ou.cs2334.project5.handlers.SaveHandler;
+import edu.ou.cs2334.project5.interfaces.CellInputHandler;
+import edu.ou.cs2334.project5.interfaces.GridSource;
 import edu.ou.cs2334.project5.interfaces.Openable;
+import edu.ou.cs2334.project5.interfaces.Saveable;
 import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.ChangeTracker;
 import edu.ou.cs2334.project5.models.NonogramModel;
 /**
  * Synchronizes the graphical view and the model data of the nonogram
@@ -23,12 +28,19 @@ import edu.ou.cs2334.project5.models.NonogramModel;
  * @author emmas
  * @version 0.1
  */
-public class NonogramPresenter implements Openable {
+public class NonogramPresenter implements Openable, Saveable, CellInputHandler,
+		GridSource {
 	
 	private NonogramView view;
 	private NonogramModel model;
 	private int cellLength;
+	private RenderMode renderMode;
+	private CellState strokeState;
+	private boolean syncPending;
+	private boolean victoryShown;
+	private PuzzleLoadTask loadTask;
 	private static final String DEFAULT_PUZZLE = "puzzles/space-invader.txt";
+	private static final String SAVE_EXTENSION = ".ngb";
 	
 	/**
 	 * Constructs a NonogramPresenter using a given cell size.
@@ -37,8 +49,21 @@ public class NonogramPresenter implements Openable {
 	 * @throws IOException	if I/O exception occurs
 	 */
 	public NonogramPresenter(int cellLength) throws IOException {
-		// initialize cell length
+		this(cellLength, RenderMode.NODES);
+	}
+	
+	/**
+	 * Constructs a NonogramPresenter using a given cell size and a given 
+	 * way of drawing the cell grid.
+	 * 
+	 * @param cellLength	length of each cell in pixels
+	 * @param renderMode	how the cell grid is drawn
+	 * @throws IOException	if I/O exception occurs
+	 */
+	public NonogramPresenter(int cellLength, RenderMode renderMode) throws IOException {
+		// initialize cell length and render mode
 		this.cellLength = cellLength;
+		this.renderMode = renderMode;
 		
 		// initialize model
 		this.model = new NonogramModel(DEFAULT_PUZZLE);
@@ -54,8 +79,11 @@ public class NonogramPresenter implements Openable {
 		// initialize view
 		initializeView();
 		
-		// bind cell views
-		bindCellViews();
+		// the new puzzle has not been won yet
+		this.victoryShown = false;
+		
+		// receive the mouse input on the cells
+		this.view.setCellInputHandler(this);
 		
 		// synchronize model and view data
 		synchronize();
@@ -68,7 +96,7 @@ public class NonogramPresenter implements Openable {
 		// initialize view
 		int[][] rowClues = model.getRowClues();
 		int[][] colClues = model.getColClues();
-		this.view.initialize(rowClues, colClues, this.cellLength);
+		this.view.initialize(rowClues, colClues, this.cellLength, this.renderMode, this);
 		
 		// set window size
 		if (getWindow() != null) {
@@ -76,39 +104,65 @@ public class NonogramPresenter implements Openable {
 		}
 	}
 	
-	private void bindCellViews() {
-		// iterate through each cell
-		CellView cellView;
-		for (int row = 0; row < model.getNumRows(); ++row) {
-			
-			for (int col = 0; col < model.getNumCols(); ++col) {
-				final int ROW = row;
-				final int COL = col;
-				// get the cell view for each cell in the puzzle
-				cellView = this.view.getCellView(row, col);
-				
-				/*
-				 * Title: Right click in JavaFX?
-				 * Author: Paul S.
-				 * Type: Source Code
-				 * Availability: https://stackoverflow.com/questions/1515547/right-click-in-javafx
-				 */
-				cellView.setOnMouseClicked(event ->
-				{
-					// call corresponding click method if right or left clicked
-					if (event.getButton() == MouseButton.PRIMARY) {
-						handleLeftClick(ROW, COL);
-					}
-					else if (event.getButton() == MouseButton.SECONDARY) {
-						handleRightClick(ROW, COL);
-					}
-				}
-				);
-			}
+	/**
+	 * Starts a stroke with the state a left or right click gives the cell.
+	 */
+	@Override
+	public void cellPressed(int rowIdx, int colIdx, MouseButton button) {
+		/*
+		 * Title: Right click in JavaFX?
+		 * Author: Paul S.
+		 * Type: Source Code
+		 * Availability: https://stackoverflow.com/questions/1515547/right-click-in-javafx
+		 */
+		if (button == MouseButton.PRIMARY) {
+			startStroke(rowIdx, colIdx, leftClickState(rowIdx, colIdx));
 		}
+		else if (button == MouseButton.SECONDARY) {
+			startStroke(rowIdx, colIdx, rightClickState(rowIdx, colIdx));
+		}
+	}
+	
+	/**
+	 * Gives a cell the drag stroke's state.
+	 */
+	@Override
+	public void cellEntered(int rowIdx, int colIdx) {
+		continueStroke(rowIdx, colIdx);
+	}
+	
+	/**
+	 * Ends the drag stroke.
+	 */
+	@Override
+	public void cellReleased() {
+		endStroke();
 	}
 	
-	private void handleLeftClick(int rowIdx, int colIdx) {
+	private void startStroke(int rowIdx, int colIdx, CellState state) {
+		// a stroke whose release was missed ends here
+		endStroke();
+		
+		// the whole stroke is undone as one step
+		this.strokeState = state;
+		this.model.beginEdit();
+		updateCellState(rowIdx, colIdx, state);
+	}
+	
+	private void continueStroke(int rowIdx, int colIdx) {
+		if (this.strokeState != null) {
+			updateCellState(rowIdx, colIdx, this.strokeState);
+		}
+	}
+	
+	private void endStroke() {
+		if (this.strokeState != null) {
+			this.model.endEdit();
+			this.strokeState = null;
+		}
+	}
+	
+	private CellState leftClickState(int rowIdx, int colIdx) {
 		CellState state = null;
 		
 		// get current cell state
@@ -123,11 +177,10 @@ public class NonogramPresenter implements Openable {
 			state = CellState.EMPTY;
 		}
 		
-		// update model and view with the desired state
-		updateCellState(rowIdx, colIdx, state);
+		return state;
 	}
 	
-	private void handleRightClick(int rowIdx, int colIdx) {
+	private CellState rightClickState(int rowIdx, int colIdx) {
 		CellState state = null;
 		
 		// get current cell state
@@ -142,68 +195,66 @@ public class NonogramPresenter implements Openable {
 			state = CellState.EMPTY;
 		}
 		
-		// update model and view with desired state
-		updateCellState(rowIdx, colIdx, state);
+		return state;
 	}
 	
 	private void updateCellState(int rowIdx, int colIdx, CellState state) {
-		// update model
-		boolean changed = this.model.setCellState(rowIdx, colIdx, state);
-		
-		// if nothing changed, don't update view
-		if (!changed) {
-			return;
+		// update model; the view catches up before the next pulse
+		if (this.model.setCellState(rowIdx, colIdx, state)) {
+			requestSync();
 		}
-		
-		// check to see if this row or column is solved
-		boolean rowSolved = this.model.isRowSolved(rowIdx);
-		boolean colSolved = this.model.isColSolved(colIdx);
-		
-		// update view
-		this.view.setCellState(rowIdx, colIdx, state);
-		this.view.setRowClueState(rowIdx, rowSolved);
-		this.view.setColClueState(colIdx, colSolved);
-		
-		// check if model is solved
-		boolean modelSolved = this.model.isSolved();
-		
-		if (modelSolved) {
-			processVictory();
+	}
+	
+	private void requestSync() {
+		// changes made before the next pulse, such as a fast drag, share 
+		// one update
+		if (!this.syncPending) {
+			this.syncPending = true;
+			Platform.runLater(() -> {
+				this.syncPending = false;
+				synchronize();
+			});
 		}
 	}
 	
 	private void synchronize() {
-		// iterate through each cell
-		for (int row = 0; row < model.getNumRows(); ++row) {
-			
-			for (int col = 0; col < model.getNumCols(); ++col) {
-				
-				// set the view state of each cell to that of the model
-				this.view.setCellState(row, col, this.model.getCellState(row, col));
-			}
+		ChangeTracker changes = this.model.getChanges();
+		
+		// set the view state of each changed cell to that of the model
+		int row;
+		int col;
+		for (int i = 0; i < changes.getNumCells(); ++i) {
+			row = changes.getCellRow(i);
+			col = changes.getCellCol(i);
+			this.view.setCellState(row, col, this.model.getCellState(row, col));
 		}
 		
-		// set the view's row clue to the state of the model's row state
-		boolean rowSolved;
-		for (int row = 0; row < model.getNumRows(); ++row) {
-			rowSolved = this.model.isRowSolved(row);
-			this.view.setRowClueState(row, rowSolved);
+		// set the view's row clues whose solved state changed
+		for (int i = 0; i < changes.getNumRows(); ++i) {
+			row = changes.getRow(i);
+			this.view.setRowClueState(row, this.model.isRowSolved(row));
 		}
 		
-		// set the view's col clue to the state of the model's col state
-		boolean colSolved;
-		for (int col = 0; col < model.getNumCols(); ++col) {
-			colSolved = this.model.isColSolved(col);
-			this.view.setColClueState(col, colSolved);
+		// set the view's col clues whose solved state changed
+		for (int i = 0; i < changes.getNumCols(); ++i) {
+			col = changes.getCol(i);
+			this.view.setColClueState(col, this.model.isColSolved(col));
 		}
+		this.model.clearChanges();
 		
 		// sync puzzle state
 		boolean puzzleSolved = this.model.isSolved();
 		this.view.setPuzzleState(puzzleSolved);
 		
-		if (puzzleSolved) {
+		if (puzzleSolved && !this.victoryShown) {
+			this.victoryShown = true;
 			processVictory();
 		}
+		else if (!puzzleSolved && this.victoryShown) {
+			// an undo took the victory back
+			this.victoryShown = false;
+			restoreCellViewMarks();
+		}
 	}
 	
 	private void processVictory() {
@@ -231,26 +282,68 @@ public class NonogramPresenter implements Openable {
 		}
 	}
 	
+	private void restoreCellViewMarks() {
+		for (int row = 0; row < model.getNumRows(); ++row) {
+			
+			for (int col = 0; col < model.getNumCols(); ++col) {
+				// show the marks hidden by the victory again
+				if (this.model.getCellState(row, col) == CellState.MARKED) {
+					this.view.setCellState(row, col, CellState.MARKED);
+				}
+			}
+		}
+	}
+	
 	private void configureButtons() {
 		// configure load button
 		FileChooser fileChooser1 = new FileChooser();
 		fileChooser1.setTitle("Load");
-		fileChooser1.getExtensionFilters().addAll(new ExtensionFilter("Text Files", "*.txt"));
+		fileChooser1.getExtensionFilters().addAll(new ExtensionFilter("Text Files", "*.txt"), 
+				new ExtensionFilter("Saved Games", "*" + SAVE_EXTENSION));
 		fileChooser1.setInitialDirectory(new File("."));
 		view.getLoadButton()
 			 .setOnAction(new OpenHandler(getWindow(), fileChooser1, this));
 		
+		// configure save button
+		FileChooser fileChooser2 = new FileChooser();
+		fileChooser2.setTitle("Save");
+		fileChooser2.getExtensionFilters().addAll(new ExtensionFilter("Saved Games", "*" + SAVE_EXTENSION));
+		fileChooser2.setInitialDirectory(new File("."));
+		view.getSaveButton()
+			 .setOnAction(new SaveHandler(getWindow(), fileChooser2, this));
+		
 		// configure reset button
 		view.getResetButton().setOnAction((ActionEvent event) -> {
 			resetPuzzle();
 		});
+		
+		// configure undo and redo buttons
+		view.getUndoButton().setOnAction((ActionEvent event) -> {
+			undo();
+		});
+		view.getRedoButton().setOnAction((ActionEvent event) -> {
+			redo();
+		});
+	}
+	
+	private void undo() {
+		// only the reverted cells and their clues are updated
+		if (this.model.undo(null)) {
+			synchronize();
+		}
+	}
+	
+	private void redo() {
+		if (this.model.redo(null)) {
+			synchronize();
+		}
 	}
 	
 	private void resetPuzzle() {
 		// reset model
 		this.model.resetCells();
 		
-		// sync model and view
+		// sync the cells and clues that changed
 		synchronize();
 	}
 	
@@ -263,6 +356,21 @@ public class NonogramPresenter implements Openable {
 		return this.view;
 	}
 	
+	@Override
+	public CellState getCellState(int rowIdx, int colIdx) {
+		return this.model.getCellState(rowIdx, colIdx);
+	}
+	
+	@Override
+	public boolean isRowSolved(int rowIdx) {
+		return this.model.isRowSolved(rowIdx);
+	}
+	
+	@Override
+	public boolean isColSolved(int colIdx) {
+		return this.model.isColSolved(colIdx);
+	}
+	
 	/**
 	 * Returns the Window associated with the presenter.
 	 * 
@@ -281,14 +389,65 @@ public class NonogramPresenter implements Openable {
 	}
 	
 	/**
-	 * Re-initializes the model with the given puzzle file.
+	 * Loads the given puzzle file on a background thread and re-initializes
+	 * the presenter with it once it is loaded. A load still running is
+	 * cancelled first.
 	 */
-	public void open(File file) throws FileNotFoundException, IOException {
-		// initialize model
-		this.model = new NonogramModel(file);
+	public void open(File file) {
+		// a newer load replaces the one still running
+		cancelLoad();
 		
-		// initialize presenter
-		initializePresenter();
+		PuzzleLoadTask task = new PuzzleLoadTask(file);
+		this.loadTask = task;
+		task.setOnSucceeded(event -> {
+			if (finishLoad(task)) {
+				// swap in the new model and rebuild the view in one step
+				this.model = task.getValue();
+				initializePresenter();
+			}
+		});
+		task.setOnFailed(event -> {
+			if (finishLoad(task)) {
+				this.view.showErrorAlert("Could not load " + file.getName(), 
+						describe(task.getException()));
+			}
+		});
+		task.setOnCancelled(event -> finishLoad(task));
+		this.view.showLoading("Loading " + file.getName(), task.progressProperty(), 
+				this::cancelLoad);
+		
+		// the loader must not keep the program running after the window closes
+		Thread loader = new Thread(task, "puzzle-loader");
+		loader.setDaemon(true);
+		loader.start();
+	}
+	
+	private void cancelLoad() {
+		if (this.loadTask != null) {
+			this.loadTask.cancel();
+		}
+	}
+	
+	private boolean finishLoad(PuzzleLoadTask task) {
+		// the events of a replaced load are ignored
+		if (task != this.loadTask) {
+			return false;
+		}
+		this.loadTask = null;
+		this.view.hideLoading();
+		return true;
+	}
+	
+	private static String describe(Throwable error) {
+		String message = error.getMessage();
+		return message != null ? message : error.getClass().getSimpleName();
+	}
+	
+	/**
+	 * Saves the puzzle and the current cell states to the given file.
+	 */
+	public void save(File file) throws IOException {
+		this.model.save(file);
 	}
 
 }
@@ -0,0 +1,119 @@
+package edu.ou.cs2334.project5.presenters;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.models.StorageMode;
+import javafx.concurrent.Task;
+/**
+ * Loads a puzzle file into a NonogramModel on a background thread. The
+ * progress follows the bytes read from the file, and a cancelled load 
+ * stops at its next read. The model is fully built when the task
+ * succeeds, so the application thread only has to show it.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class PuzzleLoadTask extends Task<NonogramModel> {
+	
+	private final File file;
+	private final StorageMode mode;
+	
+	/**
+	 * Constructs a PuzzleLoadTask for a file whose cells are stored in an
+	 * array.
+	 * 
+	 * @param file	file containing the puzzle
+	 */
+	public PuzzleLoadTask(File file) {
+		this(file, StorageMode.ARRAY);
+	}
+	
+	/**
+	 * Constructs a PuzzleLoadTask.
+	 * 
+	 * @param file	file containing the puzzle
+	 * @param mode	how the cell states of the model are stored
+	 */
+	public PuzzleLoadTask(File file, StorageMode mode) {
+		this.file = file;
+		this.mode = mode;
+	}
+	
+	/**
+	 * Returns the file being loaded.
+	 * 
+	 * @return	the file being loaded
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	@Override
+	protected NonogramModel call() throws IOException {
+		try (InputStream in = new ProgressInputStream(new FileInputStream(this.file),
+				this.file.length())) {
+			return new NonogramModel(in, this.mode);
+		}
+	}
+	
+	/**
+	 * Reports the bytes read as the progress of the task and ends the read
+	 * once the task is cancelled.
+	 */
+	private class ProgressInputStream extends FilterInputStream {
+		
+		private final long total;
+		private long count;
+		
+		ProgressInputStream(InputStream in, long total) {
+			super(in);
+			this.total = Math.max(1, total);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			checkCancelled();
+			int b = super.read();
+			if (b >= 0) {
+				advance(1);
+			}
+			return b;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			checkCancelled();
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				advance(n);
+			}
+			return n;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException {
+			checkCancelled();
+			long skipped = super.skip(n);
+			advance(skipped);
+			return skipped;
+		}
+		
+		private void checkCancelled() throws InterruptedIOException {
+			if (isCancelled()) {
+				throw new InterruptedIOException("Loading cancelled");
+			}
+		}
+		
+		private void advance(long n) {
+			// updateProgress coalesces the updates sent to the application thread
+			this.count += n;
+			updateProgress(Math.min(this.count, this.total), this.total);
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Solves any nonogram by combining line logic with a depth-first search.
+ * After line logic stalls, the solver probes the most constrained unknown
+ * cells, guesses the one that decides the most, propagates the guess, and
+ * backtracks on a contradiction by undoing the cells on the search trail.
+ * Line logic is done by a DpLineSolver through a LineCache, so a line state
+ * the search runs into again is not solved again.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class BacktrackingSolver {
+	
+	private final ClueSet rowClues;
+	private final ClueSet colClues;
+	private final LineCache lineCache;
+	
+	private List<Grid> solutions;
+	private int maxSolutions;
+	private long maxNodes;
+	private long deadline;
+	private boolean limitReached;
+	private long numNodes;
+	private int maxDepth;
+	
+	/**
+	 * Constructs a BacktrackingSolver for the clues of the given model.
+	 * 
+	 * @param model	model providing the row and column clues
+	 */
+	public BacktrackingSolver(NonogramModel model) {
+		this(model.getRowClueSet(), model.getColClueSet());
+	}
+	
+	/**
+	 * Constructs a BacktrackingSolver for the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 */
+	public BacktrackingSolver(int[][] rowClues, int[][] colClues) {
+		this(ClueSet.of(rowClues), ClueSet.of(colClues));
+	}
+	
+	/**
+	 * Constructs a BacktrackingSolver for the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 */
+	public BacktrackingSolver(ClueSet rowClues, ClueSet colClues) {
+		this(rowClues, colClues, new LineCache(LineCache.DEFAULT_CAPACITY));
+	}
+	
+	/**
+	 * Constructs a BacktrackingSolver for the given clues that shares a 
+	 * cache of lines solved by a DpLineSolver. The cache must not be one
+	 * that a LineSolver fills, such as the cache of a LogicSolver, since
+	 * the two solvers deduce different cells from the same line.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param lineCache	cache of solved lines, or null for none
+	 */
+	public BacktrackingSolver(ClueSet rowClues, ClueSet colClues, LineCache lineCache) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.lineCache = lineCache;
+	}
+	
+	/**
+	 * Returns the cache of solved lines used by the search.
+	 * 
+	 * @return	the line cache, or null if the solver has none
+	 */
+	public LineCache getLineCache() {
+		return this.lineCache;
+	}
+	
+	/**
+	 * Searches for the first solution.
+	 * 
+	 * @return	the result of the search
+	 */
+	public SearchResult solve() {
+		return solve(1);
+	}
+	
+	/**
+	 * Searches until the given number of solutions has been found or the
+	 * search tree is exhausted. Asking for two solutions proves whether
+	 * the solution is unique.
+	 * 
+	 * @param maxSolutions	number of solutions after which to stop
+	 * @return	the result of the search
+	 */
+	public SearchResult solve(int maxSolutions) {
+		return solve(maxSolutions, Long.MAX_VALUE, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Searches until the given number of solutions has been found, the
+	 * search tree is exhausted, or the search budget runs out. The budget
+	 * is checked before each search node.
+	 * 
+	 * @param maxSolutions	number of solutions after which to stop
+	 * @param maxNodes	number of nodes after which to give up
+	 * @param maxNanos	time in nanoseconds after which to give up
+	 * @return	the result of the search
+	 */
+	public SearchResult solve(int maxSolutions, long maxNodes, long maxNanos) {
+		return solve(null, maxSolutions, maxNodes, maxNanos);
+	}
+	
+	/**
+	 * Searches on from a partial grid, such as the grid left by a 
+	 * LogicSolver, until the given number of solutions has been found, the
+	 * search tree is exhausted, or the search budget runs out. Every known
+	 * cell of the grid must agree with every solution, as cells deduced by
+	 * line logic do. The grid is not changed.
+	 * 
+	 * @param grid	partial grid to start from, or null for all unknown
+	 * @param maxSolutions	number of solutions after which to stop
+	 * @param maxNodes	number of nodes after which to give up
+	 * @param maxNanos	time in nanoseconds after which to give up
+	 * @return	the result of the search
+	 */
+	public SearchResult solve(Grid grid, int maxSolutions, long maxNodes, long maxNanos) {
+		long start = System.nanoTime();
+		this.solutions = new ArrayList<>();
+		this.maxSolutions = maxSolutions;
+		this.maxNodes = maxNodes;
+		this.deadline = maxNanos == Long.MAX_VALUE ? Long.MAX_VALUE : start + maxNanos;
+		this.limitReached = false;
+		this.numNodes = 0;
+		this.maxDepth = 0;
+		
+		boolean stopped = search(new SearchState(this.rowClues, this.colClues, this.lineCache, 
+				grid), 0);
+		return new SearchResult(this.solutions, !stopped, this.limitReached, this.numNodes, 
+				this.maxDepth, System.nanoTime() - start);
+	}
+	
+	private boolean search(SearchState state, int depth) {
+		if (this.numNodes >= this.maxNodes || System.nanoTime() > this.deadline) {
+			this.limitReached = true;
+			return true;
+		}
+		++this.numNodes;
+		this.maxDepth = Math.max(this.maxDepth, depth);
+		if (!state.propagate()) {
+			return false;
+		}
+		
+		// every line was checked while propagating, so a full grid is a solution
+		int cell = state.probe();
+		if (cell == SearchState.NO_SOLUTION) {
+			return false;
+		}
+		if (cell < 0) {
+			this.solutions.add(new Grid(state.getGrid()));
+			return this.solutions.size() >= this.maxSolutions;
+		}
+		
+		// try both values of the chosen cell, the more deciding one first
+		int rowIdx = cell / state.getNumCols();
+		int colIdx = cell % state.getNumCols();
+		int mark = state.mark();
+		byte first = state.getGuessValue();
+		byte second = first == Grid.FILLED ? Grid.EMPTY : Grid.FILLED;
+		for (byte value : new byte[] {first, second}) {
+			state.assign(rowIdx, colIdx, value);
+			if (search(state, depth + 1)) {
+				return true;
+			}
+			state.undo(mark);
+		}
+		return false;
+	}
+
+}
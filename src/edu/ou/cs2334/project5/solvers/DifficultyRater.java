@@ -0,0 +1,530 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.DifficultyRating.Tier;
+import edu.ou.cs2334.project5.solvers.UniquenessResult.Verdict;
+/**
+ * Rates how hard puzzles are by solving them the way a person would. The
+ * LogicSolver runs first; whenever it stalls, one sweep of complete line
+ * deductions with the DpLineSolver tries to get it going again. If cells
+ * are still unknown after that, the puzzle needs guessing and the 
+ * BacktrackingSolver, starting from the cells deduced so far, measures 
+ * the size of the search tree.
+ * 
+ * <p>The score adds one point per sweep, a few points for each kind of
+ * deduction beyond the overlap rule, and a large penalty plus a term 
+ * growing with the logarithm of the search tree for guessing. Ratings are
+ * cached under a hash of the clues, so rating the same puzzle again costs
+ * only the hash; a rating whose search ran out of time is not cached. The
+ * rater is thread-safe.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class DifficultyRater {
+	
+	/** Default number of search nodes after which guessing stops counting. */
+	public static final long DEFAULT_MAX_NODES = 10000;
+	
+	/** 
+	 * Default search time after which guessing stops counting: none, so a
+	 * rating does not depend on how fast or busy the machine is. 
+	 */
+	public static final long DEFAULT_MAX_MILLIS = UniquenessChecker.NO_TIME_LIMIT;
+	
+	/** Lowest score of a MEDIUM puzzle. */
+	public static final double MEDIUM_SCORE = 10;
+	
+	/** Lowest score of a HARD puzzle. */
+	public static final double HARD_SCORE = 25;
+	
+	/** Lowest score of an EXPERT puzzle. */
+	public static final double EXPERT_SCORE = 50;
+	
+	private static final double GAP_WEIGHT = 2;
+	private static final double BOUNDARY_WEIGHT = 4;
+	private static final double COMPLETE_LINE_WEIGHT = HARD_SCORE;
+	private static final double GUESSING_WEIGHT = EXPERT_SCORE;
+	private static final double NODE_WEIGHT = 5;
+	
+	private static final String CACHE_SEPARATOR = "\t";
+	private static final int CACHE_FIELDS = 12;
+	
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	private final long maxNodes;
+	private final long maxMillis;
+	private final Map<String, DifficultyRating> cache = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	/**
+	 * Constructs a DifficultyRater with the default search budget.
+	 */
+	public DifficultyRater() {
+		this(DEFAULT_MAX_NODES, DEFAULT_MAX_MILLIS);
+	}
+	
+	/**
+	 * Constructs a DifficultyRater.
+	 * 
+	 * @param maxNodes	number of search nodes after which guessing stops 
+	 * 			counting
+	 * @param maxMillis	search time after which guessing stops counting, or
+	 * 			UniquenessChecker.NO_TIME_LIMIT
+	 */
+	public DifficultyRater(long maxNodes, long maxMillis) {
+		this.maxNodes = maxNodes;
+		this.maxMillis = maxMillis;
+	}
+	
+	/**
+	 * Rates the clues of a model.
+	 * 
+	 * @param model	model providing the row and column clues
+	 * @return	the rating
+	 */
+	public DifficultyRating rate(NonogramModel model) {
+		return rate(model.getRowClueSet(), model.getColClueSet());
+	}
+	
+	/**
+	 * Rates the given clues, or returns their cached rating.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	the rating
+	 */
+	public DifficultyRating rate(ClueSet rowClues, ClueSet colClues) {
+		String hash = contentHash(rowClues, colClues);
+		DifficultyRating rating = this.cache.get(hash);
+		if (rating != null) {
+			this.hits.increment();
+			return rating;
+		}
+		this.misses.increment();
+		
+		// two threads may rate the same puzzle at once; both get equal ratings
+		rating = compute(hash, rowClues, colClues);
+		if (rating.getVerdict() == Verdict.UNDECIDED && rating.getNumNodes() < this.maxNodes) {
+			// the time ran out, which another run may not repeat, so keep nothing
+			return rating;
+		}
+		DifficultyRating previous = this.cache.putIfAbsent(hash, rating);
+		return previous == null ? rating : previous;
+	}
+	
+	/**
+	 * Rates puzzle files on the common pool. A file that cannot be read 
+	 * gets a null rating.
+	 * 
+	 * @param paths	puzzle files to be rated
+	 * @return	the ratings, in the order of the files
+	 */
+	public List<DifficultyRating> rateAll(List<Path> paths) {
+		return rateAll(paths, ForkJoinPool.commonPool(), null);
+	}
+	
+	/**
+	 * Rates puzzle files in parallel. Each task reads the clues of its own
+	 * file, so only the files being rated are in memory at once. A file 
+	 * that cannot be read gets a null rating, and its error is put into 
+	 * the given map.
+	 * 
+	 * @param paths	puzzle files to be rated
+	 * @param pool	pool running the rating tasks
+	 * @param errors	map receiving the error of every file that cannot be
+	 * 			read, or null
+	 * @return	the ratings, in the order of the files
+	 */
+	public List<DifficultyRating> rateAll(List<Path> paths, ForkJoinPool pool, 
+			Map<Path, Exception> errors) {
+		if (paths.isEmpty()) {
+			return Collections.emptyList();
+		}
+		DifficultyRating[] ratings = new DifficultyRating[paths.size()];
+		Exception[] failures = new Exception[paths.size()];
+		pool.invoke(new RateTask(paths, ratings, failures, 0, ratings.length));
+		if (errors != null) {
+			for (int i = 0; i < failures.length; ++i) {
+				if (failures[i] != null) {
+					errors.put(paths.get(i), failures[i]);
+				}
+			}
+		}
+		return new ArrayList<>(Arrays.asList(ratings));
+	}
+	
+	/**
+	 * Reads the clues of a puzzle file and rates them, or returns their
+	 * cached rating.
+	 * 
+	 * @param path	puzzle file in the text or binary format
+	 * @return	the rating
+	 * @throws IOException	if the file cannot be read
+	 */
+	public DifficultyRating rate(Path path) throws IOException {
+		// only the clues are read; rating never needs the cells
+		ClueSet[] clues;
+		try (InputStream in = Files.newInputStream(path)) {
+			clues = NonogramModel.readClues(in);
+		}
+		return rate(clues[0], clues[1]);
+	}
+	
+	/**
+	 * Returns the number of cached ratings.
+	 * 
+	 * @return	size of the cache
+	 */
+	public int getCacheSize() {
+		return this.cache.size();
+	}
+	
+	/**
+	 * Returns the number of ratings answered from the cache.
+	 * 
+	 * @return	number of cache hits
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+	
+	/**
+	 * Returns the number of ratings that had to be computed.
+	 * 
+	 * @return	number of cache misses
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+	
+	/**
+	 * Removes every rating from the cache. The counters are kept.
+	 */
+	public void clearCache() {
+		this.cache.clear();
+	}
+	
+	/**
+	 * Writes every cached rating to a file, one tab-separated line each, so
+	 * a later run can load them instead of rating the puzzles again.
+	 * 
+	 * @param path	file to write to
+	 * @throws IOException	if the file cannot be written
+	 */
+	public void saveCache(Path path) throws IOException {
+		try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			for (DifficultyRating rating : this.cache.values()) {
+				out.write(String.join(CACHE_SEPARATOR, rating.getContentHash(), 
+						Integer.toString(rating.getNumRows()), 
+						Integer.toString(rating.getNumCols()), 
+						Integer.toString(rating.getNumSweeps()), 
+						Integer.toString(rating.getTechniques()), 
+						Boolean.toString(rating.isGuessingRequired()), 
+						Long.toString(rating.getNumNodes()), 
+						Integer.toString(rating.getMaxDepth()), 
+						rating.getVerdict().name(), 
+						Double.toString(rating.getScore()), 
+						rating.getTier().name(), 
+						Long.toString(rating.getElapsedNanos())));
+				out.newLine();
+			}
+		}
+	}
+	
+	/**
+	 * Adds the ratings saved by {@link #saveCache} to the cache. Ratings 
+	 * already cached are kept.
+	 * 
+	 * @param path	file to read from
+	 * @return	number of ratings read
+	 * @throws IOException	if the file cannot be read or a line is malformed
+	 */
+	public int loadCache(Path path) throws IOException {
+		int numRatings = 0;
+		try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] fields = line.split(CACHE_SEPARATOR);
+				if (fields.length != CACHE_FIELDS) {
+					throw new IOException("malformed rating: " + line);
+				}
+				DifficultyRating rating;
+				try {
+					rating = new DifficultyRating(fields[0], Integer.parseInt(fields[1]), 
+							Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), 
+							Integer.parseInt(fields[4]), Boolean.parseBoolean(fields[5]), 
+							Long.parseLong(fields[6]), Integer.parseInt(fields[7]), 
+							Verdict.valueOf(fields[8]), Double.parseDouble(fields[9]), 
+							Tier.valueOf(fields[10]), Long.parseLong(fields[11]));
+				}
+				catch (IllegalArgumentException e) {
+					// also catches NumberFormatException
+					throw new IOException("malformed rating: " + line, e);
+				}
+				this.cache.putIfAbsent(rating.getContentHash(), rating);
+				++numRatings;
+			}
+		}
+		return numRatings;
+	}
+	
+	/**
+	 * Returns the hash ratings are cached under: the SHA-256 of the 
+	 * dimensions and of every clue, in hexadecimal. Puzzles with the same 
+	 * clues have the same hash whatever file they came from.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	the content hash
+	 */
+	public static String contentHash(ClueSet rowClues, ClueSet colClues) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 2);
+		buffer.putInt(rowClues.getNumLines()).putInt(colClues.getNumLines());
+		digest.update(buffer.array());
+		updateDigest(digest, rowClues);
+		updateDigest(digest, colClues);
+		
+		byte[] bytes = digest.digest();
+		char[] hex = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; ++i) {
+			hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+			hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+		}
+		return new String(hex);
+	}
+	
+	private static void updateDigest(MessageDigest digest, ClueSet clues) {
+		for (int i = 0; i < clues.getNumLines(); ++i) {
+			// the size separates the lines, so {1, 1} {2} differs from {1} {1, 2}
+			ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (clues.size(i) + 1));
+			buffer.putInt(clues.size(i));
+			for (int j = 0; j < clues.size(i); ++j) {
+				buffer.putInt(clues.get(i, j));
+			}
+			digest.update(buffer.array());
+		}
+	}
+	
+	private DifficultyRating compute(String hash, ClueSet rowClues, ClueSet colClues) {
+		long start = System.nanoTime();
+		int numRows = rowClues.getNumLines();
+		int numCols = colClues.getNumLines();
+		Grid grid = new Grid(numRows, numCols);
+		// the two solvers deduce different cells, so each gets its own cache
+		LineCache lineCache = new LineCache(LineCache.DEFAULT_CAPACITY);
+		LogicSolver logic = new LogicSolver(rowClues, colClues, lineCache);
+		LineCache dpCache = new LineCache(LineCache.DEFAULT_CAPACITY);
+		DpLineSolver dpSolver = new DpLineSolver(Math.max(numRows, numCols), dpCache);
+		byte[] line = new byte[Math.max(numRows, numCols)];
+		
+		int numSweeps = 0;
+		int techniques = 0;
+		SolveResult.Status status;
+		while (true) {
+			SolveResult result = logic.solve(grid);
+			numSweeps += result.getSweeps().size();
+			for (Sweep sweep : result.getSweeps()) {
+				techniques |= sweep.getTechniques();
+			}
+			status = result.getStatus();
+			if (status != SolveResult.Status.STALLED) {
+				break;
+			}
+			
+			// complete line deductions may give the LineSolver more to work with
+			int changed = sweepCompleteLines(grid, rowClues, colClues, dpSolver, line);
+			if (changed == LineSolver.CONTRADICTION) {
+				status = SolveResult.Status.CONTRADICTION;
+				break;
+			}
+			if (changed == 0) {
+				break;
+			}
+			++numSweeps;
+			techniques |= DifficultyRating.COMPLETE_LINE;
+		}
+		
+		boolean guessing = status == SolveResult.Status.STALLED;
+		long numNodes = 0;
+		int maxDepth = 0;
+		Verdict verdict;
+		if (status == SolveResult.Status.SOLVED) {
+			verdict = Verdict.UNIQUE;
+		}
+		else if (status == SolveResult.Status.CONTRADICTION) {
+			verdict = Verdict.NO_SOLUTION;
+		}
+		else {
+			// line logic only deduces what every solution shares, so search on from it
+			SearchResult search = new BacktrackingSolver(rowClues, colClues, dpCache)
+					.solve(grid, 2, this.maxNodes, TimeUnit.MILLISECONDS.toNanos(this.maxMillis));
+			numNodes = search.getNumNodes();
+			maxDepth = search.getMaxDepth();
+			if (search.getNumSolutions() >= 2) {
+				verdict = Verdict.MULTIPLE;
+			}
+			else if (search.isLimitReached()) {
+				verdict = Verdict.UNDECIDED;
+			}
+			else {
+				verdict = search.isSolved() ? Verdict.UNIQUE : Verdict.NO_SOLUTION;
+			}
+		}
+		
+		double score = score(numSweeps, techniques, guessing, numNodes);
+		return new DifficultyRating(hash, numRows, numCols, numSweeps, techniques, guessing, 
+				numNodes, maxDepth, verdict, score, tierOf(score), System.nanoTime() - start);
+	}
+	
+	/**
+	 * Runs the DpLineSolver once over every row and every column of the 
+	 * grid, writing the deduced cells back.
+	 * 
+	 * @return	number of cells deduced, or LineSolver.CONTRADICTION
+	 */
+	private static int sweepCompleteLines(Grid grid, ClueSet rowClues, ClueSet colClues, 
+			DpLineSolver dpSolver, byte[] line) {
+		int numRows = grid.getNumRows();
+		int numCols = grid.getNumCols();
+		int total = 0;
+		for (int row = 0; row < numRows; ++row) {
+			grid.readRow(row, line);
+			int changed = dpSolver.solve(rowClues, row, line, numCols);
+			if (changed == LineSolver.CONTRADICTION) {
+				return changed;
+			}
+			if (changed > 0) {
+				for (int col = 0; col < numCols; ++col) {
+					grid.set(row, col, line[col]);
+				}
+				total += changed;
+			}
+		}
+		for (int col = 0; col < numCols; ++col) {
+			grid.readCol(col, line);
+			int changed = dpSolver.solve(colClues, col, line, numRows);
+			if (changed == LineSolver.CONTRADICTION) {
+				return changed;
+			}
+			if (changed > 0) {
+				for (int row = 0; row < numRows; ++row) {
+					grid.set(row, col, line[row]);
+				}
+				total += changed;
+			}
+		}
+		return total;
+	}
+	
+	private static double score(int numSweeps, int techniques, boolean guessing, 
+			long numNodes) {
+		double score = numSweeps;
+		if ((techniques & LineSolver.GAP) != 0) {
+			score += GAP_WEIGHT;
+		}
+		if ((techniques & LineSolver.BOUNDARY) != 0) {
+			score += BOUNDARY_WEIGHT;
+		}
+		if ((techniques & DifficultyRating.COMPLETE_LINE) != 0) {
+			score += COMPLETE_LINE_WEIGHT;
+		}
+		if (guessing) {
+			score += GUESSING_WEIGHT + NODE_WEIGHT * Math.log(1 + numNodes) / Math.log(2);
+		}
+		return score;
+	}
+	
+	/**
+	 * Returns the tier of a score.
+	 * 
+	 * @param score	difficulty score
+	 * @return	the tier the score falls into
+	 */
+	public static Tier tierOf(double score) {
+		if (score >= EXPERT_SCORE) {
+			return Tier.EXPERT;
+		}
+		if (score >= HARD_SCORE) {
+			return Tier.HARD;
+		}
+		return score >= MEDIUM_SCORE ? Tier.MEDIUM : Tier.EASY;
+	}
+	
+	/**
+	 * Rates the files of a range of indices, splitting the range in half
+	 * until one file is left.
+	 */
+	private final class RateTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final List<Path> paths;
+		private final DifficultyRating[] ratings;
+		private final Exception[] failures;
+		private final int from;
+		private final int to;
+		
+		RateTask(List<Path> paths, DifficultyRating[] ratings, Exception[] failures, 
+				int from, int to) {
+			this.paths = paths;
+			this.ratings = ratings;
+			this.failures = failures;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				try {
+					this.ratings[this.from] = rate(this.paths.get(this.from));
+				}
+				catch (IOException | RuntimeException e) {
+					// malformed files fail with a PuzzleFormatException, an 
+					// IOException; runtime exceptions are kept per file as well
+					this.failures[this.from] = e;
+				}
+				return;
+			}
+			int mid = (this.from + this.to) >>> 1;
+			invokeAll(new RateTask(this.paths, this.ratings, this.failures, this.from, mid), 
+					new RateTask(this.paths, this.ratings, this.failures, mid, this.to));
+		}
+	}
+
+}
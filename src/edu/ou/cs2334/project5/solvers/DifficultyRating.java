@@ -0,0 +1,215 @@
+package edu.ou.cs2334.project5.solvers;
+
+import edu.ou.cs2334.project5.solvers.UniquenessResult.Verdict;
+/**
+ * Holds how hard a puzzle is to solve by hand, as measured by the
+ * DifficultyRater: how much line logic it takes, which deductions are 
+ * needed, and whether and how much guessing is required.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class DifficultyRating {
+	
+	/**
+	 * Technique flag for cells deduced only by trying every placement of a
+	 * line's blocks, which the overlap, gap, and boundary rules of the 
+	 * LineSolver miss.
+	 */
+	public static final int COMPLETE_LINE = 8;
+	
+	/**
+	 * Groups ratings by their score. Complete line deductions always rate 
+	 * at least HARD and guessing always rates EXPERT.
+	 */
+	public enum Tier {
+		
+		/**
+		 * Solved by line logic in a few sweeps.
+		 */
+		EASY, 
+		
+		/**
+		 * Solved by line logic over more sweeps, usually with gap and 
+		 * boundary deductions.
+		 */
+		MEDIUM, 
+		
+		/**
+		 * Solved by line logic over many sweeps or with complete line 
+		 * deductions.
+		 */
+		HARD, 
+		
+		/**
+		 * Cannot be solved without guessing.
+		 */
+		EXPERT;
+	}
+	
+	private final String contentHash;
+	private final int numRows;
+	private final int numCols;
+	private final int numSweeps;
+	private final int techniques;
+	private final boolean guessing;
+	private final long numNodes;
+	private final int maxDepth;
+	private final Verdict verdict;
+	private final double score;
+	private final Tier tier;
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructs a DifficultyRating.
+	 * 
+	 * @param contentHash	hash of the clues of the puzzle
+	 * @param numRows	number of rows of the puzzle
+	 * @param numCols	number of columns of the puzzle
+	 * @param numSweeps	number of line logic sweeps that made progress
+	 * @param techniques	technique flags of the deductions used
+	 * @param guessing	whether line logic left cells unknown
+	 * @param numNodes	number of search nodes visited after line logic
+	 * @param maxDepth	deepest number of nested guesses
+	 * @param verdict	how many solutions the clues have
+	 * @param score	difficulty score
+	 * @param tier	tier of the score
+	 * @param elapsedNanos	time taken by the rater in nanoseconds
+	 */
+	public DifficultyRating(String contentHash, int numRows, int numCols, int numSweeps, 
+			int techniques, boolean guessing, long numNodes, int maxDepth, Verdict verdict, 
+			double score, Tier tier, long elapsedNanos) {
+		this.contentHash = contentHash;
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.numSweeps = numSweeps;
+		this.techniques = techniques;
+		this.guessing = guessing;
+		this.numNodes = numNodes;
+		this.maxDepth = maxDepth;
+		this.verdict = verdict;
+		this.score = score;
+		this.tier = tier;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns the hash of the clues the rating is cached under.
+	 * 
+	 * @return	hexadecimal SHA-256 of the clues
+	 */
+	public String getContentHash() {
+		return this.contentHash;
+	}
+	
+	/**
+	 * Returns the number of rows of the puzzle.
+	 * 
+	 * @return	number of rows
+	 */
+	public int getNumRows() {
+		return this.numRows;
+	}
+	
+	/**
+	 * Returns the number of columns of the puzzle.
+	 * 
+	 * @return	number of columns
+	 */
+	public int getNumCols() {
+		return this.numCols;
+	}
+	
+	/**
+	 * Returns the number of line logic sweeps that made progress, counting
+	 * sweeps of both the LineSolver and the complete line deductions.
+	 * 
+	 * @return	number of sweeps
+	 */
+	public int getNumSweeps() {
+		return this.numSweeps;
+	}
+	
+	/**
+	 * Returns the deductions needed by line logic.
+	 * 
+	 * @return	a combination of the LineSolver technique flags and 
+	 * 			COMPLETE_LINE
+	 */
+	public int getTechniques() {
+		return this.techniques;
+	}
+	
+	/**
+	 * Indicates whether the puzzle needs guessing, that is whether line 
+	 * logic left cells unknown.
+	 * 
+	 * @return	true if guessing is required
+	 */
+	public boolean isGuessingRequired() {
+		return this.guessing;
+	}
+	
+	/**
+	 * Returns the size of the search tree explored after line logic.
+	 * 
+	 * @return	number of search nodes, 0 if no guessing is required
+	 */
+	public long getNumNodes() {
+		return this.numNodes;
+	}
+	
+	/**
+	 * Returns the deepest number of nested guesses.
+	 * 
+	 * @return	the search depth, 0 if no guessing is required
+	 */
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+	
+	/**
+	 * Returns how many solutions the clues have. Ratings of puzzles that 
+	 * are not UNIQUE should not be trusted.
+	 * 
+	 * @return	the verdict
+	 */
+	public Verdict getVerdict() {
+		return this.verdict;
+	}
+	
+	/**
+	 * Returns the difficulty score. Higher scores are harder.
+	 * 
+	 * @return	the score
+	 */
+	public double getScore() {
+		return this.score;
+	}
+	
+	/**
+	 * Returns the tier of the score.
+	 * 
+	 * @return	the tier
+	 */
+	public Tier getTier() {
+		return this.tier;
+	}
+	
+	/**
+	 * Returns the time taken to rate the puzzle.
+	 * 
+	 * @return	elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%s %.1f (%dx%d, %d sweeps, techniques %d, %s)", this.tier, 
+				this.score, this.numRows, this.numCols, this.numSweeps, this.techniques, 
+				this.guessing ? this.numNodes + " search nodes" : "no guessing");
+	}
+
+}
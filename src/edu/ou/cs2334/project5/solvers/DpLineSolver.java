@@ -0,0 +1,274 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Arrays;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+/**
+ * Solves a single line completely. For every cell it determines whether
+ * some placement of the blocks consistent with the known cells fills it and
+ * whether some placement leaves it empty; cells with only one possibility
+ * are deduced. Runs in O(length + blocks * slack) time, where the slack is
+ * how far the blocks can shift, using a prefix table and a suffix table of
+ * partial placements, and finds every cell that the overlap, gap, and 
+ * boundary rules of the LineSolver find and more.
+ * 
+ * <p>A solver may be given a LineCache, in which case a line whose blocks
+ * and known cells were solved before is answered from the cache.
+ * 
+ * <p>Instances keep their work buffers between calls and are not
+ * thread-safe.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class DpLineSolver {
+	
+	private final LineCache cache;
+	private int capacity;
+	private int[] blocks;
+	private int[] minStarts;
+	private int[] emptyCounts;
+	private int[] filledCounts;
+	private boolean[] prefix;
+	private boolean[] suffix;
+	private int[] fillCover;
+	private boolean[] canBeEmpty;
+	
+	/**
+	 * Constructs a DpLineSolver for lines of up to the given length.
+	 * 
+	 * @param maxLength	length of the longest line that will be solved
+	 */
+	public DpLineSolver(int maxLength) {
+		this(maxLength, null);
+	}
+	
+	/**
+	 * Constructs a DpLineSolver for lines of up to the given length that 
+	 * looks lines up in a cache before solving them. Solvers working on the
+	 * same thread may share one cache.
+	 * 
+	 * @param maxLength	length of the longest line that will be solved
+	 * @param cache	cache of solved lines, or null for none
+	 */
+	public DpLineSolver(int maxLength, LineCache cache) {
+		this.cache = cache;
+		ensureCapacity(maxLength);
+	}
+	
+	/**
+	 * Returns the cache of solved lines.
+	 * 
+	 * @return	the cache, or null if the solver has none
+	 */
+	public LineCache getCache() {
+		return this.cache;
+	}
+	
+	/**
+	 * Deduces every cell of the line that has the same value in all 
+	 * placements consistent with the known cells, and writes them into the
+	 * line.
+	 * 
+	 * @param blocks	block lengths of the line (see {@link LineSolver#toBlocks})
+	 * @param line	cells of the line using the Grid cell values
+	 * @param length	number of cells in the line
+	 * @return	number of cells deduced, or LineSolver.CONTRADICTION
+	 */
+	public int solve(int[] blocks, byte[] line, int length) {
+		if (LineSolver.minimumSpan(blocks) > length) {
+			return LineSolver.CONTRADICTION;
+		}
+		if (length > this.capacity) {
+			ensureCapacity(length);
+		}
+		return solveBlocks(blocks, blocks.length, line, length);
+	}
+	
+	/**
+	 * Deduces every cell of one line of a ClueSet that has the same value in
+	 * all placements consistent with the known cells, and writes them into
+	 * the line.
+	 * 
+	 * @param clues	clues of all rows or all columns
+	 * @param lineIdx	index of the line within the clues
+	 * @param line	cells of the line using the Grid cell values
+	 * @param length	number of cells in the line
+	 * @return	number of cells deduced, or LineSolver.CONTRADICTION
+	 */
+	public int solve(ClueSet clues, int lineIdx, byte[] line, int length) {
+		if (clues.getMinimumSpan(lineIdx) > length) {
+			return LineSolver.CONTRADICTION;
+		}
+		if (length > this.capacity) {
+			ensureCapacity(length);
+		}
+		int numBlocks = clues.copyBlocks(lineIdx, this.blocks);
+		return solveBlocks(this.blocks, numBlocks, line, length);
+	}
+	
+	private int solveBlocks(int[] blocks, int numBlocks, byte[] line, int length) {
+		if (this.cache == null) {
+			return deduce(blocks, numBlocks, line, length);
+		}
+		int changed = this.cache.lookup(blocks, numBlocks, line, length);
+		if (changed == LineCache.MISS) {
+			changed = deduce(blocks, numBlocks, line, length);
+			this.cache.store(line, length, changed, 0);
+		}
+		return changed;
+	}
+	
+	private int deduce(int[] blocks, int numBlocks, byte[] line, int length) {
+		if (!analyze(blocks, numBlocks, line, length)) {
+			return LineSolver.CONTRADICTION;
+		}
+		
+		// keep the cells that have only one possible value
+		int changed = 0;
+		int cover = 0;
+		for (int i = 0; i < length; ++i) {
+			cover += this.fillCover[i];
+			if (line[i] != Grid.UNKNOWN) {
+				continue;
+			}
+			boolean canBeFilled = cover > 0;
+			if (canBeFilled && !this.canBeEmpty[i]) {
+				line[i] = Grid.FILLED;
+				++changed;
+			}
+			else if (!canBeFilled && this.canBeEmpty[i]) {
+				line[i] = Grid.EMPTY;
+				++changed;
+			}
+		}
+		return changed;
+	}
+	
+	private boolean analyze(int[] blocks, int numBlocks, byte[] line, int length) {
+		int width = length + 1;
+		int[] emptyCounts = this.emptyCounts;
+		int[] filledCounts = this.filledCounts;
+		int[] minStarts = this.minStarts;
+		boolean[] prefix = this.prefix;
+		boolean[] suffix = this.suffix;
+		
+		// running counts make "no empty cell in a range" an O(1) check
+		emptyCounts[0] = 0;
+		filledCounts[0] = 0;
+		for (int p = 0; p < length; ++p) {
+			emptyCounts[p + 1] = emptyCounts[p] + (line[p] == Grid.EMPTY ? 1 : 0);
+			filledCounts[p + 1] = filledCounts[p] + (line[p] == Grid.FILLED ? 1 : 0);
+		}
+		
+		// block j can only start within slack cells of its left-most start,
+		// so each table row only needs the cells in that window
+		minStarts[0] = 0;
+		for (int j = 1; j <= numBlocks; ++j) {
+			minStarts[j] = minStarts[j - 1] + blocks[j - 1] + 1;
+		}
+		int slack = length - Math.max(0, minStarts[numBlocks] - 1);
+		
+		// prefix[j][p]: blocks 0..j-1 fit into [0, p) covering its filled cells
+		for (int p = 0; p <= length; ++p) {
+			prefix[p] = filledCounts[p] == 0;
+		}
+		for (int j = 1; j <= numBlocks; ++j) {
+			int block = blocks[j - 1];
+			int row = j * width;
+			int before = row - width - 1;
+			int from = minStarts[j] - 1;
+			int to = Math.min(length, from + slack);
+			boolean fits = false;
+			for (int p = from; p <= to; ++p) {
+				// either cell p - 1 is empty or block j - 1 ends at p
+				int start = p - block;
+				boolean skip = fits && line[p - 1] != Grid.FILLED;
+				boolean end = emptyCounts[p] == emptyCounts[start] 
+						&& (j == 1 ? filledCounts[start] == 0 
+								: line[start - 1] != Grid.FILLED && prefix[before + start]);
+				fits = skip || end;
+				prefix[row + p] = fits;
+			}
+		}
+		if (!prefix[numBlocks * width + length]) {
+			return false;
+		}
+		
+		// suffix[j][p]: blocks j.. fit into [p, length) covering its filled cells
+		int last = numBlocks * width;
+		for (int p = 0; p <= length; ++p) {
+			suffix[last + p] = filledCounts[length] == filledCounts[p];
+		}
+		for (int j = numBlocks - 1; j >= 0; --j) {
+			int block = blocks[j];
+			int row = j * width;
+			int after = row + width + 1;
+			int from = minStarts[j];
+			int to = from + slack;
+			boolean fits = false;
+			for (int p = to; p >= from; --p) {
+				// either cell p is empty or block j starts at p
+				int end = p + block;
+				boolean skip = fits && line[p] != Grid.FILLED;
+				boolean start = emptyCounts[end] == emptyCounts[p] 
+						&& (j == numBlocks - 1 ? filledCounts[length] == filledCounts[end] 
+								: line[end] != Grid.FILLED && suffix[after + end]);
+				fits = skip || start;
+				suffix[row + p] = fits;
+			}
+		}
+		
+		// a cell can be empty if the blocks split around it, where the gap 
+		// before block j lies within slack cells of its left-most position
+		boolean[] canBeEmpty = this.canBeEmpty;
+		Arrays.fill(canBeEmpty, 0, length, false);
+		for (int j = 0; j <= numBlocks; ++j) {
+			int row = j * width;
+			int from = Math.max(0, minStarts[j] - 1);
+			int to = Math.min(length - 1, minStarts[j] - 1 + slack);
+			for (int i = from; i <= to; ++i) {
+				if (line[i] != Grid.FILLED && prefix[row + i] && suffix[row + i + 1]) {
+					canBeEmpty[i] = true;
+				}
+			}
+		}
+		
+		// a cell can be filled if a valid placement of some block covers it
+		int[] fillCover = this.fillCover;
+		Arrays.fill(fillCover, 0, length + 1, 0);
+		for (int j = 0; j < numBlocks; ++j) {
+			int block = blocks[j];
+			int before = j * width - 1;
+			int after = (j + 1) * width + 1;
+			int from = minStarts[j];
+			for (int s = from; s <= from + slack; ++s) {
+				int e = s + block;
+				if (emptyCounts[e] == emptyCounts[s]
+						&& (j == 0 ? filledCounts[s] == 0 
+								: line[s - 1] != Grid.FILLED && prefix[before + s])
+						&& (j == numBlocks - 1 ? filledCounts[length] == filledCounts[e] 
+								: line[e] != Grid.FILLED && suffix[after + e])) {
+					++fillCover[s];
+					--fillCover[e];
+				}
+			}
+		}
+		return true;
+	}
+	
+	private void ensureCapacity(int length) {
+		// a line of n cells holds at most (n + 1) / 2 blocks
+		int maxBlocks = (length + 1) / 2;
+		this.capacity = length;
+		this.blocks = new int[maxBlocks];
+		this.minStarts = new int[maxBlocks + 1];
+		this.emptyCounts = new int[length + 1];
+		this.filledCounts = new int[length + 1];
+		this.prefix = new boolean[(maxBlocks + 1) * (length + 1)];
+		this.suffix = new boolean[(maxBlocks + 1) * (length + 1)];
+		this.fillCover = new int[length + 1];
+		this.canBeEmpty = new boolean[length];
+	}
+
+}
@@ -0,0 +1,105 @@
+package edu.ou.cs2334.project5.solvers;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Holds a puzzle made by the PuzzleGenerator: the clues, the one grid that
+ * satisfies them, and how much work it took to find.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class GeneratedPuzzle {
+	
+	private final int[][] rowClues;
+	private final int[][] colClues;
+	private final Grid solution;
+	private final int numAttempts;
+	private final int numMutations;
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructs a GeneratedPuzzle.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param solution	the only grid satisfying the clues
+	 * @param numAttempts	number of random grids started from
+	 * @param numMutations	number of cells flipped over all attempts
+	 * @param elapsedNanos	time taken by the generator in nanoseconds
+	 */
+	public GeneratedPuzzle(int[][] rowClues, int[][] colClues, Grid solution, 
+			int numAttempts, int numMutations, long elapsedNanos) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.solution = solution;
+		this.numAttempts = numAttempts;
+		this.numMutations = numMutations;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns the clues of the rows.
+	 * 
+	 * @return	the row clues
+	 */
+	public int[][] getRowClues() {
+		return this.rowClues;
+	}
+	
+	/**
+	 * Returns the clues of the columns.
+	 * 
+	 * @return	the column clues
+	 */
+	public int[][] getColClues() {
+		return this.colClues;
+	}
+	
+	/**
+	 * Returns the only grid satisfying the clues.
+	 * 
+	 * @return	the solution
+	 */
+	public Grid getSolution() {
+		return this.solution;
+	}
+	
+	/**
+	 * Returns the number of random grids the generator started from. Each
+	 * attempt after the first began once the previous one ran out of 
+	 * mutations.
+	 * 
+	 * @return	number of attempts
+	 */
+	public int getNumAttempts() {
+		return this.numAttempts;
+	}
+	
+	/**
+	 * Returns the number of cells flipped to make the clues unique.
+	 * 
+	 * @return	number of mutations over all attempts
+	 */
+	public int getNumMutations() {
+		return this.numMutations;
+	}
+	
+	/**
+	 * Returns the time taken by the generator.
+	 * 
+	 * @return	elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+	
+	/**
+	 * Creates a model with the clues of the puzzle and no cells set.
+	 * 
+	 * @return	a new model
+	 */
+	public NonogramModel toModel() {
+		return new NonogramModel(this.rowClues, this.colClues);
+	}
+
+}
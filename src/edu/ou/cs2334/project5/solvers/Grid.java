@@ -0,0 +1,203 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Arrays;
+
+import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Stores the partial solution a solver works on. Every cell is unknown,
+ * filled, or empty and is kept as one byte in a row-major array.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class Grid {
+	
+	/**
+	 * Cell value for a cell that has not been deduced yet.
+	 */
+	public static final byte UNKNOWN = 0;
+	
+	/**
+	 * Cell value for a cell that must be filled.
+	 */
+	public static final byte FILLED = 1;
+	
+	/**
+	 * Cell value for a cell that must stay empty.
+	 */
+	public static final byte EMPTY = 2;
+	
+	private final int numRows;
+	private final int numCols;
+	private final byte[] cells;
+	
+	/**
+	 * Constructs a grid of unknown cells.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 */
+	public Grid(int numRows, int numCols) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.cells = new byte[numRows * numCols];
+	}
+	
+	/**
+	 * Constructs a copy of the given grid.
+	 * 
+	 * @param other	grid to be copied
+	 */
+	public Grid(Grid other) {
+		this.numRows = other.numRows;
+		this.numCols = other.numCols;
+		this.cells = other.cells.clone();
+	}
+	
+	/**
+	 * Returns the number of rows in the grid.
+	 * 
+	 * @return	number of rows
+	 */
+	public int getNumRows() {
+		return this.numRows;
+	}
+	
+	/**
+	 * Returns the number of columns in the grid.
+	 * 
+	 * @return	number of columns
+	 */
+	public int getNumCols() {
+		return this.numCols;
+	}
+	
+	/**
+	 * Returns the value of the cell with the given indices.
+	 * 
+	 * @param rowIdx	row index
+	 * @param colIdx	column index
+	 * @return	UNKNOWN, FILLED, or EMPTY
+	 */
+	public byte get(int rowIdx, int colIdx) {
+		return this.cells[rowIdx * this.numCols + colIdx];
+	}
+	
+	/**
+	 * Sets the value of the cell with the given indices.
+	 * 
+	 * @param rowIdx	row index
+	 * @param colIdx	column index
+	 * @param value	UNKNOWN, FILLED, or EMPTY
+	 */
+	public void set(int rowIdx, int colIdx, byte value) {
+		this.cells[rowIdx * this.numCols + colIdx] = value;
+	}
+	
+	/**
+	 * Copies a row into the given buffer.
+	 * 
+	 * @param rowIdx	row index
+	 * @param line	buffer of at least getNumCols() elements
+	 */
+	public void readRow(int rowIdx, byte[] line) {
+		System.arraycopy(this.cells, rowIdx * this.numCols, line, 0, this.numCols);
+	}
+	
+	/**
+	 * Copies a column into the given buffer.
+	 * 
+	 * @param colIdx	column index
+	 * @param line	buffer of at least getNumRows() elements
+	 */
+	public void readCol(int colIdx, byte[] line) {
+		for (int i = 0, idx = colIdx; i < this.numRows; ++i, idx += this.numCols) {
+			line[i] = this.cells[idx];
+		}
+	}
+	
+	/**
+	 * Indicates whether every cell of the grid has been deduced.
+	 * 
+	 * @return	true if no cell is unknown
+	 */
+	public boolean isComplete() {
+		for (byte cell : this.cells) {
+			if (cell == UNKNOWN) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns the number of cells that have not been deduced yet.
+	 * 
+	 * @return	number of unknown cells
+	 */
+	public int countUnknown() {
+		int count = 0;
+		for (byte cell : this.cells) {
+			if (cell == UNKNOWN) {
+				++count;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Writes the grid into a model. The model is reset first, empty cells
+	 * become MARKED, filled cells become FILLED, and unknown cells stay
+	 * EMPTY. Marks are written before fills because the model stops
+	 * accepting changes as soon as it is solved.
+	 * 
+	 * @param model	model receiving the cell states
+	 */
+	public void applyTo(NonogramModel model) {
+		model.resetCells();
+		for (int row = 0; row < this.numRows; ++row) {
+			for (int col = 0; col < this.numCols; ++col) {
+				if (get(row, col) == EMPTY) {
+					model.setCellState(row, col, CellState.MARKED);
+				}
+			}
+		}
+		for (int row = 0; row < this.numRows; ++row) {
+			for (int col = 0; col < this.numCols; ++col) {
+				if (get(row, col) == FILLED) {
+					model.setCellState(row, col, CellState.FILLED);
+				}
+			}
+		}
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Grid)) {
+			return false;
+		}
+		Grid other = (Grid) obj;
+		return this.numRows == other.numRows && this.numCols == other.numCols
+				&& Arrays.equals(this.cells, other.cells);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.cells);
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int row = 0; row < this.numRows; ++row) {
+			for (int col = 0; col < this.numCols; ++col) {
+				byte cell = get(row, col);
+				builder.append(cell == FILLED ? '#' : cell == EMPTY ? '.' : '?');
+			}
+			builder.append('\n');
+		}
+		return builder.toString();
+	}
+
+}
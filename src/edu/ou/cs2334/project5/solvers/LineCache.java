@@ -0,0 +1,288 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+/**
+ * Remembers the result of solving recent lines, keyed by the blocks of the
+ * clue and the known cells of the line, so a line state that comes up again
+ * in another row, column, or search branch is not solved again. Once the
+ * cache is full, the least recently used line is dropped.
+ * 
+ * <p>The LineSolver and the DpLineSolver deduce different cells from the
+ * same line, so a cache must only ever be given to solvers of one kind.
+ * The cache counts its hits, misses, and evictions. It is not
+ * thread-safe.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class LineCache {
+	
+	/**
+	 * Returned by {@link #lookup} when the line is not in the cache.
+	 */
+	static final int MISS = Integer.MIN_VALUE;
+	
+	/**
+	 * Number of lines kept by the caches the solvers make for themselves.
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 12;
+	
+	// cells are packed two bits each, 32 cells to a word
+	private static final int CELLS_PER_WORD = 32;
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	
+	private final int capacity;
+	private final Map<Key, Result> results;
+	private final Key probe = new Key();
+	private long hits;
+	private long misses;
+	private long evictions;
+	private int lastTechniques;
+	
+	/**
+	 * Constructs an empty LineCache.
+	 * 
+	 * @param capacity	greatest number of lines kept
+	 * @throws IllegalArgumentException	if the capacity is not positive
+	 */
+	public LineCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Cache capacity must be positive");
+		}
+		this.capacity = capacity;
+		
+		// access order moves every hit to the end, so the eldest is the LRU
+		this.results = new LinkedHashMap<Key, Result>(16, 0.75f, true) {
+			
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+				if (size() > LineCache.this.capacity) {
+					++LineCache.this.evictions;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+	
+	/**
+	 * Looks up a line. On a hit the cached cells are written into the line.
+	 * The line is remembered, so the next call to {@link #store} files its
+	 * result under it.
+	 * 
+	 * @param blocks	block lengths of the line
+	 * @param numBlocks	number of blocks used from the array
+	 * @param line	cells of the line using the Grid cell values
+	 * @param length	number of cells in the line
+	 * @return	number of cells deduced, CONTRADICTION, or MISS
+	 */
+	int lookup(int[] blocks, int numBlocks, byte[] line, int length) {
+		this.probe.set(blocks, numBlocks, line, length);
+		Result result = this.results.get(this.probe);
+		if (result == null) {
+			++this.misses;
+			return MISS;
+		}
+		++this.hits;
+		if (result.cells != null) {
+			System.arraycopy(result.cells, 0, line, 0, length);
+		}
+		this.lastTechniques = result.techniques;
+		return result.changed;
+	}
+	
+	/**
+	 * Returns the technique flags stored with the line found by the last
+	 * {@link #lookup}.
+	 * 
+	 * @return	the techniques of the last hit
+	 */
+	int getTechniques() {
+		return this.lastTechniques;
+	}
+	
+	/**
+	 * Stores the result of solving the line passed to the last
+	 * {@link #lookup}.
+	 * 
+	 * @param line	the solved cells, ignored for a contradiction
+	 * @param length	number of cells in the line
+	 * @param changed	number of cells deduced, or CONTRADICTION
+	 * @param techniques	technique flags of the solve, or 0 for none
+	 */
+	void store(byte[] line, int length, int changed, int techniques) {
+		byte[] cells = changed == LineSolver.CONTRADICTION
+				? null : Arrays.copyOf(line, length);
+		this.results.put(this.probe.copy(), new Result(cells, changed, techniques));
+	}
+	
+	/**
+	 * Removes every line from the cache. The counters are kept.
+	 */
+	public void clear() {
+		this.results.clear();
+	}
+	
+	/**
+	 * Sets the hit, miss, and eviction counters back to zero.
+	 */
+	public void resetStats() {
+		this.hits = 0;
+		this.misses = 0;
+		this.evictions = 0;
+	}
+	
+	/**
+	 * Returns the greatest number of lines kept.
+	 * 
+	 * @return	the capacity of the cache
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * Returns the number of lines currently kept.
+	 * 
+	 * @return	the size of the cache
+	 */
+	public int size() {
+		return this.results.size();
+	}
+	
+	/**
+	 * Returns the number of lookups that found their line.
+	 * 
+	 * @return	the number of hits
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+	
+	/**
+	 * Returns the number of lookups that did not find their line.
+	 * 
+	 * @return	the number of misses
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+	
+	/**
+	 * Returns the number of lines dropped to make room for newer ones.
+	 * 
+	 * @return	the number of evictions
+	 */
+	public long getEvictions() {
+		return this.evictions;
+	}
+	
+	/**
+	 * Returns the fraction of lookups that found their line.
+	 * 
+	 * @return	the hit rate from 0 to 1, or 0 before the first lookup
+	 */
+	public double getHitRate() {
+		long lookups = this.hits + this.misses;
+		return lookups == 0 ? 0 : (double) this.hits / lookups;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("LineCache[size=%d/%d, hits=%d, misses=%d, evictions=%d, "
+				+ "hitRate=%.3f]", size(), this.capacity, this.hits, this.misses,
+				this.evictions, getHitRate());
+	}
+	
+	/**
+	 * The blocks and packed cells of a line. The probe key is refilled for
+	 * every lookup, so a hit allocates nothing.
+	 */
+	private static final class Key {
+		
+		private int[] blocks = new int[0];
+		private int numBlocks;
+		private long[] cells = new long[0];
+		private int length;
+		private int hash;
+		
+		void set(int[] blocks, int numBlocks, byte[] line, int length) {
+			if (this.blocks.length < numBlocks) {
+				this.blocks = new int[numBlocks];
+			}
+			System.arraycopy(blocks, 0, this.blocks, 0, numBlocks);
+			this.numBlocks = numBlocks;
+			
+			int numWords = (length + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+			if (this.cells.length < numWords) {
+				this.cells = new long[numWords];
+			}
+			Arrays.fill(this.cells, 0, numWords, 0);
+			for (int i = 0; i < length; ++i) {
+				this.cells[i / CELLS_PER_WORD] |=
+						(long) line[i] << (2 * (i % CELLS_PER_WORD));
+			}
+			this.length = length;
+			
+			int h = length;
+			for (int j = 0; j < numBlocks; ++j) {
+				h = 31 * h + blocks[j];
+			}
+			
+			// Long.hashCode would fold cell i onto cell i + 16, so lines that
+			// differ by such a pair would collide; mix the whole word instead
+			for (int w = 0; w < numWords; ++w) {
+				h = 31 * h + (int) ((this.cells[w] * HASH_MULTIPLIER) >>> 32);
+			}
+			this.hash = h;
+		}
+		
+		Key copy() {
+			Key key = new Key();
+			key.blocks = Arrays.copyOf(this.blocks, this.numBlocks);
+			key.numBlocks = this.numBlocks;
+			key.cells = Arrays.copyOf(this.cells,
+					(this.length + CELLS_PER_WORD - 1) / CELLS_PER_WORD);
+			key.length = this.length;
+			key.hash = this.hash;
+			return key;
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			int numWords = (this.length + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+			return this.hash == other.hash && this.length == other.length
+					&& this.numBlocks == other.numBlocks
+					&& Arrays.equals(this.blocks, 0, this.numBlocks,
+							other.blocks, 0, other.numBlocks)
+					&& Arrays.equals(this.cells, 0, numWords, other.cells, 0, numWords);
+		}
+	}
+	
+	private static final class Result {
+		
+		private final byte[] cells;
+		private final int changed;
+		private final int techniques;
+		
+		Result(byte[] cells, int changed, int techniques) {
+			this.cells = cells;
+			this.changed = changed;
+			this.techniques = techniques;
+		}
+	}
+
+}
@@ -0,0 +1,344 @@
+package edu.ou.cs2334.project5.solvers;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+/**
+ * Deduces cells of a single line from its clue using the left-most and
+ * right-most placements of the clue's blocks. A cell covered by a block in
+ * both placements must be filled (overlap), a cell no block can reach must
+ * be empty (gap), and a block whose placements agree is bounded by empty
+ * cells (boundary).
+ * 
+ * <p>A solver may be given a LineCache, in which case a line whose blocks
+ * and known cells were solved before is answered from the cache. Instances
+ * keep their work buffers between calls and are not thread-safe.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class LineSolver {
+	
+	/**
+	 * Returned by {@link #solve} when the line cannot match its clue.
+	 */
+	public static final int CONTRADICTION = -1;
+	
+	/**
+	 * Technique flag for cells filled because both placements of a block
+	 * cover them.
+	 */
+	public static final int OVERLAP = 1;
+	
+	/**
+	 * Technique flag for cells emptied because no block can reach them.
+	 */
+	public static final int GAP = 2;
+	
+	/**
+	 * Technique flag for cells emptied next to a block whose position is
+	 * fixed.
+	 */
+	public static final int BOUNDARY = 4;
+	
+	private static final int[] NO_BLOCKS = new int[0];
+	
+	private int capacity;
+	private int[] emptyCounts;
+	private int[] filledCounts;
+	private int[] maxStarts;
+	private boolean[] canPlace;
+	private byte[] reversed;
+	private int[] blocks;
+	private int[] reversedBlocks;
+	private int[] leftStarts;
+	private int[] rightStarts;
+	private int techniques;
+	private final LineCache cache;
+	
+	/**
+	 * Constructs a LineSolver for lines of up to the given length.
+	 * 
+	 * @param maxLength	length of the longest line that will be solved
+	 */
+	public LineSolver(int maxLength) {
+		this(maxLength, null);
+	}
+	
+	/**
+	 * Constructs a LineSolver for lines of up to the given length that 
+	 * looks lines up in a cache before solving them. Solvers working on the
+	 * same thread may share one cache.
+	 * 
+	 * @param maxLength	length of the longest line that will be solved
+	 * @param cache	cache of solved lines, or null for none
+	 */
+	public LineSolver(int maxLength, LineCache cache) {
+		this.cache = cache;
+		ensureCapacity(maxLength);
+	}
+	
+	/**
+	 * Returns the cache of solved lines.
+	 * 
+	 * @return	the cache, or null if the solver has none
+	 */
+	public LineCache getCache() {
+		return this.cache;
+	}
+	
+	/**
+	 * Returns the blocks described by a clue. The clue 0 describes a line 
+	 * without blocks.
+	 * 
+	 * @param clue	clue as stored by the model
+	 * @return	the block lengths of the clue
+	 */
+	public static int[] toBlocks(int[] clue) {
+		if (clue.length == 1 && clue[0] == 0) {
+			return NO_BLOCKS;
+		}
+		return clue;
+	}
+	
+	/**
+	 * Deduces as many cells of the line as the left-most/right-most
+	 * placements allow and writes them into the line.
+	 * 
+	 * @param blocks	block lengths of the line (see {@link #toBlocks})
+	 * @param line	cells of the line using the Grid cell values
+	 * @param length	number of cells in the line
+	 * @return	number of cells deduced, or CONTRADICTION
+	 */
+	public int solve(int[] blocks, byte[] line, int length) {
+		this.techniques = 0;
+		if (minimumSpan(blocks) > length) {
+			return CONTRADICTION;
+		}
+		if (length > this.capacity) {
+			ensureCapacity(length);
+		}
+		return solveBlocks(blocks, blocks.length, line, length);
+	}
+	
+	/**
+	 * Deduces as many cells of one line of a ClueSet as the 
+	 * left-most/right-most placements allow and writes them into the line.
+	 * 
+	 * @param clues	clues of all rows or all columns
+	 * @param lineIdx	index of the line within the clues
+	 * @param line	cells of the line using the Grid cell values
+	 * @param length	number of cells in the line
+	 * @return	number of cells deduced, or CONTRADICTION
+	 */
+	public int solve(ClueSet clues, int lineIdx, byte[] line, int length) {
+		this.techniques = 0;
+		if (clues.getMinimumSpan(lineIdx) > length) {
+			return CONTRADICTION;
+		}
+		if (length > this.capacity) {
+			ensureCapacity(length);
+		}
+		int numBlocks = clues.copyBlocks(lineIdx, this.blocks);
+		return solveBlocks(this.blocks, numBlocks, line, length);
+	}
+	
+	private int solveBlocks(int[] blocks, int numBlocks, byte[] line, int length) {
+		if (this.cache == null) {
+			return repeatDeduce(blocks, numBlocks, line, length);
+		}
+		int changed = this.cache.lookup(blocks, numBlocks, line, length);
+		if (changed == LineCache.MISS) {
+			changed = repeatDeduce(blocks, numBlocks, line, length);
+			this.cache.store(line, length, changed, this.techniques);
+		}
+		else {
+			this.techniques = this.cache.getTechniques();
+		}
+		return changed;
+	}
+	
+	private int repeatDeduce(int[] blocks, int numBlocks, byte[] line, int length) {
+		// new cells can tighten the placements, so repeat until nothing changes
+		int total = 0;
+		int changed;
+		do {
+			changed = deduce(blocks, numBlocks, line, length);
+			if (changed == CONTRADICTION) {
+				return CONTRADICTION;
+			}
+			total += changed;
+		} while (changed > 0);
+		
+		return total;
+	}
+	
+	/**
+	 * Returns the techniques that deduced at least one cell during the last
+	 * call to {@link #solve}.
+	 * 
+	 * @return	a combination of OVERLAP, GAP, and BOUNDARY
+	 */
+	public int getTechniques() {
+		return this.techniques;
+	}
+	
+	private int deduce(int[] blocks, int numBlocks, byte[] line, int length) {
+		// find the left-most placement
+		if (!placeLeftMost(blocks, numBlocks, line, length, this.leftStarts)) {
+			return CONTRADICTION;
+		}
+		
+		// the right-most placement is the left-most one of the reversed line
+		for (int i = 0; i < length; ++i) {
+			this.reversed[i] = line[length - 1 - i];
+		}
+		for (int j = 0; j < numBlocks; ++j) {
+			this.reversedBlocks[j] = blocks[numBlocks - 1 - j];
+		}
+		placeLeftMost(this.reversedBlocks, numBlocks, this.reversed, length, 
+				this.rightStarts);
+		for (int j = 0; j < numBlocks / 2; ++j) {
+			int tmp = this.rightStarts[j];
+			this.rightStarts[j] = this.rightStarts[numBlocks - 1 - j];
+			this.rightStarts[numBlocks - 1 - j] = tmp;
+		}
+		for (int j = 0; j < numBlocks; ++j) {
+			this.rightStarts[j] = length - this.rightStarts[j] - blocks[j];
+		}
+		
+		int changed = 0;
+		int reach = 0;
+		for (int j = 0; j < numBlocks; ++j) {
+			int left = this.leftStarts[j];
+			int right = this.rightStarts[j];
+			
+			// cells no block can reach before this block are empty
+			changed += fill(line, length, reach, left, Grid.EMPTY, GAP);
+			
+			// cells covered by both placements are filled
+			changed += fill(line, length, right, left + blocks[j], Grid.FILLED, OVERLAP);
+			
+			// a block that cannot move is surrounded by empty cells
+			if (left == right) {
+				changed += fill(line, length, left - 1, left, Grid.EMPTY, BOUNDARY);
+				changed += fill(line, length, left + blocks[j], left + blocks[j] + 1, 
+						Grid.EMPTY, BOUNDARY);
+			}
+			reach = Math.max(reach, right + blocks[j]);
+		}
+		changed += fill(line, length, reach, length, Grid.EMPTY, GAP);
+		
+		return changed;
+	}
+	
+	private int fill(byte[] line, int length, int from, int to, byte value, 
+			int technique) {
+		int changed = 0;
+		for (int i = Math.max(0, from); i < to && i < length; ++i) {
+			if (line[i] == Grid.UNKNOWN) {
+				line[i] = value;
+				++changed;
+			}
+		}
+		if (changed > 0) {
+			this.techniques |= technique;
+		}
+		return changed;
+	}
+	
+	/**
+	 * Returns the fewest cells the given blocks can occupy, counting one 
+	 * empty cell between neighboring blocks.
+	 * 
+	 * @param blocks	block lengths of a line
+	 * @return	minimum number of cells needed to place the blocks
+	 */
+	public static int minimumSpan(int[] blocks) {
+		int span = Math.max(0, blocks.length - 1);
+		for (int block : blocks) {
+			span += block;
+		}
+		return span;
+	}
+	
+	private boolean placeLeftMost(int[] blocks, int numBlocks, byte[] line, 
+			int length, int[] starts) {
+		// running counts of empty and filled cells in line[0, p)
+		this.emptyCounts[0] = 0;
+		this.filledCounts[0] = 0;
+		for (int p = 0; p < length; ++p) {
+			this.emptyCounts[p + 1] = this.emptyCounts[p] 
+					+ (line[p] == Grid.EMPTY ? 1 : 0);
+			this.filledCounts[p + 1] = this.filledCounts[p] 
+					+ (line[p] == Grid.FILLED ? 1 : 0);
+		}
+		
+		// block j can only start between the blocks before it and the blocks
+		// after it, so only that window of the table is computed
+		int minStart = 0;
+		for (int j = 0; j < numBlocks; ++j) {
+			minStart += blocks[j] + 1;
+		}
+		int maxStart = length + 1;
+		
+		// canPlace(j, p): blocks j.. fit into line[p, length) and cover 
+		// every filled cell there
+		int width = length + 1;
+		for (int j = numBlocks - 1; j >= 0; --j) {
+			minStart -= blocks[j] + 1;
+			maxStart -= blocks[j] + 1;
+			this.maxStarts[j] = maxStart;
+			for (int p = maxStart; p >= minStart; --p) {
+				boolean skip = line[p] != Grid.FILLED && canPlace(j, numBlocks, width, p + 1);
+				boolean place = fits(blocks[j], line, length, p)
+						&& canPlace(j + 1, numBlocks, width, Math.min(p + blocks[j] + 1, length));
+				this.canPlace[j * width + p] = skip || place;
+			}
+		}
+		if (!canPlace(0, numBlocks, width, 0)) {
+			return false;
+		}
+		
+		// greedily take the first feasible start of each block
+		int p = 0;
+		for (int j = 0; j < numBlocks; ++j) {
+			while (!(fits(blocks[j], line, length, p) 
+					&& canPlace(j + 1, numBlocks, width, Math.min(p + blocks[j] + 1, length)))) {
+				++p;
+			}
+			starts[j] = p;
+			p = Math.min(p + blocks[j] + 1, length);
+		}
+		return true;
+	}
+	
+	private boolean fits(int block, byte[] line, int length, int p) {
+		int end = p + block;
+		return end <= length
+				&& this.emptyCounts[end] == this.emptyCounts[p]
+				&& (end == length || line[end] != Grid.FILLED);
+	}
+	
+	private boolean canPlace(int j, int numBlocks, int width, int p) {
+		if (j == numBlocks) {
+			// no blocks are left, so no filled cell may follow
+			return this.filledCounts[width - 1] == this.filledCounts[p];
+		}
+		return p <= this.maxStarts[j] && this.canPlace[j * width + p];
+	}
+	
+	private void ensureCapacity(int length) {
+		// a line of n cells holds at most (n + 1) / 2 blocks
+		int maxBlocks = (length + 1) / 2;
+		this.capacity = length;
+		this.emptyCounts = new int[length + 1];
+		this.filledCounts = new int[length + 1];
+		this.maxStarts = new int[maxBlocks];
+		this.canPlace = new boolean[(maxBlocks + 1) * (length + 1)];
+		this.reversed = new byte[length];
+		this.blocks = new int[maxBlocks];
+		this.reversedBlocks = new int[maxBlocks];
+		this.leftStarts = new int[maxBlocks];
+		this.rightStarts = new int[maxBlocks];
+	}
+
+}
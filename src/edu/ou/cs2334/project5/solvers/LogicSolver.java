@@ -0,0 +1,179 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Solves a nonogram with line logic only. Each sweep runs the LineSolver
+ * over every row that changed since it was last solved, then over every
+ * column that changed, until no line makes progress.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class LogicSolver {
+	
+	private final ClueSet rowClues;
+	private final ClueSet colClues;
+	private final int numRows;
+	private final int numCols;
+	private final LineSolver lineSolver;
+	private final byte[] line;
+	private final byte[] before;
+	
+	/**
+	 * Constructs a LogicSolver for the clues of the given model.
+	 * 
+	 * @param model	model providing the row and column clues
+	 */
+	public LogicSolver(NonogramModel model) {
+		this(model.getRowClueSet(), model.getColClueSet());
+	}
+	
+	/**
+	 * Constructs a LogicSolver for the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 */
+	public LogicSolver(int[][] rowClues, int[][] colClues) {
+		this(ClueSet.of(rowClues), ClueSet.of(colClues));
+	}
+	
+	/**
+	 * Constructs a LogicSolver for the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 */
+	public LogicSolver(ClueSet rowClues, ClueSet colClues) {
+		this(rowClues, colClues, null);
+	}
+	
+	/**
+	 * Constructs a LogicSolver for the given clues whose LineSolver looks
+	 * lines up in the given cache before solving them.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param cache	cache of solved lines, or null for none
+	 */
+	public LogicSolver(ClueSet rowClues, ClueSet colClues, LineCache cache) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.numRows = rowClues.getNumLines();
+		this.numCols = colClues.getNumLines();
+		
+		int maxLength = Math.max(this.numRows, this.numCols);
+		this.lineSolver = new LineSolver(maxLength, cache);
+		this.line = new byte[maxLength];
+		this.before = new byte[maxLength];
+	}
+	
+	/**
+	 * Solves the clues starting from a grid of unknown cells.
+	 * 
+	 * @return	the result of the solve
+	 */
+	public SolveResult solve() {
+		return solve(new Grid(this.numRows, this.numCols));
+	}
+	
+	/**
+	 * Deduces as many cells of the given grid as line logic allows. The grid
+	 * is updated in place.
+	 * 
+	 * @param grid	partial solution to continue from
+	 * @return	the result of the solve
+	 */
+	public SolveResult solve(Grid grid) {
+		long start = System.nanoTime();
+		List<Sweep> sweeps = new ArrayList<>();
+		boolean[] dirtyRows = new boolean[this.numRows];
+		boolean[] dirtyCols = new boolean[this.numCols];
+		Arrays.fill(dirtyRows, true);
+		Arrays.fill(dirtyCols, true);
+		
+		boolean dirty = true;
+		while (dirty) {
+			int[] progressRows = new int[this.numRows];
+			int[] progressCols = new int[this.numCols];
+			int numProgressRows = 0;
+			int numProgressCols = 0;
+			int numCellsSolved = 0;
+			int techniques = 0;
+			
+			// rows first; their changes mark columns dirty
+			for (int row = 0; row < this.numRows; ++row) {
+				if (!dirtyRows[row]) {
+					continue;
+				}
+				dirtyRows[row] = false;
+				grid.readRow(row, this.line);
+				System.arraycopy(this.line, 0, this.before, 0, this.numCols);
+				int changed = this.lineSolver.solve(this.rowClues, row, this.line, this.numCols);
+				if (changed == LineSolver.CONTRADICTION) {
+					return finish(SolveResult.Status.CONTRADICTION, grid, sweeps, start);
+				}
+				if (changed > 0) {
+					for (int col = 0; col < this.numCols; ++col) {
+						if (this.line[col] != this.before[col]) {
+							grid.set(row, col, this.line[col]);
+							dirtyCols[col] = true;
+						}
+					}
+					progressRows[numProgressRows++] = row;
+					numCellsSolved += changed;
+					techniques |= this.lineSolver.getTechniques();
+				}
+			}
+			
+			// then columns; their changes mark rows dirty for the next sweep
+			for (int col = 0; col < this.numCols; ++col) {
+				if (!dirtyCols[col]) {
+					continue;
+				}
+				dirtyCols[col] = false;
+				grid.readCol(col, this.line);
+				System.arraycopy(this.line, 0, this.before, 0, this.numRows);
+				int changed = this.lineSolver.solve(this.colClues, col, this.line, this.numRows);
+				if (changed == LineSolver.CONTRADICTION) {
+					return finish(SolveResult.Status.CONTRADICTION, grid, sweeps, start);
+				}
+				if (changed > 0) {
+					for (int row = 0; row < this.numRows; ++row) {
+						if (this.line[row] != this.before[row]) {
+							grid.set(row, col, this.line[row]);
+							dirtyRows[row] = true;
+						}
+					}
+					progressCols[numProgressCols++] = col;
+					numCellsSolved += changed;
+					techniques |= this.lineSolver.getTechniques();
+				}
+			}
+			
+			// stop once a sweep makes no progress
+			dirty = numCellsSolved > 0;
+			if (dirty) {
+				sweeps.add(new Sweep(
+						Arrays.copyOf(progressRows, numProgressRows),
+						Arrays.copyOf(progressCols, numProgressCols),
+						numCellsSolved, techniques));
+			}
+		}
+		
+		SolveResult.Status status = grid.isComplete() 
+				? SolveResult.Status.SOLVED : SolveResult.Status.STALLED;
+		return finish(status, grid, sweeps, start);
+	}
+	
+	private static SolveResult finish(SolveResult.Status status, Grid grid, 
+			List<Sweep> sweeps, long start) {
+		return new SolveResult(status, grid, sweeps, System.nanoTime() - start);
+	}
+
+}
@@ -0,0 +1,261 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Runs the same search as {@link BacktrackingSolver} on a ForkJoinPool.
+ * Near the root of the search tree the two values of a guessed cell are
+ * searched as separate tasks, each with its own copy of the search state,
+ * so idle workers can steal them. Below the fork depth a task searches
+ * sequentially. The tasks of one solve share a context holding the
+ * solutions, the counters, and a cancellation flag that is raised once
+ * enough solutions have been found, so one solver may run several solves
+ * at once. Each forked copy gets a line cache a quarter of the default
+ * size, since a subtree brings back fewer line states than the whole
+ * search.
+ *
+ * @author emmas
+ * @version 0.1
+ */
+public class ParallelSolver {
+
+	private final ClueSet rowClues;
+	private final ClueSet colClues;
+	private final ForkJoinPool pool;
+	private final int forkDepth;
+
+	// number of lines kept by the cache of each forked search state
+	private static final int FORK_CACHE_CAPACITY = LineCache.DEFAULT_CAPACITY / 4;
+
+	/**
+	 * Constructs a ParallelSolver for the clues of the given model that runs
+	 * on the common pool.
+	 *
+	 * @param model	model providing the row and column clues
+	 */
+	public ParallelSolver(NonogramModel model) {
+		this(model, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a ParallelSolver for the clues of the given model that runs
+	 * on the given pool. The clues are shared with the model, not copied.
+	 *
+	 * @param model	model providing the row and column clues
+	 * @param pool	pool running the search tasks
+	 */
+	public ParallelSolver(NonogramModel model, ForkJoinPool pool) {
+		this(model.getRowClueSet(), model.getColClueSet(), pool);
+	}
+
+	/**
+	 * Constructs a ParallelSolver for the given clues. Guesses are forked
+	 * until there are about eight tasks per worker of the pool.
+	 *
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param pool	pool running the search tasks
+	 */
+	public ParallelSolver(int[][] rowClues, int[][] colClues, ForkJoinPool pool) {
+		this(ClueSet.of(rowClues), ClueSet.of(colClues), pool);
+	}
+
+	/**
+	 * Constructs a ParallelSolver for the given clues. Guesses are forked
+	 * until there are about eight tasks per worker of the pool.
+	 *
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param pool	pool running the search tasks
+	 */
+	public ParallelSolver(ClueSet rowClues, ClueSet colClues, ForkJoinPool pool) {
+		this(rowClues, colClues, pool,
+				32 - Integer.numberOfLeadingZeros(pool.getParallelism()) + 3);
+	}
+
+	/**
+	 * Constructs a ParallelSolver for the given clues.
+	 *
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param pool	pool running the search tasks
+	 * @param forkDepth	number of guesses after which tasks stop forking
+	 */
+	public ParallelSolver(int[][] rowClues, int[][] colClues, ForkJoinPool pool,
+			int forkDepth) {
+		this(ClueSet.of(rowClues), ClueSet.of(colClues), pool, forkDepth);
+	}
+
+	/**
+	 * Constructs a ParallelSolver for the given clues.
+	 *
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param pool	pool running the search tasks
+	 * @param forkDepth	number of guesses after which tasks stop forking
+	 */
+	public ParallelSolver(ClueSet rowClues, ClueSet colClues, ForkJoinPool pool,
+			int forkDepth) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.pool = pool;
+		this.forkDepth = forkDepth;
+	}
+
+	/**
+	 * Searches for the first solution.
+	 *
+	 * @return	the result of the search
+	 */
+	public SearchResult solve() {
+		return solve(1);
+	}
+
+	/**
+	 * Searches until the given number of solutions has been found or the
+	 * search tree is exhausted. Which solutions are found first depends on
+	 * the scheduling of the tasks.
+	 *
+	 * @param maxSolutions	number of solutions after which to stop
+	 * @return	the result of the search
+	 */
+	public SearchResult solve(int maxSolutions) {
+		long start = System.nanoTime();
+		SolveContext context = new SolveContext(maxSolutions);
+		this.pool.invoke(new SearchTask(context,
+				new SearchState(this.rowClues, this.colClues), 0));
+		return new SearchResult(context.solutions, !context.cancelled.get(),
+				context.numNodes.sum(), context.maxDepth.get(), System.nanoTime() - start);
+	}
+
+	/**
+	 * Solves the clues and writes the first solution into the given model.
+	 *
+	 * @param model	model receiving the cell states
+	 * @return	true if a solution was found and written
+	 */
+	public boolean solveInto(NonogramModel model) {
+		SearchResult result = solve();
+		if (!result.isSolved()) {
+			return false;
+		}
+		result.applyTo(model);
+		return true;
+	}
+
+	/**
+	 * Holds the state of one solve, shared by all of its tasks.
+	 */
+	private static final class SolveContext {
+
+		private final List<Grid> solutions = new ArrayList<>();
+		private final int maxSolutions;
+		private final AtomicBoolean cancelled = new AtomicBoolean();
+		private final LongAdder numNodes = new LongAdder();
+		private final AtomicInteger maxDepth = new AtomicInteger();
+
+		SolveContext(int maxSolutions) {
+			this.maxSolutions = maxSolutions;
+		}
+
+		void addSolution(Grid grid) {
+			synchronized (this.solutions) {
+				if (this.solutions.size() < this.maxSolutions) {
+					this.solutions.add(new Grid(grid));
+				}
+				if (this.solutions.size() >= this.maxSolutions) {
+					this.cancelled.set(true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Searches the subtree below one search state.
+	 */
+	private class SearchTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final SolveContext context;
+		private final SearchState state;
+		private final int depth;
+
+		SearchTask(SolveContext context, SearchState state, int depth) {
+			this.context = context;
+			this.state = state;
+			this.depth = depth;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.depth >= ParallelSolver.this.forkDepth) {
+				search(this.state, this.depth);
+				return;
+			}
+
+			int cell = visit(this.state, this.depth);
+			if (cell < 0) {
+				return;
+			}
+
+			// search the more deciding value here and the other on a copy
+			int rowIdx = cell / this.state.getNumCols();
+			int colIdx = cell % this.state.getNumCols();
+			byte first = this.state.getGuessValue();
+			SearchState copy = new SearchState(this.state, new LineCache(FORK_CACHE_CAPACITY));
+			this.state.assign(rowIdx, colIdx, first);
+			copy.assign(rowIdx, colIdx, first == Grid.FILLED ? Grid.EMPTY : Grid.FILLED);
+			invokeAll(new SearchTask(this.context, this.state, this.depth + 1),
+					new SearchTask(this.context, copy, this.depth + 1));
+		}
+
+		private void search(SearchState state, int depth) {
+			int cell = visit(state, depth);
+			if (cell < 0) {
+				return;
+			}
+			int rowIdx = cell / state.getNumCols();
+			int colIdx = cell % state.getNumCols();
+			int mark = state.mark();
+			byte first = state.getGuessValue();
+			byte second = first == Grid.FILLED ? Grid.EMPTY : Grid.FILLED;
+			for (byte value : new byte[] {first, second}) {
+				state.assign(rowIdx, colIdx, value);
+				search(state, depth + 1);
+				state.undo(mark);
+			}
+		}
+
+		/**
+		 * Propagates a search node and chooses its guess.
+		 *
+		 * @return	the cell to guess, or a negative value if the node is done
+		 */
+		private int visit(SearchState state, int depth) {
+			if (this.context.cancelled.get()) {
+				return -1;
+			}
+			this.context.numNodes.increment();
+			this.context.maxDepth.accumulateAndGet(depth, Math::max);
+			if (!state.propagate()) {
+				return -1;
+			}
+			int cell = state.probe();
+			if (cell == -1) {
+				this.context.addSolution(state.getGrid());
+			}
+			return cell;
+		}
+
+	}
+
+}
@@ -0,0 +1,333 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Generates random puzzles that have exactly one solution. A random grid
+ * of the target density is projected to its clues and checked. While the
+ * clues are ambiguous, one of the cells they leave open is flipped, 
+ * preferably an empty one, and only its row and column are projected 
+ * again, so each attempt works its way towards a unique puzzle instead of
+ * starting over. An attempt that runs out of mutations starts again from 
+ * a new random grid.
+ * 
+ * <p>A puzzle the LogicSolver solves is always accepted. Otherwise the 
+ * cells it leaves unknown are the open ones. Unless puzzles must be solved
+ * by logic alone, a small open region is also handed to the 
+ * UniquenessChecker, which accepts the puzzle or narrows the open cells to
+ * those where its two solutions differ.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class PuzzleGenerator {
+	
+	/** Default number of cells flipped before an attempt starts over. */
+	public static final int DEFAULT_MAX_MUTATIONS = 100;
+	
+	/** Default search node budget of the uniqueness checks. */
+	public static final long DEFAULT_MAX_NODES = 100;
+	
+	// filling an open cell pins it down more often than emptying one, so
+	// a filled cell is drawn again up to this many times
+	private static final int FILL_DRAWS = 3;
+	
+	// open regions larger than this fraction of the grid are not searched
+	private static final int SEARCH_FRACTION = 10;
+	
+	// spreads the seeds of the puzzles of one batch apart
+	private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+	
+	private final int numRows;
+	private final int numCols;
+	private final double density;
+	private final boolean logicOnly;
+	private final int maxMutations;
+	private final UniquenessChecker checker;
+	
+	/**
+	 * Constructs a PuzzleGenerator with the default number of mutations 
+	 * and the default search node budget.
+	 * 
+	 * @param numRows	number of rows of the puzzles
+	 * @param numCols	number of columns of the puzzles
+	 * @param density	fraction of filled cells in a new random grid
+	 * @param logicOnly	whether puzzles must be solvable by line logic alone
+	 */
+	public PuzzleGenerator(int numRows, int numCols, double density, boolean logicOnly) {
+		this(numRows, numCols, density, logicOnly, DEFAULT_MAX_MUTATIONS, 
+				DEFAULT_MAX_NODES);
+	}
+	
+	/**
+	 * Constructs a PuzzleGenerator. The uniqueness checks are limited by
+	 * search nodes only, never by time, so what the generator makes does 
+	 * not depend on the speed or load of the machine.
+	 * 
+	 * @param numRows	number of rows of the puzzles
+	 * @param numCols	number of columns of the puzzles
+	 * @param density	fraction of filled cells in a new random grid
+	 * @param logicOnly	whether puzzles must be solvable by line logic alone
+	 * @param maxMutations	number of cells flipped before an attempt starts 
+	 * 			over
+	 * @param maxNodes	number of search nodes after which a uniqueness check
+	 * 			counts the puzzle as ambiguous
+	 * @throws IllegalArgumentException	if a dimension is not positive, the 
+	 * 			density is not between 0 and 1, or maxMutations is negative
+	 */
+	public PuzzleGenerator(int numRows, int numCols, double density, boolean logicOnly, 
+			int maxMutations, long maxNodes) {
+		if (numRows <= 0 || numCols <= 0) {
+			throw new IllegalArgumentException("Puzzle dimensions must be positive");
+		}
+		if (!(density >= 0 && density <= 1)) {
+			throw new IllegalArgumentException("Density must be between 0 and 1");
+		}
+		if (maxMutations < 0) {
+			throw new IllegalArgumentException("Mutation limit must not be negative");
+		}
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.density = density;
+		this.logicOnly = logicOnly;
+		this.maxMutations = maxMutations;
+		this.checker = new UniquenessChecker(maxNodes, UniquenessChecker.NO_TIME_LIMIT);
+	}
+	
+	/**
+	 * Returns the number of rows of the puzzles.
+	 * 
+	 * @return	number of rows
+	 */
+	public int getNumRows() {
+		return this.numRows;
+	}
+	
+	/**
+	 * Returns the number of columns of the puzzles.
+	 * 
+	 * @return	number of columns
+	 */
+	public int getNumCols() {
+		return this.numCols;
+	}
+	
+	/**
+	 * Returns the fraction of filled cells in a new random grid.
+	 * 
+	 * @return	the density
+	 */
+	public double getDensity() {
+		return this.density;
+	}
+	
+	/**
+	 * Indicates whether puzzles must be solvable by line logic alone.
+	 * 
+	 * @return	true if only line logic is used
+	 */
+	public boolean isLogicOnly() {
+		return this.logicOnly;
+	}
+	
+	/**
+	 * Generates one puzzle. The generator keeps no state between calls, so
+	 * several threads may generate with it at once.
+	 * 
+	 * @param random	source of the random cells and mutations
+	 * @return	the puzzle
+	 */
+	public GeneratedPuzzle generate(Random random) {
+		long start = System.nanoTime();
+		boolean[][] cells = new boolean[this.numRows][this.numCols];
+		int[][] rowClues = new int[this.numRows][];
+		int[][] colClues = new int[this.numCols][];
+		boolean[] col = new boolean[this.numRows];
+		int[] runs = new int[NonogramModel.maxProjectionLength(
+				Math.max(this.numRows, this.numCols))];
+		int[] ambiguous = new int[this.numRows * this.numCols];
+		
+		int numAttempts = 0;
+		int numMutations = 0;
+		while (true) {
+			++numAttempts;
+			for (int row = 0; row < this.numRows; ++row) {
+				for (int c = 0; c < this.numCols; ++c) {
+					cells[row][c] = random.nextDouble() < this.density;
+				}
+				rowClues[row] = projectRow(cells, row, runs);
+			}
+			for (int c = 0; c < this.numCols; ++c) {
+				colClues[c] = projectCol(cells, c, col, runs);
+			}
+			
+			for (int mutation = 0; ; ++mutation) {
+				int numAmbiguous = findAmbiguousCells(rowClues, colClues, ambiguous);
+				if (numAmbiguous == 0) {
+					return new GeneratedPuzzle(rowClues, colClues, toGrid(cells), 
+							numAttempts, numMutations, System.nanoTime() - start);
+				}
+				if (mutation == this.maxMutations) {
+					break;
+				}
+				
+				// flip an open cell; only its row and column change their clues
+				int cell = ambiguous[random.nextInt(numAmbiguous)];
+				for (int draw = 0; draw < FILL_DRAWS 
+						&& cells[cell / this.numCols][cell % this.numCols]; ++draw) {
+					cell = ambiguous[random.nextInt(numAmbiguous)];
+				}
+				int row = cell / this.numCols;
+				int c = cell % this.numCols;
+				cells[row][c] = !cells[row][c];
+				rowClues[row] = projectRow(cells, row, runs);
+				colClues[c] = projectCol(cells, c, col, runs);
+				++numMutations;
+			}
+		}
+	}
+	
+	/**
+	 * Generates puzzles on the common pool.
+	 * 
+	 * @param count	number of puzzles
+	 * @param seed	seed from which the seed of every puzzle is derived
+	 * @return	the puzzles, in the same order for the same seed
+	 */
+	public List<GeneratedPuzzle> generate(int count, long seed) {
+		return generate(count, seed, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Generates puzzles in parallel. Every puzzle has its own Random seeded
+	 * from the batch seed and its index, and the uniqueness checks have no
+	 * time limit, so a batch does not depend on the size of the pool or on
+	 * how its tasks are scheduled.
+	 * 
+	 * @param count	number of puzzles
+	 * @param seed	seed from which the seed of every puzzle is derived
+	 * @param pool	pool running the generation tasks
+	 * @return	the puzzles, in the same order for the same seed
+	 */
+	public List<GeneratedPuzzle> generate(int count, long seed, ForkJoinPool pool) {
+		if (count <= 0) {
+			return Collections.emptyList();
+		}
+		GeneratedPuzzle[] puzzles = new GeneratedPuzzle[count];
+		pool.invoke(new GenerateTask(puzzles, seed, 0, count));
+		return new ArrayList<>(Arrays.asList(puzzles));
+	}
+	
+	/**
+	 * Finds the cells the clues leave open.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param ambiguous	buffer receiving the indices of the open cells
+	 * @return	number of open cells, 0 if the clues are unique
+	 */
+	private int findAmbiguousCells(int[][] rowClues, int[][] colClues, int[] ambiguous) {
+		ClueSet rows = ClueSet.of(rowClues);
+		ClueSet cols = ClueSet.of(colClues);
+		
+		// the clues come from a grid, so line logic can only solve or stall
+		SolveResult logic = new LogicSolver(rows, cols).solve();
+		if (logic.isSolved()) {
+			return 0;
+		}
+		int numUnknown = findDifferences(logic.getGrid(), null, ambiguous);
+		if (this.logicOnly || numUnknown > this.numRows * this.numCols / SEARCH_FRACTION) {
+			return numUnknown;
+		}
+		
+		// a small open region is worth searching for a second solution
+		UniquenessResult result = this.checker.check(rows, cols);
+		if (result.isUnique()) {
+			return 0;
+		}
+		// an undecided check falls back to the cells line logic left open
+		Grid[] witnesses = result.getWitnesses();
+		return witnesses == null ? numUnknown 
+				: findDifferences(witnesses[0], witnesses[1], ambiguous);
+	}
+	
+	/**
+	 * Collects the cells where two grids differ, or the unknown cells of one
+	 * grid when the other is null.
+	 */
+	private int findDifferences(Grid a, Grid b, int[] cells) {
+		int numCells = 0;
+		for (int row = 0; row < this.numRows; ++row) {
+			for (int col = 0; col < this.numCols; ++col) {
+				byte value = a.get(row, col);
+				if (b == null ? value == Grid.UNKNOWN : value != b.get(row, col)) {
+					cells[numCells++] = row * this.numCols + col;
+				}
+			}
+		}
+		return numCells;
+	}
+	
+	private static int[] projectRow(boolean[][] cells, int row, int[] runs) {
+		return Arrays.copyOf(runs, NonogramModel.project(cells[row], runs));
+	}
+	
+	private static int[] projectCol(boolean[][] cells, int col, boolean[] line, int[] runs) {
+		for (int row = 0; row < line.length; ++row) {
+			line[row] = cells[row][col];
+		}
+		return Arrays.copyOf(runs, NonogramModel.project(line, runs));
+	}
+	
+	private Grid toGrid(boolean[][] cells) {
+		Grid grid = new Grid(this.numRows, this.numCols);
+		for (int row = 0; row < this.numRows; ++row) {
+			for (int col = 0; col < this.numCols; ++col) {
+				grid.set(row, col, cells[row][col] ? Grid.FILLED : Grid.EMPTY);
+			}
+		}
+		return grid;
+	}
+	
+	/**
+	 * Generates the puzzles of a range of indices, splitting the range in
+	 * half until one puzzle is left.
+	 */
+	private final class GenerateTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final GeneratedPuzzle[] puzzles;
+		private final long seed;
+		private final int from;
+		private final int to;
+		
+		GenerateTask(GeneratedPuzzle[] puzzles, long seed, int from, int to) {
+			this.puzzles = puzzles;
+			this.seed = seed;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.to - this.from == 1) {
+				this.puzzles[this.from] = generate(
+						new Random(this.seed + SEED_STRIDE * this.from));
+				return;
+			}
+			int mid = (this.from + this.to) >>> 1;
+			invokeAll(new GenerateTask(this.puzzles, this.seed, this.from, mid), 
+					new GenerateTask(this.puzzles, this.seed, mid, this.to));
+		}
+	}
+
+}
@@ -0,0 +1,147 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Collections;
+import java.util.List;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Holds the outcome of a backtracking search: the solutions found and how
+ * much searching it took to find them.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class SearchResult {
+	
+	private final List<Grid> solutions;
+	private final boolean exhausted;
+	private final boolean limitReached;
+	private final long numNodes;
+	private final int maxDepth;
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructs a SearchResult.
+	 * 
+	 * @param solutions	solutions found, in the order they were found
+	 * @param exhausted	true if the whole search tree was explored
+	 * @param numNodes	number of search nodes visited
+	 * @param maxDepth	deepest number of nested guesses
+	 * @param elapsedNanos	time taken by the search in nanoseconds
+	 */
+	public SearchResult(List<Grid> solutions, boolean exhausted, long numNodes, 
+			int maxDepth, long elapsedNanos) {
+		this(solutions, exhausted, false, numNodes, maxDepth, elapsedNanos);
+	}
+	
+	/**
+	 * Constructs a SearchResult for a search that may have been cut off by
+	 * its budget.
+	 * 
+	 * @param solutions	solutions found, in the order they were found
+	 * @param exhausted	true if the whole search tree was explored
+	 * @param limitReached	true if the search gave up because its budget ran out
+	 * @param numNodes	number of search nodes visited
+	 * @param maxDepth	deepest number of nested guesses
+	 * @param elapsedNanos	time taken by the search in nanoseconds
+	 */
+	public SearchResult(List<Grid> solutions, boolean exhausted, boolean limitReached, 
+			long numNodes, int maxDepth, long elapsedNanos) {
+		this.solutions = Collections.unmodifiableList(solutions);
+		this.exhausted = exhausted;
+		this.limitReached = limitReached;
+		this.numNodes = numNodes;
+		this.maxDepth = maxDepth;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns the solutions found by the search.
+	 * 
+	 * @return	unmodifiable list of solutions
+	 */
+	public List<Grid> getSolutions() {
+		return this.solutions;
+	}
+	
+	/**
+	 * Returns the number of solutions found.
+	 * 
+	 * @return	number of solutions
+	 */
+	public int getNumSolutions() {
+		return this.solutions.size();
+	}
+	
+	/**
+	 * Indicates whether at least one solution was found.
+	 * 
+	 * @return	true if the clues were solved
+	 */
+	public boolean isSolved() {
+		return !this.solutions.isEmpty();
+	}
+	
+	/**
+	 * Indicates whether the whole search tree was explored. If not, the
+	 * search stopped early because enough solutions were found or the search
+	 * budget ran out.
+	 * 
+	 * @return	true if every possibility was checked
+	 */
+	public boolean isExhausted() {
+		return this.exhausted;
+	}
+	
+	/**
+	 * Indicates whether the search gave up because its node or time budget
+	 * ran out.
+	 * 
+	 * @return	true if the budget was reached
+	 */
+	public boolean isLimitReached() {
+		return this.limitReached;
+	}
+	
+	/**
+	 * Returns the number of search nodes visited. The root counts as one
+	 * node and every guess adds one.
+	 * 
+	 * @return	number of nodes
+	 */
+	public long getNumNodes() {
+		return this.numNodes;
+	}
+	
+	/**
+	 * Returns the deepest number of nested guesses.
+	 * 
+	 * @return	maximum search depth
+	 */
+	public int getMaxDepth() {
+		return this.maxDepth;
+	}
+	
+	/**
+	 * Returns the time taken by the search.
+	 * 
+	 * @return	elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+	
+	/**
+	 * Writes the first solution into a model (see {@link Grid#applyTo}).
+	 * 
+	 * @param model	model receiving the cell states
+	 * @throws IllegalStateException	if no solution was found
+	 */
+	public void applyTo(NonogramModel model) {
+		if (this.solutions.isEmpty()) {
+			throw new IllegalStateException("no solution was found");
+		}
+		this.solutions.get(0).applyTo(model);
+	}
+
+}
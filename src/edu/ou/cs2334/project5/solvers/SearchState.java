@@ -0,0 +1,557 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Arrays;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+/**
+ * Holds the mutable state of a backtracking search: the partial grid, a
+ * trail of the cells assigned since the search started, and a queue of the
+ * lines that still need line logic. Going back to an earlier point of the
+ * search only resets the cells on the trail instead of copying the grid.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class SearchState {
+	
+	/** Value returned by {@link #probe} when the state has no solution. */
+	static final int NO_SOLUTION = -2;
+	
+	// number of most constrained cells that are probed before each guess
+	private static final int NUM_CANDIDATES = 128;
+	
+	private final ClueSet rowClues;
+	private final ClueSet colClues;
+	private final int numRows;
+	private final int numCols;
+	private final Grid grid;
+	private final DpLineSolver lineSolver;
+	private final byte[] line;
+	private final byte[] before;
+	
+	private final int[] trail;
+	private int trailSize;
+	private final int[] rowUnknown;
+	private final int[] colUnknown;
+	private int numUnknown;
+	
+	// lines 0..numRows-1 are rows, the rest are columns
+	private final int[] queue;
+	private final boolean[] queued;
+	private int queueHead;
+	private int queueSize;
+	
+	// a probe result stays valid until a line in its bounding box changes;
+	// the clock ticks on every change made outside of a probe
+	private long clock;
+	private boolean probing;
+	private long[] rowChangedAt;
+	private long[] colChangedAt;
+	private long[] probedAt;
+	private int[] probeFilled;
+	private int[] probeEmpty;
+	private int[] probeBounds;
+	private int minRow;
+	private int maxRow;
+	private int minCol;
+	private int maxCol;
+	
+	// cells decided by the first value of a probe, to find the cells that
+	// both values decide the same way
+	private int[] seen;
+	private byte[] seenValue;
+	private int stamp;
+	private int[] common;
+	private byte[] commonValue;
+	private int numCommon;
+	
+	private int[] candidates;
+	private int[] scores;
+	private byte guessValue = Grid.FILLED;
+	
+	/**
+	 * Constructs a search state with every cell unknown and every line
+	 * queued.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 */
+	SearchState(ClueSet rowClues, ClueSet colClues) {
+		this(rowClues, colClues, new LineCache(LineCache.DEFAULT_CAPACITY));
+	}
+	
+	/**
+	 * Constructs a search state with every cell unknown and every line
+	 * queued. Line logic looks lines up in the given cache first, since
+	 * probing and backtracking bring the same line states back again and
+	 * again.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param cache	cache of lines solved by a DpLineSolver, or null for none
+	 */
+	SearchState(ClueSet rowClues, ClueSet colClues, LineCache cache) {
+		this(rowClues, colClues, cache, null);
+	}
+	
+	/**
+	 * Constructs a search state that starts from the known cells of a 
+	 * partial grid, with every line queued. The known cells are not on the
+	 * trail, so the search can never undo them.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @param cache	cache of lines solved by a DpLineSolver, or null for none
+	 * @param start	partial grid to start from, or null for all unknown
+	 */
+	SearchState(ClueSet rowClues, ClueSet colClues, LineCache cache, Grid start) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.numRows = rowClues.getNumLines();
+		this.numCols = colClues.getNumLines();
+		this.grid = new Grid(this.numRows, this.numCols);
+		int maxLength = Math.max(this.numRows, this.numCols);
+		this.lineSolver = new DpLineSolver(maxLength, cache);
+		this.line = new byte[maxLength];
+		this.before = new byte[maxLength];
+		
+		this.trail = new int[this.numRows * this.numCols];
+		this.rowUnknown = new int[this.numRows];
+		this.colUnknown = new int[this.numCols];
+		Arrays.fill(this.rowUnknown, this.numCols);
+		Arrays.fill(this.colUnknown, this.numRows);
+		this.numUnknown = this.numRows * this.numCols;
+		if (start != null) {
+			for (int row = 0; row < this.numRows; ++row) {
+				for (int col = 0; col < this.numCols; ++col) {
+					byte value = start.get(row, col);
+					if (value != Grid.UNKNOWN) {
+						this.grid.set(row, col, value);
+						--this.rowUnknown[row];
+						--this.colUnknown[col];
+						--this.numUnknown;
+					}
+				}
+			}
+		}
+		
+		int numLines = this.numRows + this.numCols;
+		this.queue = new int[numLines];
+		this.queued = new boolean[numLines];
+		for (int i = 0; i < numLines; ++i) {
+			enqueue(i);
+		}
+		allocateProbes();
+	}
+	
+	/**
+	 * Constructs an independent copy of a search state. The copy starts
+	 * with an empty trail, so it can never undo past the point it was
+	 * copied at. The copy needs a cache of its own, since a copy is usually
+	 * handed to another thread.
+	 * 
+	 * @param other	search state to be copied
+	 * @param cache	cache of lines solved by a DpLineSolver, or null for none
+	 */
+	SearchState(SearchState other, LineCache cache) {
+		this.rowClues = other.rowClues;
+		this.colClues = other.colClues;
+		this.numRows = other.numRows;
+		this.numCols = other.numCols;
+		this.grid = new Grid(other.grid);
+		this.lineSolver = new DpLineSolver(other.line.length, cache);
+		this.line = new byte[other.line.length];
+		this.before = new byte[other.line.length];
+		
+		this.trail = new int[other.trail.length];
+		this.rowUnknown = other.rowUnknown.clone();
+		this.colUnknown = other.colUnknown.clone();
+		this.numUnknown = other.numUnknown;
+		
+		this.queue = new int[other.queue.length];
+		this.queued = new boolean[other.queued.length];
+		for (int i = 0; i < other.queueSize; ++i) {
+			enqueue(other.queue[(other.queueHead + i) % other.queue.length]);
+		}
+		
+		// the copy probes again from scratch
+		allocateProbes();
+	}
+	
+	private void allocateProbes() {
+		int numCells = this.numRows * this.numCols;
+		this.rowChangedAt = new long[this.numRows];
+		this.colChangedAt = new long[this.numCols];
+		this.probedAt = new long[numCells];
+		Arrays.fill(this.probedAt, -1);
+		this.probeFilled = new int[numCells];
+		this.probeEmpty = new int[numCells];
+		this.probeBounds = new int[4 * numCells];
+		this.seen = new int[numCells];
+		this.seenValue = new byte[numCells];
+		this.common = new int[numCells];
+		this.commonValue = new byte[numCells];
+		this.candidates = new int[NUM_CANDIDATES];
+		this.scores = new int[NUM_CANDIDATES];
+	}
+	
+	/**
+	 * Returns the partial grid.
+	 * 
+	 * @return	the grid being searched
+	 */
+	Grid getGrid() {
+		return this.grid;
+	}
+	
+	/**
+	 * Returns the number of cells that are still unknown.
+	 * 
+	 * @return	number of unknown cells
+	 */
+	int getNumUnknown() {
+		return this.numUnknown;
+	}
+	
+	/**
+	 * Returns the current length of the trail, which can later be passed
+	 * to {@link #undo}.
+	 * 
+	 * @return	the trail mark
+	 */
+	int mark() {
+		return this.trailSize;
+	}
+	
+	/**
+	 * Sets an unknown cell, records it on the trail, and queues its row and
+	 * column.
+	 * 
+	 * @param rowIdx	row index
+	 * @param colIdx	column index
+	 * @param value	FILLED or EMPTY
+	 */
+	void assign(int rowIdx, int colIdx, byte value) {
+		record(rowIdx, colIdx, value);
+		enqueue(rowIdx);
+		enqueue(this.numRows + colIdx);
+	}
+	
+	private void record(int rowIdx, int colIdx, byte value) {
+		touch(rowIdx, colIdx);
+		this.grid.set(rowIdx, colIdx, value);
+		this.trail[this.trailSize++] = rowIdx * this.numCols + colIdx;
+		--this.rowUnknown[rowIdx];
+		--this.colUnknown[colIdx];
+		--this.numUnknown;
+	}
+	
+	/**
+	 * Resets every cell assigned after the given trail mark to unknown and
+	 * clears the line queue.
+	 * 
+	 * @param mark	trail length returned by {@link #mark}
+	 */
+	void undo(int mark) {
+		while (this.trailSize > mark) {
+			int cell = this.trail[--this.trailSize];
+			int rowIdx = cell / this.numCols;
+			int colIdx = cell % this.numCols;
+			touch(rowIdx, colIdx);
+			this.grid.set(rowIdx, colIdx, Grid.UNKNOWN);
+			++this.rowUnknown[rowIdx];
+			++this.colUnknown[colIdx];
+			++this.numUnknown;
+		}
+		while (this.queueSize > 0) {
+			this.queued[dequeue()] = false;
+		}
+	}
+	
+	/**
+	 * Runs line logic over the queued lines until the queue is empty.
+	 * 
+	 * @return	false if a line contradicts its clue, true otherwise
+	 */
+	boolean propagate() {
+		while (this.queueSize > 0) {
+			int lineIdx = dequeue();
+			this.queued[lineIdx] = false;
+			boolean isRow = lineIdx < this.numRows;
+			int idx = isRow ? lineIdx : lineIdx - this.numRows;
+			
+			// read the line and let the line solver fill in what it can
+			int length = isRow ? this.numCols : this.numRows;
+			if (isRow) {
+				this.grid.readRow(idx, this.line);
+			}
+			else {
+				this.grid.readCol(idx, this.line);
+			}
+			System.arraycopy(this.line, 0, this.before, 0, length);
+			ClueSet clues = isRow ? this.rowClues : this.colClues;
+			int changed = this.lineSolver.solve(clues, idx, this.line, length);
+			if (changed == LineSolver.CONTRADICTION) {
+				return false;
+			}
+			if (changed == 0) {
+				continue;
+			}
+			
+			// record the deduced cells; assign queues the crossing lines
+			for (int i = 0; i < length; ++i) {
+				if (this.line[i] != this.before[i]) {
+					if (isRow) {
+						record(idx, i, this.line[i]);
+						enqueue(this.numRows + i);
+					}
+					else {
+						record(i, idx, this.line[i]);
+						enqueue(i);
+					}
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Chooses the cell to guess by probing. Each of the most constrained
+	 * unknown cells is tried both ways with propagation. A cell for which
+	 * one value contradicts is set to the other value, and cells that both
+	 * values decide the same way are set to that value; either way the
+	 * probing starts over. Otherwise the cell whose two values together
+	 * decide the most cells is chosen, and {@link #getGuessValue} tells
+	 * which of its values decides more. A probe result is kept and reused
+	 * until a line in the bounding box of the cells it decided changes, so
+	 * passes and nodes further down the trail only probe again near the
+	 * cells that changed.
+	 * 
+	 * @return	row-major index of the chosen cell, -1 if no cell is unknown, 
+	 * 			or {@link #NO_SOLUTION} if a contradiction was found
+	 */
+	int probe() {
+		boolean changed = true;
+		int best = -1;
+		while (changed) {
+			changed = false;
+			int numCandidates = findCandidates(this.candidates, this.scores);
+			if (numCandidates == 0) {
+				return -1;
+			}
+			
+			best = -1;
+			long bestScore = -1;
+			for (int i = 0; i < numCandidates; ++i) {
+				int cell = this.candidates[i];
+				int rowIdx = cell / this.numCols;
+				int colIdx = cell % this.numCols;
+				if (this.grid.get(rowIdx, colIdx) != Grid.UNKNOWN) {
+					// decided by an earlier forced cell
+					continue;
+				}
+				this.numCommon = 0;
+				if (!isProbed(cell)) {
+					probeCell(rowIdx, colIdx);
+				}
+				int numFilled = this.probeFilled[cell];
+				int numEmpty = this.probeEmpty[cell];
+				if (numFilled < 0 && numEmpty < 0) {
+					return NO_SOLUTION;
+				}
+				if (numFilled < 0 || numEmpty < 0) {
+					assign(rowIdx, colIdx, numFilled < 0 ? Grid.EMPTY : Grid.FILLED);
+				}
+				else {
+					for (int j = 0; j < this.numCommon; ++j) {
+						int other = this.common[j];
+						assign(other / this.numCols, other % this.numCols, this.commonValue[j]);
+					}
+				}
+				if (numFilled < 0 || numEmpty < 0 || this.numCommon > 0) {
+					if (!propagate()) {
+						return NO_SOLUTION;
+					}
+					changed = true;
+					continue;
+				}
+				long score = (long) (numFilled + 1) * (numEmpty + 1);
+				if (score > bestScore) {
+					bestScore = score;
+					best = cell;
+					this.guessValue = numFilled >= numEmpty ? Grid.FILLED : Grid.EMPTY;
+				}
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Returns the value to try first for the cell last chosen by 
+	 * {@link #probe}: the one that decided more cells when probed, since it
+	 * leads to a contradiction or a solution sooner.
+	 * 
+	 * @return	FILLED or EMPTY
+	 */
+	byte getGuessValue() {
+		return this.guessValue;
+	}
+	
+	/**
+	 * Tries both values of a cell and stores the results, along with the
+	 * bounding box of the cells that were decided.
+	 */
+	private void probeCell(int rowIdx, int colIdx) {
+		int cell = rowIdx * this.numCols + colIdx;
+		++this.stamp;
+		this.probing = true;
+		this.minRow = rowIdx;
+		this.maxRow = rowIdx;
+		this.minCol = colIdx;
+		this.maxCol = colIdx;
+		this.probeFilled[cell] = tryValue(rowIdx, colIdx, Grid.FILLED, true);
+		this.probeEmpty[cell] = tryValue(rowIdx, colIdx, Grid.EMPTY, false);
+		this.probing = false;
+		this.probedAt[cell] = this.clock;
+		this.probeBounds[4 * cell] = this.minRow;
+		this.probeBounds[4 * cell + 1] = this.maxRow;
+		this.probeBounds[4 * cell + 2] = this.minCol;
+		this.probeBounds[4 * cell + 3] = this.maxCol;
+	}
+	
+	/**
+	 * Checks whether a cell has a probe result that is still valid. The
+	 * rows and columns in the bounding box of a probe cover every line it
+	 * read, and propagation over unchanged lines decides the same cells.
+	 */
+	private boolean isProbed(int cell) {
+		long probed = this.probedAt[cell];
+		if (probed < 0) {
+			return false;
+		}
+		for (int row = this.probeBounds[4 * cell]; row <= this.probeBounds[4 * cell + 1]; ++row) {
+			if (this.rowChangedAt[row] > probed) {
+				return false;
+			}
+		}
+		for (int col = this.probeBounds[4 * cell + 2]; col <= this.probeBounds[4 * cell + 3]; ++col) {
+			if (this.colChangedAt[col] > probed) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Notes that a cell changed. During a probe this only grows the 
+	 * bounding box of the probe.
+	 */
+	private void touch(int rowIdx, int colIdx) {
+		if (this.probing) {
+			this.minRow = Math.min(this.minRow, rowIdx);
+			this.maxRow = Math.max(this.maxRow, rowIdx);
+			this.minCol = Math.min(this.minCol, colIdx);
+			this.maxCol = Math.max(this.maxCol, colIdx);
+			return;
+		}
+		++this.clock;
+		this.rowChangedAt[rowIdx] = this.clock;
+		this.colChangedAt[colIdx] = this.clock;
+	}
+	
+	/**
+	 * Assigns a cell, propagates, and undoes everything again. The first
+	 * value of a probe remembers the cells it decided, and the second one
+	 * collects the cells it decided the same way.
+	 * 
+	 * @return	number of cells that were decided, or -1 on a contradiction
+	 */
+	private int tryValue(int rowIdx, int colIdx, byte value, boolean first) {
+		int mark = mark();
+		assign(rowIdx, colIdx, value);
+		int numDecided = propagate() ? this.trailSize - mark : -1;
+		if (numDecided >= 0) {
+			for (int i = mark + 1; i < this.trailSize; ++i) {
+				int cell = this.trail[i];
+				byte decided = this.grid.get(cell / this.numCols, cell % this.numCols);
+				if (first) {
+					this.seen[cell] = this.stamp;
+					this.seenValue[cell] = decided;
+				}
+				else if (this.seen[cell] == this.stamp && this.seenValue[cell] == decided) {
+					this.common[this.numCommon] = cell;
+					this.commonValue[this.numCommon++] = decided;
+				}
+			}
+		}
+		undo(mark);
+		return numDecided;
+	}
+	
+	/**
+	 * Collects the unknown cells with the fewest unknown cells in their row
+	 * and column.
+	 * 
+	 * @return	number of candidates found
+	 */
+	private int findCandidates(int[] candidates, int[] scores) {
+		int numCandidates = 0;
+		for (int row = 0; row < this.numRows; ++row) {
+			if (this.rowUnknown[row] == 0) {
+				continue;
+			}
+			for (int col = 0; col < this.numCols; ++col) {
+				if (this.grid.get(row, col) != Grid.UNKNOWN) {
+					continue;
+				}
+				int cell = row * this.numCols + col;
+				int score = this.rowUnknown[row] + this.colUnknown[col];
+				if (numCandidates < candidates.length) {
+					candidates[numCandidates] = cell;
+					scores[numCandidates] = score;
+					++numCandidates;
+					continue;
+				}
+				
+				// replace the worst candidate if this cell is better
+				int worst = 0;
+				for (int i = 1; i < numCandidates; ++i) {
+					if (scores[i] > scores[worst]) {
+						worst = i;
+					}
+				}
+				if (score < scores[worst]) {
+					candidates[worst] = cell;
+					scores[worst] = score;
+				}
+			}
+		}
+		return numCandidates;
+	}
+	
+	/**
+	 * Returns the number of columns in the grid, used to split the index
+	 * returned by {@link #probe}.
+	 * 
+	 * @return	number of columns
+	 */
+	int getNumCols() {
+		return this.numCols;
+	}
+	
+	private void enqueue(int lineIdx) {
+		if (!this.queued[lineIdx]) {
+			this.queued[lineIdx] = true;
+			this.queue[(this.queueHead + this.queueSize) % this.queue.length] = lineIdx;
+			++this.queueSize;
+		}
+	}
+	
+	private int dequeue() {
+		int lineIdx = this.queue[this.queueHead];
+		this.queueHead = (this.queueHead + 1) % this.queue.length;
+		--this.queueSize;
+		return lineIdx;
+	}
+
+}
@@ -0,0 +1,110 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Collections;
+import java.util.List;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Holds the outcome of running a solver on a set of clues.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class SolveResult {
+	
+	/**
+	 * Describes how far a solver got.
+	 */
+	public enum Status {
+		
+		/**
+		 * Every cell was deduced.
+		 */
+		SOLVED, 
+		
+		/**
+		 * The solver stopped with unknown cells left.
+		 */
+		STALLED, 
+		
+		/**
+		 * The clues cannot be satisfied.
+		 */
+		CONTRADICTION;
+	}
+	
+	private final Status status;
+	private final Grid grid;
+	private final List<Sweep> sweeps;
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructs a SolveResult.
+	 * 
+	 * @param status	how far the solver got
+	 * @param grid	cells deduced by the solver
+	 * @param sweeps	sweeps performed by the solver
+	 * @param elapsedNanos	time taken by the solver in nanoseconds
+	 */
+	public SolveResult(Status status, Grid grid, List<Sweep> sweeps, long elapsedNanos) {
+		this.status = status;
+		this.grid = grid;
+		this.sweeps = Collections.unmodifiableList(sweeps);
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns how far the solver got.
+	 * 
+	 * @return	the solver status
+	 */
+	public Status getStatus() {
+		return this.status;
+	}
+	
+	/**
+	 * Indicates whether every cell was deduced.
+	 * 
+	 * @return	true if the status is SOLVED
+	 */
+	public boolean isSolved() {
+		return this.status == Status.SOLVED;
+	}
+	
+	/**
+	 * Returns the cells deduced by the solver.
+	 * 
+	 * @return	the solver's grid
+	 */
+	public Grid getGrid() {
+		return this.grid;
+	}
+	
+	/**
+	 * Returns the sweeps performed by the solver, in order.
+	 * 
+	 * @return	unmodifiable list of sweeps
+	 */
+	public List<Sweep> getSweeps() {
+		return this.sweeps;
+	}
+	
+	/**
+	 * Returns the time taken by the solver.
+	 * 
+	 * @return	elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+	
+	/**
+	 * Writes the deduced cells into a model (see {@link Grid#applyTo}).
+	 * 
+	 * @param model	model receiving the cell states
+	 */
+	public void applyTo(NonogramModel model) {
+		this.grid.applyTo(model);
+	}
+
+}
@@ -0,0 +1,73 @@
+package edu.ou.cs2334.project5.solvers;
+/**
+ * Records the lines that made progress during one sweep of the
+ * LogicSolver.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class Sweep {
+	
+	private final int[] rows;
+	private final int[] cols;
+	private final int numCellsSolved;
+	private final int techniques;
+	
+	/**
+	 * Constructs a Sweep.
+	 * 
+	 * @param rows	indices of the rows that made progress
+	 * @param cols	indices of the columns that made progress
+	 * @param numCellsSolved	number of cells deduced during the sweep
+	 * @param techniques	LineSolver technique flags used during the sweep
+	 */
+	public Sweep(int[] rows, int[] cols, int numCellsSolved, int techniques) {
+		this.rows = rows;
+		this.cols = cols;
+		this.numCellsSolved = numCellsSolved;
+		this.techniques = techniques;
+	}
+	
+	/**
+	 * Returns the indices of the rows that made progress.
+	 * 
+	 * @return	copy of the row indices
+	 */
+	public int[] getRows() {
+		return this.rows.clone();
+	}
+	
+	/**
+	 * Returns the indices of the columns that made progress.
+	 * 
+	 * @return	copy of the column indices
+	 */
+	public int[] getCols() {
+		return this.cols.clone();
+	}
+	
+	/**
+	 * Returns the number of cells deduced during the sweep.
+	 * 
+	 * @return	number of deduced cells
+	 */
+	public int getNumCellsSolved() {
+		return this.numCellsSolved;
+	}
+	
+	/**
+	 * Returns the LineSolver techniques that deduced cells during the sweep.
+	 * 
+	 * @return	a combination of the LineSolver technique flags
+	 */
+	public int getTechniques() {
+		return this.techniques;
+	}
+	
+	@Override
+	public String toString() {
+		return this.numCellsSolved + " cells from " + this.rows.length + " rows and " 
+				+ this.cols.length + " columns";
+	}
+
+}
@@ -0,0 +1,156 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.UniquenessResult.Verdict;
+/**
+ * Decides whether a set of clues has zero, one, or several solutions.
+ * Cheap checks come first: clues whose row and column totals differ have
+ * no solution, and clues that line logic solves completely are unique.
+ * Only the remaining clues are searched for a second solution, starting
+ * from the cells line logic deduced, and that search gives up after a 
+ * configurable number of nodes or milliseconds. By default only nodes are
+ * counted, so a verdict does not depend on how busy the machine is.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class UniquenessChecker {
+	
+	/** Default number of search nodes after which a check is undecided. */
+	public static final long DEFAULT_MAX_NODES = 1000;
+	
+	/** 
+	 * Search time budget that never runs out. A check without a time limit
+	 * gives the same verdict however busy the machine is.
+	 */
+	public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+	
+	/** Default search time after which a check is undecided: none. */
+	public static final long DEFAULT_MAX_MILLIS = NO_TIME_LIMIT;
+	
+	private final long maxNodes;
+	private final long maxMillis;
+	
+	/**
+	 * Constructs a UniquenessChecker with the default search budget.
+	 */
+	public UniquenessChecker() {
+		this(DEFAULT_MAX_NODES, DEFAULT_MAX_MILLIS);
+	}
+	
+	/**
+	 * Constructs a UniquenessChecker.
+	 * 
+	 * @param maxNodes	number of search nodes after which a check is undecided
+	 * @param maxMillis	search time after which a check is undecided, or
+	 * 			NO_TIME_LIMIT
+	 */
+	public UniquenessChecker(long maxNodes, long maxMillis) {
+		this.maxNodes = maxNodes;
+		this.maxMillis = maxMillis;
+	}
+	
+	/**
+	 * Returns the node budget of the search.
+	 * 
+	 * @return	number of search nodes after which a check is undecided
+	 */
+	public long getMaxNodes() {
+		return this.maxNodes;
+	}
+	
+	/**
+	 * Returns the time budget of the search.
+	 * 
+	 * @return	search time in milliseconds after which a check is undecided
+	 */
+	public long getMaxMillis() {
+		return this.maxMillis;
+	}
+	
+	/**
+	 * Checks the clues of a puzzle file.
+	 * 
+	 * @param file	puzzle file in the format read by NonogramModel
+	 * @return	the result of the check
+	 * @throws IOException	if the file cannot be read
+	 */
+	public UniquenessResult check(File file) throws IOException {
+		NonogramModel model = new NonogramModel(file);
+		return check(model.getRowClueSet(), model.getColClueSet());
+	}
+	
+	/**
+	 * Checks the clues of a model.
+	 * 
+	 * @param model	model providing the row and column clues
+	 * @return	the result of the check
+	 */
+	public UniquenessResult check(NonogramModel model) {
+		return check(model.getRowClueSet(), model.getColClueSet());
+	}
+	
+	/**
+	 * Checks the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	the result of the check
+	 */
+	public UniquenessResult check(int[][] rowClues, int[][] colClues) {
+		return check(ClueSet.of(rowClues), ClueSet.of(colClues));
+	}
+	
+	/**
+	 * Checks the given clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	the result of the check
+	 */
+	public UniquenessResult check(ClueSet rowClues, ClueSet colClues) {
+		long start = System.nanoTime();
+		if (rowClues.getTotal() != colClues.getTotal()) {
+			return new UniquenessResult(Verdict.NO_SOLUTION, Collections.emptyList(), 
+					0, System.nanoTime() - start);
+		}
+		
+		// every cell deduced by line logic is forced, so a full grid is unique
+		SolveResult logic = new LogicSolver(rowClues, colClues).solve();
+		switch (logic.getStatus()) {
+		case SOLVED:
+			return new UniquenessResult(Verdict.UNIQUE, 
+					Collections.singletonList(logic.getGrid()), 0, System.nanoTime() - start);
+		case CONTRADICTION:
+			return new UniquenessResult(Verdict.NO_SOLUTION, Collections.emptyList(), 
+					0, System.nanoTime() - start);
+		default:
+			break;
+		}
+		
+		// line logic only deduces what every solution shares, so search on from it
+		SearchResult search = new BacktrackingSolver(rowClues, colClues).solve(logic.getGrid(), 
+				2, this.maxNodes, TimeUnit.MILLISECONDS.toNanos(this.maxMillis));
+		List<Grid> solutions = search.getSolutions();
+		Verdict verdict;
+		if (solutions.size() >= 2) {
+			verdict = Verdict.MULTIPLE;
+		}
+		else if (search.isLimitReached()) {
+			verdict = Verdict.UNDECIDED;
+		}
+		else {
+			verdict = solutions.isEmpty() ? Verdict.NO_SOLUTION : Verdict.UNIQUE;
+		}
+		return new UniquenessResult(verdict, solutions, search.getNumNodes(), 
+				System.nanoTime() - start);
+	}
+
+}
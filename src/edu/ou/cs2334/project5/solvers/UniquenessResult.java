@@ -0,0 +1,121 @@
+package edu.ou.cs2334.project5.solvers;
+
+import java.util.Collections;
+import java.util.List;
+/**
+ * Holds the outcome of a uniqueness check: how many solutions a set of
+ * clues has and, if there is more than one, two different solutions as a
+ * witness.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class UniquenessResult {
+	
+	/**
+	 * Describes how many solutions the clues have.
+	 */
+	public enum Verdict {
+		
+		/**
+		 * The clues cannot be satisfied.
+		 */
+		NO_SOLUTION, 
+		
+		/**
+		 * The clues have exactly one solution.
+		 */
+		UNIQUE, 
+		
+		/**
+		 * The clues have at least two solutions.
+		 */
+		MULTIPLE, 
+		
+		/**
+		 * The search budget ran out before the number of solutions was known.
+		 */
+		UNDECIDED;
+	}
+	
+	private final Verdict verdict;
+	private final List<Grid> solutions;
+	private final long numNodes;
+	private final long elapsedNanos;
+	
+	/**
+	 * Constructs a UniquenessResult.
+	 * 
+	 * @param verdict	how many solutions the clues have
+	 * @param solutions	solutions found, at most two
+	 * @param numNodes	number of search nodes visited
+	 * @param elapsedNanos	time taken by the check in nanoseconds
+	 */
+	public UniquenessResult(Verdict verdict, List<Grid> solutions, long numNodes, 
+			long elapsedNanos) {
+		this.verdict = verdict;
+		this.solutions = Collections.unmodifiableList(solutions);
+		this.numNodes = numNodes;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	/**
+	 * Returns how many solutions the clues have.
+	 * 
+	 * @return	the verdict
+	 */
+	public Verdict getVerdict() {
+		return this.verdict;
+	}
+	
+	/**
+	 * Indicates whether the clues have exactly one solution.
+	 * 
+	 * @return	true if the verdict is UNIQUE
+	 */
+	public boolean isUnique() {
+		return this.verdict == Verdict.UNIQUE;
+	}
+	
+	/**
+	 * Returns the solutions found. There is one for a unique puzzle, two
+	 * for an ambiguous one, and at most one if the check was undecided.
+	 * 
+	 * @return	unmodifiable list of solutions
+	 */
+	public List<Grid> getSolutions() {
+		return this.solutions;
+	}
+	
+	/**
+	 * Returns two different solutions that prove the clues are ambiguous.
+	 * 
+	 * @return	the witness pair, or null unless the verdict is MULTIPLE
+	 */
+	public Grid[] getWitnesses() {
+		if (this.verdict != Verdict.MULTIPLE) {
+			return null;
+		}
+		return new Grid[] {this.solutions.get(0), this.solutions.get(1)};
+	}
+	
+	/**
+	 * Returns the number of search nodes visited. Puzzles decided by line
+	 * logic alone need no search nodes.
+	 * 
+	 * @return	number of nodes
+	 */
+	public long getNumNodes() {
+		return this.numNodes;
+	}
+	
+	/**
+	 * Returns the time taken by the check.
+	 * 
+	 * @return	elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return this.elapsedNanos;
+	}
+
+}
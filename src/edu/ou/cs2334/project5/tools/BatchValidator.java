@@ -0,0 +1,247 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.UniquenessChecker;
+/**
+ * Validates every puzzle file under a directory without a user interface.
+ * Files are found lazily and handed to a fixed pool of threads, with only
+ * a bounded number of files in flight, and each report is written as soon
+ * as its file is done. This keeps memory flat for any number of files.
+ * 
+ * With --solve the uniqueness of each consistent file is checked as
+ * well. The search of that check gives up after --max-nodes nodes, and
+ * after --max-millis milliseconds if given; without a time limit the
+ * verdicts do not depend on how busy the machine is.
+ * 
+ * Usage: BatchValidator [--format=csv|json] [--output=FILE] [--threads=N] 
+ * [--solve] [--max-nodes=N] [--max-millis=N] DIRECTORY
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class BatchValidator {
+	
+	private static final String PUZZLE_SUFFIX = ".txt";
+	private static final String FORMAT_OPTION = "--format=";
+	private static final String OUTPUT_OPTION = "--output=";
+	private static final String THREADS_OPTION = "--threads=";
+	private static final String SOLVE_OPTION = "--solve";
+	private static final String MAX_NODES_OPTION = "--max-nodes=";
+	private static final String MAX_MILLIS_OPTION = "--max-millis=";
+	
+	// files queued per thread before the directory walk waits
+	private static final int FILES_PER_THREAD = 4;
+	
+	private final int numThreads;
+	private final boolean solve;
+	private final UniquenessChecker checker;
+	private final ReportWriter writer;
+	
+	/**
+	 * Constructs a BatchValidator.
+	 * 
+	 * @param numThreads	number of threads validating files
+	 * @param solve	whether to check the solutions of consistent files
+	 * @param checker	checker of the solutions, shared by the threads
+	 * @param writer	destination of the file reports
+	 */
+	BatchValidator(int numThreads, boolean solve, UniquenessChecker checker, 
+			ReportWriter writer) {
+		this.numThreads = numThreads;
+		this.solve = solve;
+		this.checker = checker;
+		this.writer = writer;
+	}
+	
+	/**
+	 * Runs the validator.
+	 * 
+	 * @param args	options followed by the directory to validate
+	 * @throws IOException	if the directory cannot be walked or the report 
+	 * 			cannot be written
+	 * @throws InterruptedException	if interrupted while waiting for files
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		ReportWriter.Format format = ReportWriter.Format.CSV;
+		Path output = null;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		boolean solve = false;
+		long maxNodes = UniquenessChecker.DEFAULT_MAX_NODES;
+		long maxMillis = UniquenessChecker.DEFAULT_MAX_MILLIS;
+		Path directory = null;
+		for (String arg : args) {
+			if (arg.startsWith(FORMAT_OPTION)) {
+				format = ReportWriter.Format.valueOf(
+						arg.substring(FORMAT_OPTION.length()).toUpperCase());
+			}
+			else if (arg.startsWith(OUTPUT_OPTION)) {
+				output = Paths.get(arg.substring(OUTPUT_OPTION.length()));
+			}
+			else if (arg.startsWith(THREADS_OPTION)) {
+				numThreads = Integer.parseInt(arg.substring(THREADS_OPTION.length()));
+			}
+			else if (arg.equals(SOLVE_OPTION)) {
+				solve = true;
+			}
+			else if (arg.startsWith(MAX_NODES_OPTION)) {
+				maxNodes = Long.parseLong(arg.substring(MAX_NODES_OPTION.length()));
+			}
+			else if (arg.startsWith(MAX_MILLIS_OPTION)) {
+				maxMillis = Long.parseLong(arg.substring(MAX_MILLIS_OPTION.length()));
+			}
+			else if (arg.startsWith("--")) {
+				throw new IllegalArgumentException("unknown option " + arg);
+			}
+			else {
+				directory = Paths.get(arg);
+			}
+		}
+		if (directory == null) {
+			System.err.println("Usage: BatchValidator [--format=csv|json] [--output=FILE] "
+					+ "[--threads=N] [--solve] [--max-nodes=N] [--max-millis=N] DIRECTORY");
+			System.exit(2);
+		}
+		
+		Writer out = output == null 
+				? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+				: Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+		try {
+			ReportWriter writer = new ReportWriter(out, format);
+			UniquenessChecker checker = new UniquenessChecker(maxNodes, maxMillis);
+			int numFiles = new BatchValidator(numThreads, solve, checker, writer).run(directory);
+			writer.finish();
+			System.err.println("validated " + numFiles + " files");
+		}
+		finally {
+			if (output != null) {
+				out.close();
+			}
+		}
+	}
+	
+	/**
+	 * Validates every puzzle file under a directory and writes the reports.
+	 * 
+	 * @param directory	directory to be walked
+	 * @return	number of files validated
+	 * @throws IOException	if the directory cannot be walked or a report 
+	 * 			cannot be written
+	 * @throws InterruptedException	if interrupted while waiting for files
+	 */
+	int run(Path directory) throws IOException, InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(this.numThreads);
+		Semaphore inFlight = new Semaphore(this.numThreads * FILES_PER_THREAD);
+		AtomicInteger numFiles = new AtomicInteger();
+		IOException[] writeError = new IOException[1];
+		try (Stream<Path> paths = Files.walk(directory)) {
+			Iterator<Path> iterator = paths
+					.filter(path -> path.toString().endsWith(PUZZLE_SUFFIX))
+					.filter(Files::isRegularFile)
+					.iterator();
+			while (iterator.hasNext()) {
+				Path path = iterator.next();
+				inFlight.acquire();
+				executor.execute(() -> {
+					try {
+						FileReport report;
+						try {
+							report = validate(path);
+						}
+						catch (Throwable e) {
+							// one broken or oversized file must not lose its row, so
+							// errors such as a StackOverflowError are reported too
+							report = errorReport(path, e, 0);
+						}
+						this.writer.write(report);
+						numFiles.incrementAndGet();
+					}
+					catch (IOException e) {
+						synchronized (writeError) {
+							writeError[0] = e;
+						}
+					}
+					finally {
+						inFlight.release();
+					}
+				});
+			}
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		synchronized (writeError) {
+			if (writeError[0] != null) {
+				throw writeError[0];
+			}
+		}
+		return numFiles.get();
+	}
+	
+	/**
+	 * Parses, checks, and optionally solves one file. Only the clues are 
+	 * read, so no cells are allocated for the puzzle.
+	 * 
+	 * @param path	puzzle file
+	 * @return	the report of the file
+	 */
+	FileReport validate(Path path) {
+		long start = System.nanoTime();
+		ClueSet[] clues;
+		try (InputStream in = Files.newInputStream(path)) {
+			clues = NonogramModel.readClues(in);
+		}
+		catch (IOException | RuntimeException e) {
+			// malformed files fail with a PuzzleFormatException, an IOException;
+			// a runtime exception from a reader bug is reported the same way
+			return errorReport(path, e, System.nanoTime() - start);
+		}
+		long parsed = System.nanoTime();
+		ClueSet rowClues = clues[0];
+		ClueSet colClues = clues[1];
+		
+		List<String> problems = ClueConsistency.findProblems(rowClues, colClues);
+		long checked = System.nanoTime();
+		FileReport.Status status = problems.isEmpty() 
+				? FileReport.Status.OK : FileReport.Status.INVALID;
+		
+		String verdict = "";
+		if (this.solve && problems.isEmpty()) {
+			verdict = this.checker.check(rowClues, colClues).getVerdict().toString();
+		}
+		long solved = System.nanoTime();
+		return new FileReport(path.toString(), status, rowClues.getNumLines(), 
+				colClues.getNumLines(), problems, verdict, 
+				parsed - start, checked - parsed, this.solve ? solved - checked : 0);
+	}
+	
+	private static FileReport errorReport(Path path, Throwable error, long parseNanos) {
+		return new FileReport(path.toString(), FileReport.Status.ERROR, 0, 0, 
+				Collections.singletonList(error.toString()), "", parseNanos, 0, 0);
+	}
+
+}
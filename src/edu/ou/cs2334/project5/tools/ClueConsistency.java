@@ -0,0 +1,72 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+/**
+ * Checks that a set of clues can describe a grid at all: the filled cells
+ * counted by the rows equal those counted by the columns, and every clue
+ * fits into its line.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class ClueConsistency {
+	
+	private ClueConsistency() {
+	}
+	
+	/**
+	 * Lists every problem found in the clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	descriptions of the problems, empty if the clues are consistent
+	 */
+	public static List<String> findProblems(int[][] rowClues, int[][] colClues) {
+		return findProblems(ClueSet.of(rowClues), ClueSet.of(colClues));
+	}
+	
+	/**
+	 * Lists every problem found in the clues.
+	 * 
+	 * @param rowClues	clues of the rows
+	 * @param colClues	clues of the columns
+	 * @return	descriptions of the problems, empty if the clues are consistent
+	 */
+	public static List<String> findProblems(ClueSet rowClues, ClueSet colClues) {
+		List<String> problems = new ArrayList<>();
+		long rowSum = checkLines("row", rowClues, colClues.getNumLines(), problems);
+		long colSum = checkLines("column", colClues, rowClues.getNumLines(), problems);
+		if (rowSum != colSum) {
+			problems.add("row clues sum to " + rowSum + " but column clues sum to " + colSum);
+		}
+		return problems;
+	}
+	
+	private static long checkLines(String kind, ClueSet clues, int length, 
+			List<String> problems) {
+		long total = 0;
+		for (int i = 0; i < clues.getNumLines(); ++i) {
+			int size = clues.size(i);
+			
+			// a clue needs its runs plus one gap between each pair of runs
+			long span = 0;
+			for (int j = 0; j < size; ++j) {
+				int run = clues.get(i, j);
+				if (run < 0 || (run == 0 && size > 1)) {
+					problems.add(kind + " " + i + " has invalid run " + run);
+				}
+				span += run;
+			}
+			total += span;
+			span += size - 1;
+			if (span > length) {
+				problems.add(kind + " " + i + " needs " + span + " cells but has " + length);
+			}
+		}
+		return total;
+	}
+
+}
@@ -0,0 +1,69 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.util.List;
+/**
+ * Holds the validation outcome of one puzzle file.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class FileReport {
+	
+	/**
+	 * Describes whether a file passed validation.
+	 */
+	enum Status {
+		
+		/**
+		 * The clues were read and are consistent.
+		 */
+		OK, 
+		
+		/**
+		 * The clues were read but are inconsistent.
+		 */
+		INVALID, 
+		
+		/**
+		 * The file could not be read or parsed.
+		 */
+		ERROR;
+	}
+	
+	final String path;
+	final Status status;
+	final int numRows;
+	final int numCols;
+	final List<String> problems;
+	final String verdict;
+	final long parseNanos;
+	final long checkNanos;
+	final long solveNanos;
+	
+	/**
+	 * Constructs a FileReport.
+	 * 
+	 * @param path	path of the file
+	 * @param status	whether the file passed validation
+	 * @param numRows	number of rows, or 0 if the file could not be parsed
+	 * @param numCols	number of columns, or 0 if the file could not be parsed
+	 * @param problems	problems found in the file
+	 * @param verdict	uniqueness verdict, or an empty string if not solved
+	 * @param parseNanos	time taken to parse the file
+	 * @param checkNanos	time taken to check the clues
+	 * @param solveNanos	time taken to solve the clues
+	 */
+	FileReport(String path, Status status, int numRows, int numCols, List<String> problems, 
+			String verdict, long parseNanos, long checkNanos, long solveNanos) {
+		this.path = path;
+		this.status = status;
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.problems = problems;
+		this.verdict = verdict;
+		this.parseNanos = parseNanos;
+		this.checkNanos = checkNanos;
+		this.solveNanos = solveNanos;
+	}
+
+}
@@ -0,0 +1,115 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.ou.cs2334.project5.solvers.GeneratedPuzzle;
+import edu.ou.cs2334.project5.solvers.PuzzleGenerator;
+/**
+ * Generates random puzzles with unique solutions and writes them to a
+ * directory in the text format, as puzzle-00000.txt, puzzle-00001.txt, 
+ * and so on. The same seed always gives the same puzzles, whatever the
+ * number of threads.
+ * 
+ * Usage: GeneratePuzzles [--size=ROWSxCOLS] [--density=D] [--count=N] 
+ * [--seed=S] [--threads=N] [--logic-only] DIRECTORY
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class GeneratePuzzles {
+	
+	private static final String SIZE_OPTION = "--size=";
+	private static final String DENSITY_OPTION = "--density=";
+	private static final String COUNT_OPTION = "--count=";
+	private static final String SEED_OPTION = "--seed=";
+	private static final String THREADS_OPTION = "--threads=";
+	private static final String LOGIC_ONLY_OPTION = "--logic-only";
+	
+	private static final int DEFAULT_SIZE = 25;
+	private static final double DEFAULT_DENSITY = 0.6;
+	private static final int DEFAULT_COUNT = 100;
+	
+	/**
+	 * Runs the generator.
+	 * 
+	 * @param args	options followed by the output directory
+	 * @throws IOException	if a puzzle cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int numRows = DEFAULT_SIZE;
+		int numCols = DEFAULT_SIZE;
+		double density = DEFAULT_DENSITY;
+		int count = DEFAULT_COUNT;
+		long seed = System.nanoTime();
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		boolean logicOnly = false;
+		Path directory = null;
+		for (String arg : args) {
+			if (arg.startsWith(SIZE_OPTION)) {
+				String[] size = arg.substring(SIZE_OPTION.length()).split("x");
+				numRows = Integer.parseInt(size[0]);
+				numCols = Integer.parseInt(size[size.length - 1]);
+			}
+			else if (arg.startsWith(DENSITY_OPTION)) {
+				density = Double.parseDouble(arg.substring(DENSITY_OPTION.length()));
+			}
+			else if (arg.startsWith(COUNT_OPTION)) {
+				count = Integer.parseInt(arg.substring(COUNT_OPTION.length()));
+			}
+			else if (arg.startsWith(SEED_OPTION)) {
+				seed = Long.parseLong(arg.substring(SEED_OPTION.length()));
+			}
+			else if (arg.startsWith(THREADS_OPTION)) {
+				numThreads = Integer.parseInt(arg.substring(THREADS_OPTION.length()));
+			}
+			else if (arg.equals(LOGIC_ONLY_OPTION)) {
+				logicOnly = true;
+			}
+			else if (arg.startsWith("--")) {
+				throw new IllegalArgumentException("unknown option " + arg);
+			}
+			else {
+				directory = Paths.get(arg);
+			}
+		}
+		if (directory == null) {
+			System.err.println("Usage: GeneratePuzzles [--size=ROWSxCOLS] [--density=D] "
+					+ "[--count=N] [--seed=S] [--threads=N] [--logic-only] DIRECTORY");
+			System.exit(2);
+		}
+		
+		PuzzleGenerator generator = new PuzzleGenerator(numRows, numCols, density, logicOnly);
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		long start = System.nanoTime();
+		List<GeneratedPuzzle> puzzles;
+		try {
+			puzzles = generator.generate(count, seed, pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		Files.createDirectories(directory);
+		long numMutations = 0;
+		for (int i = 0; i < puzzles.size(); ++i) {
+			Path path = directory.resolve(String.format("puzzle-%05d.txt", i));
+			try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+				puzzles.get(i).toModel().writeText(out);
+			}
+			numMutations += puzzles.get(i).getNumMutations();
+		}
+		System.err.printf("generated %d puzzles in %.2f s (%.0f per minute, "
+				+ "%.1f mutations each), seed %d%n", puzzles.size(), seconds, 
+				puzzles.size() / seconds * 60, (double) numMutations / Math.max(1, count), 
+				seed);
+	}
+
+}
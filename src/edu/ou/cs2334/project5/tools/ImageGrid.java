@@ -0,0 +1,206 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Turns an image into the cells of a puzzle. The image is reduced to the
+ * average lightness of every cell, and the cells darker than a threshold
+ * become filled. The image is already decoded in full, so its memory grows
+ * with its number of pixels; the reduction reads it one row of pixels at a
+ * time and adds only a row of pixels and a row of sums to that.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class ImageGrid {
+	
+	/** Lightness of a black pixel. */
+	public static final int BLACK = 0;
+	
+	/** Lightness of a white pixel. */
+	public static final int WHITE = 255;
+	
+	private static final int NUM_LEVELS = WHITE + 1;
+	
+	private ImageGrid() {
+	}
+	
+	/**
+	 * Returns the number of rows that keeps the aspect ratio of an image
+	 * with the given number of columns.
+	 * 
+	 * @param image	image to be converted
+	 * @param numCols	number of columns of the puzzle
+	 * @return	number of rows, at least 1
+	 */
+	public static int rowsFor(BufferedImage image, int numCols) {
+		return Math.max(1, (int) Math.round((double) numCols * image.getHeight() 
+				/ image.getWidth()));
+	}
+	
+	/**
+	 * Averages the lightness of the pixels covered by every cell. Each cell
+	 * covers a block of pixels; if the grid is finer than the image, a 
+	 * pixel is shared by several cells. Transparent pixels count as white.
+	 * 
+	 * @param image	image to be reduced
+	 * @param numRows	number of rows of the grid
+	 * @param numCols	number of columns of the grid
+	 * @return	lightness of every cell from BLACK to WHITE, by row
+	 */
+	public static int[][] downsample(BufferedImage image, int numRows, int numCols) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] pixels = new int[width];
+		long[] colSums = new long[width + 1];
+		int[][] levels = new int[numRows][numCols];
+		for (int row = 0; row < numRows; ++row) {
+			int y0 = start(row, height, numRows);
+			int y1 = end(row, height, numRows);
+			
+			// sum the band of pixel rows by column, then prefix sum the columns
+			Arrays.fill(colSums, 0);
+			for (int y = y0; y < y1; ++y) {
+				image.getRGB(0, y, width, 1, pixels, 0, width);
+				for (int x = 0; x < width; ++x) {
+					colSums[x + 1] += lightness(pixels[x]);
+				}
+			}
+			for (int x = 0; x < width; ++x) {
+				colSums[x + 1] += colSums[x];
+			}
+			
+			for (int col = 0; col < numCols; ++col) {
+				int x0 = start(col, width, numCols);
+				int x1 = end(col, width, numCols);
+				long numPixels = (long) (x1 - x0) * (y1 - y0);
+				levels[row][col] = (int) ((colSums[x1] - colSums[x0]) / numPixels);
+			}
+		}
+		return levels;
+	}
+	
+	/**
+	 * Picks the threshold that best splits the levels into a dark and a 
+	 * light group (Otsu's method), maximizing the variance between the two.
+	 * 
+	 * @param levels	lightness of every cell
+	 * @return	the threshold, the lightest level of the dark group
+	 */
+	public static int otsuThreshold(int[][] levels) {
+		long[] histogram = new long[NUM_LEVELS];
+		long count = 0;
+		long sum = 0;
+		for (int[] row : levels) {
+			for (int level : row) {
+				++histogram[level];
+				sum += level;
+			}
+			count += row.length;
+		}
+		
+		int threshold = BLACK;
+		double bestVariance = -1;
+		long darkCount = 0;
+		long darkSum = 0;
+		for (int level = BLACK; level < WHITE; ++level) {
+			darkCount += histogram[level];
+			darkSum += (long) level * histogram[level];
+			long lightCount = count - darkCount;
+			if (darkCount == 0 || lightCount == 0) {
+				continue;
+			}
+			double meanDifference = (double) darkSum / darkCount 
+					- (double) (sum - darkSum) / lightCount;
+			double variance = (double) darkCount * lightCount * meanDifference * meanDifference;
+			if (variance > bestVariance) {
+				bestVariance = variance;
+				threshold = level;
+			}
+		}
+		return threshold;
+	}
+	
+	/**
+	 * Fills the cells at or below the threshold, or above it when inverted.
+	 * 
+	 * @param levels	lightness of every cell
+	 * @param threshold	lightest level of a filled cell
+	 * @param invert	whether light cells are filled instead of dark ones
+	 * @return	the cells, true where filled
+	 */
+	public static boolean[][] threshold(int[][] levels, int threshold, boolean invert) {
+		boolean[][] cells = new boolean[levels.length][];
+		for (int row = 0; row < levels.length; ++row) {
+			cells[row] = new boolean[levels[row].length];
+			for (int col = 0; col < levels[row].length; ++col) {
+				cells[row][col] = (levels[row][col] <= threshold) != invert;
+			}
+		}
+		return cells;
+	}
+	
+	/**
+	 * Returns the clues of the rows of the cells.
+	 * 
+	 * @param cells	the cells, true where filled
+	 * @return	the row clues
+	 */
+	public static int[][] rowClues(boolean[][] cells) {
+		int numCols = cells[0].length;
+		int[] runs = new int[NonogramModel.maxProjectionLength(numCols)];
+		int[][] clues = new int[cells.length][];
+		for (int row = 0; row < cells.length; ++row) {
+			clues[row] = Arrays.copyOf(runs, NonogramModel.project(cells[row], runs));
+		}
+		return clues;
+	}
+	
+	/**
+	 * Returns the clues of the columns of the cells.
+	 * 
+	 * @param cells	the cells, true where filled
+	 * @return	the column clues
+	 */
+	public static int[][] colClues(boolean[][] cells) {
+		int numRows = cells.length;
+		int numCols = cells[0].length;
+		int[] runs = new int[NonogramModel.maxProjectionLength(numRows)];
+		boolean[] line = new boolean[numRows];
+		int[][] clues = new int[numCols][];
+		for (int col = 0; col < numCols; ++col) {
+			for (int row = 0; row < numRows; ++row) {
+				line[row] = cells[row][col];
+			}
+			clues[col] = Arrays.copyOf(runs, NonogramModel.project(line, runs));
+		}
+		return clues;
+	}
+	
+	/**
+	 * Returns the lightness of an ARGB pixel composited over white, using
+	 * the luma weights of ITU-R BT.601.
+	 */
+	private static int lightness(int argb) {
+		int alpha = argb >>> 24;
+		int red = (argb >> 16) & 0xFF;
+		int green = (argb >> 8) & 0xFF;
+		int blue = argb & 0xFF;
+		int luma = (299 * red + 587 * green + 114 * blue) / 1000;
+		return (luma * alpha + WHITE * (WHITE - alpha)) / WHITE;
+	}
+	
+	// first pixel of the block of a cell
+	private static int start(int idx, int numPixels, int numCells) {
+		return Math.min(numPixels - 1, (int) ((long) idx * numPixels / numCells));
+	}
+	
+	// pixel after the block of a cell; every block covers at least one pixel
+	private static int end(int idx, int numPixels, int numCells) {
+		int end = (int) ((long) (idx + 1) * numPixels / numCells);
+		return Math.max(start(idx, numPixels, numCells) + 1, end);
+	}
+
+}
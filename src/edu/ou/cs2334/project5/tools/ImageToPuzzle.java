@@ -0,0 +1,306 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.UniquenessChecker;
+import edu.ou.cs2334.project5.solvers.UniquenessResult;
+/**
+ * Converts images into puzzle files without a user interface. Every image
+ * is downsampled to the grid size, thresholded into filled and empty 
+ * cells, projected to its clues, and written in the text format as 
+ * IMAGE.txt, next to the image or in the output directory. Images found in
+ * a directory keep their path below that directory in the output 
+ * directory. Two images that would be written to the same puzzle file,
+ * such as cat.png and cat.jpg, stop the converter before anything is 
+ * written. Images are converted on a fixed pool of threads, and each 
+ * puzzle is checked for a unique solution, since a picture rarely makes a
+ * unique puzzle by itself.
+ * 
+ * <p>The number of rows follows the aspect ratio of the image unless both
+ * dimensions are given. The threshold is picked per image by Otsu's method
+ * unless one is given.
+ * 
+ * Usage: ImageToPuzzle [--size=COLS|ROWSxCOLS] [--threshold=0-255] 
+ * [--invert] [--output=DIR] [--threads=N] IMAGE|DIRECTORY...
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class ImageToPuzzle {
+	
+	private static final String PUZZLE_SUFFIX = ".txt";
+	private static final String SIZE_OPTION = "--size=";
+	private static final String THRESHOLD_OPTION = "--threshold=";
+	private static final String INVERT_OPTION = "--invert";
+	private static final String OUTPUT_OPTION = "--output=";
+	private static final String THREADS_OPTION = "--threads=";
+	
+	private static final int DEFAULT_NUM_COLS = 30;
+	
+	// marks a dimension or threshold that is picked per image
+	private static final int AUTO = -1;
+	
+	private final int numRows;
+	private final int numCols;
+	private final int threshold;
+	private final boolean invert;
+	private final Path outputDirectory;
+	
+	/**
+	 * Constructs an ImageToPuzzle converter.
+	 * 
+	 * @param numRows	number of rows, or AUTO to follow the aspect ratio
+	 * @param numCols	number of columns
+	 * @param threshold	lightest level of a filled cell, or AUTO
+	 * @param invert	whether light cells are filled instead of dark ones
+	 * @param outputDirectory	directory of the puzzle files, or null to 
+	 * 			write them next to the images
+	 */
+	ImageToPuzzle(int numRows, int numCols, int threshold, boolean invert, 
+			Path outputDirectory) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.threshold = threshold;
+		this.invert = invert;
+		this.outputDirectory = outputDirectory;
+	}
+	
+	/**
+	 * Runs the converter.
+	 * 
+	 * @param args	options followed by images and directories of images
+	 * @throws IOException	if a directory cannot be walked or the output
+	 * 			directory cannot be created
+	 * @throws InterruptedException	if interrupted while converting
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		System.setProperty("java.awt.headless", "true");
+		int numRows = AUTO;
+		int numCols = DEFAULT_NUM_COLS;
+		int threshold = AUTO;
+		boolean invert = false;
+		Path output = null;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		List<Path> inputs = new ArrayList<>();
+		for (String arg : args) {
+			if (arg.startsWith(SIZE_OPTION)) {
+				String[] size = arg.substring(SIZE_OPTION.length()).split("x");
+				numCols = Integer.parseInt(size[size.length - 1]);
+				numRows = size.length > 1 ? Integer.parseInt(size[0]) : AUTO;
+				if (size.length > 2 || numCols <= 0 || (size.length > 1 && numRows <= 0)) {
+					throw new IllegalArgumentException("invalid size " + arg);
+				}
+			}
+			else if (arg.startsWith(THRESHOLD_OPTION)) {
+				threshold = Integer.parseInt(arg.substring(THRESHOLD_OPTION.length()));
+			}
+			else if (arg.equals(INVERT_OPTION)) {
+				invert = true;
+			}
+			else if (arg.startsWith(OUTPUT_OPTION)) {
+				output = Paths.get(arg.substring(OUTPUT_OPTION.length()));
+			}
+			else if (arg.startsWith(THREADS_OPTION)) {
+				numThreads = Integer.parseInt(arg.substring(THREADS_OPTION.length()));
+			}
+			else if (arg.startsWith("--")) {
+				throw new IllegalArgumentException("unknown option " + arg);
+			}
+			else {
+				inputs.add(Paths.get(arg));
+			}
+		}
+		if (inputs.isEmpty()) {
+			System.err.println("Usage: ImageToPuzzle [--size=COLS|ROWSxCOLS] "
+					+ "[--threshold=0-255] [--invert] [--output=DIR] [--threads=N] "
+					+ "IMAGE|DIRECTORY...");
+			System.exit(2);
+		}
+		
+		Map<Path, Path> sources = findImages(inputs);
+		ImageToPuzzle converter = new ImageToPuzzle(numRows, numCols, threshold, invert, output);
+		List<Path> images = new ArrayList<>(sources.keySet());
+		List<Path> puzzles = converter.puzzlePaths(sources);
+		for (Path puzzle : puzzles) {
+			if (puzzle.getParent() != null) {
+				Files.createDirectories(puzzle.getParent());
+			}
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		List<Future<Conversion>> conversions = new ArrayList<>();
+		try {
+			for (int i = 0; i < images.size(); ++i) {
+				Path image = images.get(i);
+				Path puzzle = puzzles.get(i);
+				Callable<Conversion> task = () -> converter.convert(image, puzzle);
+				conversions.add(executor.submit(task));
+			}
+			
+			// print in input order as the conversions finish
+			int numUnique = 0;
+			for (int i = 0; i < images.size(); ++i) {
+				try {
+					Conversion conversion = conversions.get(i).get();
+					System.out.println(conversion.report);
+					if (conversion.unique) {
+						++numUnique;
+					}
+				}
+				catch (ExecutionException e) {
+					System.out.println(images.get(i) + ": " + e.getCause());
+				}
+			}
+			System.err.println("converted " + images.size() + " images, " + numUnique 
+					+ " with a unique solution");
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Converts one image and writes its puzzle file.
+	 * 
+	 * @param image	image file
+	 * @param puzzle	puzzle file to be written
+	 * @return	the conversion
+	 * @throws IOException	if the image cannot be read or the puzzle cannot
+	 * 			be written
+	 */
+	Conversion convert(Path image, Path puzzle) throws IOException {
+		long start = System.nanoTime();
+		BufferedImage picture = ImageIO.read(image.toFile());
+		if (picture == null) {
+			throw new IOException("unsupported image format");
+		}
+		int rows = this.numRows == AUTO ? ImageGrid.rowsFor(picture, this.numCols) 
+				: this.numRows;
+		int[][] levels = ImageGrid.downsample(picture, rows, this.numCols);
+		int level = this.threshold == AUTO ? ImageGrid.otsuThreshold(levels) : this.threshold;
+		boolean[][] cells = ImageGrid.threshold(levels, level, this.invert);
+		NonogramModel model = new NonogramModel(ImageGrid.rowClues(cells), 
+				ImageGrid.colClues(cells));
+		
+		try (Writer out = Files.newBufferedWriter(puzzle, StandardCharsets.UTF_8)) {
+			model.writeText(out);
+		}
+		UniquenessResult result = new UniquenessChecker().check(model);
+		String report = String.format("%s -> %s (%dx%d, threshold %d, %.1f ms) %s", image, 
+				puzzle, rows, this.numCols, level, (System.nanoTime() - start) / 1e6, 
+				result.getVerdict());
+		return new Conversion(report, result.isUnique());
+	}
+	
+	/**
+	 * Returns the puzzle file of every image, in the order of the images.
+	 * 
+	 * @param sources	every image mapped to its path below the input it 
+	 * 			was found in
+	 * @return	the puzzle files
+	 * @throws IOException	if two images would be written to the same 
+	 * 			puzzle file
+	 */
+	List<Path> puzzlePaths(Map<Path, Path> sources) throws IOException {
+		List<Path> puzzles = new ArrayList<>();
+		Map<Path, Path> written = new HashMap<>();
+		for (Map.Entry<Path, Path> source : sources.entrySet()) {
+			Path image = source.getKey();
+			String name = image.getFileName().toString();
+			int dot = name.lastIndexOf('.');
+			String puzzleName = (dot > 0 ? name.substring(0, dot) : name) + PUZZLE_SUFFIX;
+			Path puzzle = this.outputDirectory == null ? image.resolveSibling(puzzleName) 
+					: this.outputDirectory.resolve(source.getValue()).resolveSibling(puzzleName);
+			
+			// one puzzle overwriting another would lose a conversion silently
+			Path previous = written.put(puzzle.toAbsolutePath().normalize(), image);
+			if (previous != null) {
+				throw new IOException(previous + " and " + image + " would both be written to "
+						+ puzzle);
+			}
+			puzzles.add(puzzle);
+		}
+		return puzzles;
+	}
+	
+	/**
+	 * Finds the given image files and the image files under the given 
+	 * directories, recognized by the suffixes ImageIO can read, and maps 
+	 * each to its path below the directory it was found in, or to its name
+	 * if it was given directly.
+	 */
+	private static Map<Path, Path> findImages(List<Path> inputs) throws IOException {
+		Set<String> suffixes = new HashSet<>();
+		for (String suffix : ImageIO.getReaderFileSuffixes()) {
+			suffixes.add("." + suffix.toLowerCase(Locale.ROOT));
+		}
+		Map<Path, Path> images = new LinkedHashMap<>();
+		for (Path input : inputs) {
+			if (!Files.isDirectory(input)) {
+				images.put(input, input.getFileName());
+				continue;
+			}
+			try (Stream<Path> paths = Files.walk(input)) {
+				List<Path> found = paths
+						.filter(Files::isRegularFile)
+						.filter(path -> hasSuffix(path, suffixes))
+						.sorted()
+						.collect(Collectors.toList());
+				for (Path path : found) {
+					images.put(path, input.relativize(path));
+				}
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+		return images;
+	}
+	
+	private static boolean hasSuffix(Path path, Set<String> suffixes) {
+		String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+		int dot = name.lastIndexOf('.');
+		return dot >= 0 && suffixes.contains(name.substring(dot));
+	}
+	
+	/**
+	 * The printed line of one converted image and whether its puzzle is
+	 * unique.
+	 */
+	static final class Conversion {
+		
+		private final String report;
+		private final boolean unique;
+		
+		Conversion(String report, boolean unique) {
+			this.report = report;
+			this.unique = unique;
+		}
+	}
+
+}
@@ -0,0 +1,121 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.ou.cs2334.project5.solvers.DifficultyRater;
+import edu.ou.cs2334.project5.solvers.DifficultyRating;
+/**
+ * Rates the difficulty of every puzzle file under a directory in parallel
+ * and prints them from easiest to hardest. With a cache file, ratings of
+ * puzzles rated by an earlier run are loaded instead of computed, and the
+ * cache is written back afterwards.
+ * 
+ * Usage: RateCatalog [--cache=FILE] [--threads=N] DIRECTORY
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class RateCatalog {
+	
+	private static final String PUZZLE_SUFFIX = ".txt";
+	private static final String CACHE_OPTION = "--cache=";
+	private static final String THREADS_OPTION = "--threads=";
+	
+	/**
+	 * Runs the rater.
+	 * 
+	 * @param args	options followed by the directory to rate
+	 * @throws IOException	if the directory cannot be walked or the cache 
+	 * 			cannot be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		Path cache = null;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		Path directory = null;
+		for (String arg : args) {
+			if (arg.startsWith(CACHE_OPTION)) {
+				cache = Paths.get(arg.substring(CACHE_OPTION.length()));
+			}
+			else if (arg.startsWith(THREADS_OPTION)) {
+				numThreads = Integer.parseInt(arg.substring(THREADS_OPTION.length()));
+			}
+			else if (arg.startsWith("--")) {
+				throw new IllegalArgumentException("unknown option " + arg);
+			}
+			else {
+				directory = Paths.get(arg);
+			}
+		}
+		if (directory == null) {
+			System.err.println("Usage: RateCatalog [--cache=FILE] [--threads=N] DIRECTORY");
+			System.exit(2);
+		}
+		
+		DifficultyRater rater = new DifficultyRater();
+		if (cache != null && Files.exists(cache)) {
+			rater.loadCache(cache);
+		}
+		
+		List<Path> paths;
+		try (Stream<Path> walk = Files.walk(directory)) {
+			paths = walk.filter(path -> path.toString().endsWith(PUZZLE_SUFFIX))
+					.filter(Files::isRegularFile)
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		// every task reads its own file, so the puzzles are never all in memory
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		long start = System.nanoTime();
+		List<DifficultyRating> ratings;
+		Map<Path, Exception> errors = new TreeMap<>();
+		try {
+			ratings = rater.rateAll(paths, pool, errors);
+		}
+		finally {
+			pool.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		for (Map.Entry<Path, Exception> error : errors.entrySet()) {
+			System.err.println(error.getKey() + ": " + error.getValue());
+		}
+		
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < ratings.size(); ++i) {
+			if (ratings.get(i) != null) {
+				order.add(i);
+			}
+		}
+		order.sort(Comparator.comparingDouble(i -> ratings.get(i).getScore()));
+		System.out.printf("%-40s %-7s %7s %7s %6s %9s %s%n", 
+				"file", "tier", "score", "sweeps", "guess", "nodes", "verdict");
+		for (int i : order) {
+			DifficultyRating rating = ratings.get(i);
+			System.out.printf("%-40s %-7s %7.1f %7d %6s %9d %s%n", paths.get(i), 
+					rating.getTier(), rating.getScore(), rating.getNumSweeps(), 
+					rating.isGuessingRequired(), rating.getNumNodes(), rating.getVerdict());
+		}
+		System.err.printf("rated %d puzzles in %.2f s (%d from the cache)%n", 
+				order.size(), seconds, rater.getHits());
+		
+		if (cache != null) {
+			rater.saveCache(cache);
+		}
+	}
+
+}
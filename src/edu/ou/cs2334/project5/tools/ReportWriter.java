@@ -0,0 +1,121 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+/**
+ * Writes file reports one at a time as CSV or as a JSON array, so a report
+ * over any number of files never has to be held in memory.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+class ReportWriter {
+	
+	/**
+	 * Output formats of a report.
+	 */
+	enum Format {
+		
+		/**
+		 * One header line and one comma-separated line per file.
+		 */
+		CSV, 
+		
+		/**
+		 * A JSON array with one object per file.
+		 */
+		JSON;
+	}
+	
+	private static final String CSV_HEADER = 
+			"file,status,rows,cols,verdict,parse_ms,check_ms,solve_ms,problems";
+	
+	private final Writer writer;
+	private final Format format;
+	private int numReports;
+	
+	/**
+	 * Constructs a ReportWriter and writes the start of the report.
+	 * 
+	 * @param writer	destination of the report
+	 * @param format	format of the report
+	 * @throws IOException	if writing fails
+	 */
+	ReportWriter(Writer writer, Format format) throws IOException {
+		this.writer = writer;
+		this.format = format;
+		this.writer.write(format == Format.CSV ? CSV_HEADER + "\n" : "[\n");
+	}
+	
+	/**
+	 * Writes the report of one file. Reports from several threads are
+	 * written one after another.
+	 * 
+	 * @param report	report to be written
+	 * @throws IOException	if writing fails
+	 */
+	synchronized void write(FileReport report) throws IOException {
+		String problems = String.join("; ", report.problems);
+		if (this.format == Format.CSV) {
+			this.writer.write(csv(report.path) + "," + report.status + "," + report.numRows 
+					+ "," + report.numCols + "," + report.verdict + "," + millis(report.parseNanos) 
+					+ "," + millis(report.checkNanos) + "," + millis(report.solveNanos) 
+					+ "," + csv(problems) + "\n");
+		}
+		else {
+			this.writer.write((this.numReports == 0 ? "" : ",\n") 
+					+ "{\"file\":" + json(report.path) 
+					+ ",\"status\":\"" + report.status 
+					+ "\",\"rows\":" + report.numRows 
+					+ ",\"cols\":" + report.numCols 
+					+ ",\"verdict\":" + json(report.verdict) 
+					+ ",\"parse_ms\":" + millis(report.parseNanos) 
+					+ ",\"check_ms\":" + millis(report.checkNanos) 
+					+ ",\"solve_ms\":" + millis(report.solveNanos) 
+					+ ",\"problems\":" + json(problems) + "}");
+		}
+		++this.numReports;
+	}
+	
+	/**
+	 * Writes the end of the report and flushes it.
+	 * 
+	 * @throws IOException	if writing fails
+	 */
+	synchronized void finish() throws IOException {
+		if (this.format == Format.JSON) {
+			this.writer.write("\n]\n");
+		}
+		this.writer.flush();
+	}
+	
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+	
+	private static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+	
+	private static String json(String value) {
+		StringBuilder builder = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); ++i) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			}
+			else if (c < ' ') {
+				builder.append(String.format("\\u%04x", (int) c));
+			}
+			else {
+				builder.append(c);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+}
@@ -0,0 +1,127 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.BacktrackingSolver;
+import edu.ou.cs2334.project5.solvers.ParallelSolver;
+import edu.ou.cs2334.project5.solvers.SearchResult;
+/**
+ * Compares the single-threaded and the fork-join search on puzzle files and
+ * prints the speedup. Both solvers are warmed up first, so the JIT has 
+ * compiled the search before it is timed. Each timed run then alternates 
+ * which solver goes first, and the median time of each solver is reported.
+ * The parallel solution is written back into the model to check that it 
+ * solves the puzzle.
+ * 
+ * Usage: SpeedupReport [--solutions=N] [--threads=N] [--warmups=N] [--runs=N] 
+ * FILE...
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class SpeedupReport {
+	
+	private static final String SOLUTIONS_OPTION = "--solutions=";
+	private static final String THREADS_OPTION = "--threads=";
+	private static final String WARMUPS_OPTION = "--warmups=";
+	private static final String RUNS_OPTION = "--runs=";
+	private static final int DEFAULT_SOLUTIONS = 2;
+	private static final int DEFAULT_WARMUPS = 3;
+	private static final int DEFAULT_RUNS = 5;
+	
+	/**
+	 * Runs the comparison.
+	 * 
+	 * @param args	options followed by the puzzle files
+	 * @throws IOException	if a puzzle file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		int maxSolutions = DEFAULT_SOLUTIONS;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		int numWarmups = DEFAULT_WARMUPS;
+		int numRuns = DEFAULT_RUNS;
+		int firstFile = 0;
+		while (firstFile < args.length && args[firstFile].startsWith("--")) {
+			String option = args[firstFile++];
+			if (option.startsWith(SOLUTIONS_OPTION)) {
+				maxSolutions = Integer.parseInt(option.substring(SOLUTIONS_OPTION.length()));
+			}
+			else if (option.startsWith(THREADS_OPTION)) {
+				numThreads = Integer.parseInt(option.substring(THREADS_OPTION.length()));
+			}
+			else if (option.startsWith(WARMUPS_OPTION)) {
+				numWarmups = Integer.parseInt(option.substring(WARMUPS_OPTION.length()));
+			}
+			else if (option.startsWith(RUNS_OPTION)) {
+				numRuns = Integer.parseInt(option.substring(RUNS_OPTION.length()));
+			}
+			else {
+				throw new IllegalArgumentException("unknown option " + option);
+			}
+		}
+		if (numWarmups < 0 || numRuns <= 0) {
+			throw new IllegalArgumentException("need at least one run and no negative warm-ups");
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(numThreads);
+		System.out.printf("%-40s %12s %12s %8s %s%n", 
+				"file", "serial ms", "parallel ms", "speedup", "solved");
+		try {
+			for (int i = firstFile; i < args.length; ++i) {
+				NonogramModel model = new NonogramModel(args[i]);
+				ParallelSolver parallelSolver = new ParallelSolver(model, pool);
+				for (int run = 0; run < numWarmups; ++run) {
+					solveSerial(model, maxSolutions);
+					parallelSolver.solve(maxSolutions);
+				}
+				
+				// alternate the order so neither solver always runs on a warmer cache
+				long[] serialNanos = new long[numRuns];
+				long[] parallelNanos = new long[numRuns];
+				SearchResult parallel = null;
+				for (int run = 0; run < numRuns; ++run) {
+					if (run % 2 == 0) {
+						serialNanos[run] = solveSerial(model, maxSolutions).getElapsedNanos();
+						parallel = parallelSolver.solve(maxSolutions);
+					}
+					else {
+						parallel = parallelSolver.solve(maxSolutions);
+						serialNanos[run] = solveSerial(model, maxSolutions).getElapsedNanos();
+					}
+					parallelNanos[run] = parallel.getElapsedNanos();
+				}
+				long serialMedian = median(serialNanos);
+				long parallelMedian = median(parallelNanos);
+				
+				// write the parallel solution back and let the model check it
+				boolean solved = false;
+				if (parallel.isSolved()) {
+					parallel.applyTo(model);
+					solved = model.isSolved();
+				}
+				System.out.printf("%-40s %12.1f %12.1f %7.2fx %s%n", args[i], 
+						serialMedian / 1e6, parallelMedian / 1e6, 
+						(double) serialMedian / parallelMedian, solved);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static SearchResult solveSerial(NonogramModel model, int maxSolutions) {
+		// a new solver starts with an empty line cache, like every parallel search
+		return new BacktrackingSolver(model).solve(maxSolutions);
+	}
+	
+	private static long median(long[] nanos) {
+		long[] sorted = nanos.clone();
+		Arrays.sort(sorted);
+		int mid = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+	}
+
+}
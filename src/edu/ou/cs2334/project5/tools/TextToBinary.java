@@ -0,0 +1,52 @@
+package edu.ou.cs2334.project5.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+/**
+ * Converts puzzle files from the text format to the binary format. Each
+ * FILE.txt is written next to itself as FILE.ngb, without cell states.
+ * 
+ * Usage: TextToBinary FILE...
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class TextToBinary {
+	
+	private static final String TEXT_SUFFIX = ".txt";
+	
+	/** Suffix of converted files. */
+	public static final String BINARY_SUFFIX = ".ngb";
+	
+	/**
+	 * Converts the given files.
+	 * 
+	 * @param args	text files to be converted
+	 * @throws IOException	if a file cannot be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		long textBytes = 0;
+		long binaryBytes = 0;
+		for (String arg : args) {
+			File input = new File(arg);
+			String name = arg.endsWith(TEXT_SUFFIX) 
+					? arg.substring(0, arg.length() - TEXT_SUFFIX.length()) : arg;
+			File output = new File(name + BINARY_SUFFIX);
+			
+			NonogramModel model = new NonogramModel(input);
+			try (OutputStream out = new FileOutputStream(output)) {
+				model.writeBinary(out, false);
+			}
+			textBytes += input.length();
+			binaryBytes += output.length();
+			System.out.println(input + " -> " + output + " (" + input.length() 
+					+ " -> " + output.length() + " bytes)");
+		}
+		System.out.println("total " + textBytes + " -> " + binaryBytes + " bytes");
+	}
+
+}
@@ -0,0 +1,437 @@
+package edu.ou.cs2334.project5.views;
+
+import edu.ou.cs2334.project5.interfaces.CellInputHandler;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+/**
+ * Shows the cell grid on a canvas the size of a scrollable viewport, with
+ * room for the clues to the left of and above it. This class keeps the
+ * viewport, the scroll bars, and the mapping from mouse positions to cells;
+ * subclasses draw the cells and the clues.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public abstract class AbstractScrollingGridView extends Region implements CellGridRenderer {
+
+	// largest viewport side the view asks for before it scrolls
+	private static final double MAX_PREF_VIEWPORT_LENGTH = 900;
+
+	private int numRows;
+	private int numCols;
+	private int cellLength;
+
+	private final Canvas cellCanvas = new Canvas();
+	private final ScrollBar hBar = new ScrollBar();
+	private final ScrollBar vBar = new ScrollBar();
+
+	private CellInputHandler handler;
+	private int hoverRow = -1;
+	private int hoverCol = -1;
+	private int dragRow = -1;
+	private int dragCol = -1;
+
+	/**
+	 * Initializes the viewport and the scroll bars. Subclasses add their
+	 * clue nodes with {@link #addClueNodes}.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 * @param cellLength	length of each cell in pixels
+	 */
+	protected AbstractScrollingGridView(int numRows, int numCols, int cellLength) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.cellLength = cellLength;
+
+		this.hBar.setOrientation(Orientation.HORIZONTAL);
+		this.vBar.setOrientation(Orientation.VERTICAL);
+		this.hBar.setUnitIncrement(cellLength);
+		this.vBar.setUnitIncrement(cellLength);
+		getChildren().addAll(this.cellCanvas, this.hBar, this.vBar);
+
+		this.hBar.valueProperty().addListener((observable, oldValue, newValue) -> redraw());
+		this.vBar.valueProperty().addListener((observable, oldValue, newValue) -> redraw());
+		setOnScroll(event -> {
+			scrollBy(this.hBar, -event.getDeltaX());
+			scrollBy(this.vBar, -event.getDeltaY());
+		});
+		initMouseHandlers();
+	}
+
+	/**
+	 * Changes the size of the grid, so the view can show another puzzle.
+	 * The viewport scrolls back to the top left corner.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 * @param cellLength	length of each cell in pixels
+	 */
+	protected void setGridSize(int numRows, int numCols, int cellLength) {
+		this.numRows = numRows;
+		this.numCols = numCols;
+		this.cellLength = cellLength;
+		this.hBar.setUnitIncrement(cellLength);
+		this.vBar.setUnitIncrement(cellLength);
+		this.hoverRow = -1;
+		this.hoverCol = -1;
+		this.dragRow = -1;
+		this.dragCol = -1;
+		this.hBar.setValue(0);
+		this.vBar.setValue(0);
+		requestLayout();
+	}
+
+	@Override
+	public void setCellInputHandler(CellInputHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Adds the nodes showing the clues behind the cell canvas and the
+	 * scroll bars.
+	 * 
+	 * @param topNode	node above the viewport
+	 * @param leftNode	node to the left of the viewport
+	 */
+	protected void addClueNodes(Node topNode, Node leftNode) {
+		getChildren().add(0, leftNode);
+		getChildren().add(0, topNode);
+	}
+
+	/**
+	 * Returns the width of the clues to the left of the viewport.
+	 * 
+	 * @return	width in pixels
+	 */
+	protected abstract double getLeftWidth();
+
+	/**
+	 * Returns the height of the clues above the viewport.
+	 * 
+	 * @return	height in pixels
+	 */
+	protected abstract double getTopHeight();
+
+	/**
+	 * Places the clues around a viewport that was just laid out.
+	 * 
+	 * @param leftWidth	width of the clues to the left
+	 * @param topHeight	height of the clues above
+	 * @param viewWidth	width of the viewport
+	 * @param viewHeight	height of the viewport
+	 */
+	protected abstract void layoutClues(double leftWidth, double topHeight,
+			double viewWidth, double viewHeight);
+
+	/**
+	 * Draws everything in the viewport again, after it was scrolled or
+	 * resized.
+	 */
+	protected abstract void redraw();
+
+	/**
+	 * Draws one cell of the viewport in its current state.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 */
+	protected abstract void drawCell(int rowIdx, int colIdx);
+
+	@Override
+	protected double computePrefWidth(double height) {
+		return getLeftWidth() + Math.min(getContentWidth(), MAX_PREF_VIEWPORT_LENGTH)
+				+ this.vBar.prefWidth(-1);
+	}
+
+	@Override
+	protected double computePrefHeight(double width) {
+		return getTopHeight() + Math.min(getContentHeight(), MAX_PREF_VIEWPORT_LENGTH)
+				+ this.hBar.prefHeight(-1);
+	}
+
+	@Override
+	protected double computeMinWidth(double height) {
+		return getLeftWidth() + this.cellLength + this.vBar.prefWidth(-1);
+	}
+
+	@Override
+	protected double computeMinHeight(double width) {
+		return getTopHeight() + this.cellLength + this.hBar.prefHeight(-1);
+	}
+
+	@Override
+	protected void layoutChildren() {
+		double leftWidth = getLeftWidth();
+		double topHeight = getTopHeight();
+		double barWidth = this.vBar.prefWidth(-1);
+		double barHeight = this.hBar.prefHeight(-1);
+		double viewWidth = Math.max(0, Math.min(getWidth() - leftWidth - barWidth,
+				getContentWidth()));
+		double viewHeight = Math.max(0, Math.min(getHeight() - topHeight - barHeight,
+				getContentHeight()));
+
+		// the canvas never grows beyond the viewport
+		resizeCanvas(this.cellCanvas, leftWidth, topHeight, viewWidth, viewHeight);
+		this.hBar.resizeRelocate(leftWidth, topHeight + viewHeight, viewWidth, barHeight);
+		this.vBar.resizeRelocate(leftWidth + viewWidth, topHeight, barWidth, viewHeight);
+		updateScrollBar(this.hBar, getContentWidth(), viewWidth);
+		updateScrollBar(this.vBar, getContentHeight(), viewHeight);
+
+		layoutClues(leftWidth, topHeight, viewWidth, viewHeight);
+		redraw();
+	}
+
+	/**
+	 * Resizes a canvas and moves it to the given position.
+	 * 
+	 * @param canvas	canvas to be placed
+	 * @param x	x coordinate of its top left corner
+	 * @param y	y coordinate of its top left corner
+	 * @param width	width of the canvas
+	 * @param height	height of the canvas
+	 */
+	protected static void resizeCanvas(Canvas canvas, double x, double y,
+			double width, double height) {
+		canvas.setWidth(width);
+		canvas.setHeight(height);
+		canvas.relocate(x, y);
+	}
+
+	private static void updateScrollBar(ScrollBar bar, double contentLength,
+			double viewLength) {
+		double max = Math.max(0, contentLength - viewLength);
+		bar.setMax(max);
+		bar.setVisibleAmount(viewLength);
+		bar.setBlockIncrement(viewLength);
+		bar.setValue(Math.min(bar.getValue(), max));
+		bar.setDisable(max == 0);
+	}
+
+	private static void scrollBy(ScrollBar bar, double delta) {
+		bar.setValue(Math.max(0, Math.min(bar.getMax(), bar.getValue() + delta)));
+	}
+
+	private void initMouseHandlers() {
+		this.cellCanvas.setOnMouseMoved(event -> setHover(rowAt(event), colAt(event)));
+		this.cellCanvas.setOnMouseExited(event -> setHover(-1, -1));
+
+		this.cellCanvas.setOnMousePressed(event -> {
+			int row = rowAt(event);
+			int col = colAt(event);
+			if (row < 0 || col < 0 || this.handler == null) {
+				return;
+			}
+			this.dragRow = row;
+			this.dragCol = col;
+			this.handler.cellPressed(row, col, event.getButton());
+		});
+
+		// a drag stays on the canvas, so report each new cell it reaches
+		this.cellCanvas.setOnMouseDragged(event -> {
+			int row = rowAt(event);
+			int col = colAt(event);
+			setHover(row, col);
+			if (row < 0 || col < 0 || this.handler == null
+					|| (row == this.dragRow && col == this.dragCol)) {
+				return;
+			}
+			this.dragRow = row;
+			this.dragCol = col;
+			this.handler.cellEntered(row, col);
+		});
+
+		this.cellCanvas.setOnMouseReleased(event -> {
+			this.dragRow = -1;
+			this.dragCol = -1;
+			if (this.handler != null) {
+				this.handler.cellReleased();
+			}
+		});
+	}
+
+	private void setHover(int rowIdx, int colIdx) {
+		if (rowIdx < 0 || colIdx < 0) {
+			rowIdx = -1;
+			colIdx = -1;
+		}
+		if (rowIdx == this.hoverRow && colIdx == this.hoverCol) {
+			return;
+		}
+
+		// redraw the cell that lost the hover and the one that gained it
+		int oldRow = this.hoverRow;
+		int oldCol = this.hoverCol;
+		this.hoverRow = rowIdx;
+		this.hoverCol = colIdx;
+		if (oldRow >= 0 && isRowVisible(oldRow) && isColVisible(oldCol)) {
+			drawCell(oldRow, oldCol);
+		}
+		if (rowIdx >= 0) {
+			drawCell(rowIdx, colIdx);
+		}
+	}
+
+	private int rowAt(MouseEvent event) {
+		return indexAt(event.getY() + this.vBar.getValue(), this.numRows);
+	}
+
+	private int colAt(MouseEvent event) {
+		return indexAt(event.getX() + this.hBar.getValue(), this.numCols);
+	}
+
+	private int indexAt(double position, int count) {
+		if (position < 0) {
+			return -1;
+		}
+		int idx = (int) (position / this.cellLength);
+		return idx < count ? idx : -1;
+	}
+
+	/**
+	 * Checks whether the mouse is over a cell.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 * @return	true if the cell is under the mouse
+	 */
+	protected boolean isHover(int rowIdx, int colIdx) {
+		return rowIdx == this.hoverRow && colIdx == this.hoverCol;
+	}
+
+	/**
+	 * Checks whether a row is at least partly inside the viewport.
+	 * 
+	 * @param rowIdx	row index
+	 * @return	true if the row is visible
+	 */
+	protected boolean isRowVisible(int rowIdx) {
+		return rowIdx >= getFirstVisibleRow() && rowIdx <= getLastVisibleRow();
+	}
+
+	/**
+	 * Checks whether a column is at least partly inside the viewport.
+	 * 
+	 * @param colIdx	column index
+	 * @return	true if the column is visible
+	 */
+	protected boolean isColVisible(int colIdx) {
+		return colIdx >= getFirstVisibleCol() && colIdx <= getLastVisibleCol();
+	}
+
+	/**
+	 * Returns the first row inside the viewport.
+	 * 
+	 * @return	row index
+	 */
+	protected int getFirstVisibleRow() {
+		return firstVisible(this.vBar);
+	}
+
+	/**
+	 * Returns the last row inside the viewport.
+	 * 
+	 * @return	row index, below the first one if nothing is visible
+	 */
+	protected int getLastVisibleRow() {
+		return lastVisible(this.vBar, this.cellCanvas.getHeight(), this.numRows);
+	}
+
+	/**
+	 * Returns the first column inside the viewport.
+	 * 
+	 * @return	column index
+	 */
+	protected int getFirstVisibleCol() {
+		return firstVisible(this.hBar);
+	}
+
+	/**
+	 * Returns the last column inside the viewport.
+	 * 
+	 * @return	column index, left of the first one if nothing is visible
+	 */
+	protected int getLastVisibleCol() {
+		return lastVisible(this.hBar, this.cellCanvas.getWidth(), this.numCols);
+	}
+
+	private int firstVisible(ScrollBar bar) {
+		return (int) (bar.getValue() / this.cellLength);
+	}
+
+	private int lastVisible(ScrollBar bar, double viewLength, int count) {
+		int last = (int) Math.ceil((bar.getValue() + viewLength) / this.cellLength) - 1;
+		return Math.min(last, count - 1);
+	}
+
+	/**
+	 * Returns the x coordinate on the canvases of the left edge of a
+	 * column.
+	 * 
+	 * @param colIdx	column index
+	 * @return	x coordinate in pixels
+	 */
+	protected double getColX(int colIdx) {
+		return colIdx * this.cellLength - this.hBar.getValue();
+	}
+
+	/**
+	 * Returns the y coordinate on the canvases of the top edge of a row.
+	 * 
+	 * @param rowIdx	row index
+	 * @return	y coordinate in pixels
+	 */
+	protected double getRowY(int rowIdx) {
+		return rowIdx * this.cellLength - this.vBar.getValue();
+	}
+
+	/**
+	 * Returns the canvas the cells are drawn on.
+	 * 
+	 * @return	the cell canvas
+	 */
+	protected Canvas getCellCanvas() {
+		return this.cellCanvas;
+	}
+
+	/**
+	 * Returns the number of columns in the grid.
+	 * 
+	 * @return	number of columns
+	 */
+	protected int getNumCols() {
+		return this.numCols;
+	}
+
+	/**
+	 * Returns the length of each cell.
+	 * 
+	 * @return	cell length in pixels
+	 */
+	protected int getCellLength() {
+		return this.cellLength;
+	}
+
+	/**
+	 * Returns the width of the whole grid.
+	 * 
+	 * @return	width in pixels
+	 */
+	protected double getContentWidth() {
+		return (double) this.numCols * this.cellLength;
+	}
+
+	/**
+	 * Returns the height of the whole grid.
+	 * 
+	 * @return	height in pixels
+	 */
+	protected double getContentHeight() {
+		return (double) this.numRows * this.cellLength;
+	}
+
+}
@@ -0,0 +1,162 @@
+package edu.ou.cs2334.project5.views;
+
+import java.util.Arrays;
+
+import edu.ou.cs2334.project5.models.CellState;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+/**
+ * Draws the cell states on a single Canvas instead of creating a CellView
+ * per cell. The canvas is the size of the viewport, never the size of the
+ * whole grid, so it stays within the limits of the graphics card however
+ * large the puzzle is. Only visible cells are drawn, and the states of the
+ * others are kept in one byte per cell until they are scrolled into view.
+ * 
+ * <p>The row and column clue views given to {@link #setClueViews} are
+ * placed to the left of and above the viewport and scroll with the cells.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class CanvasCellGridView extends AbstractScrollingGridView {
+
+	private static final String STYLE_CLASS = "canvas-grid-view";
+	private static final CellState[] STATES = CellState.values();
+
+	private byte[] states;
+
+	private final Pane leftPane = new Pane();
+	private final Pane topPane = new Pane();
+	private final Rectangle leftClip = new Rectangle();
+	private final Rectangle topClip = new Rectangle();
+	private Region rowCluesView;
+	private Region colCluesView;
+
+	/**
+	 * Constructs a CanvasCellGridView using the number of rows, number of
+	 * columns, and the cell length. All cells start empty.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 * @param cellLength	length of each cell in pixels
+	 */
+	public CanvasCellGridView(int numRows, int numCols, int cellLength) {
+		super(numRows, numCols, cellLength);
+		this.states = new byte[numRows * numCols];
+		Arrays.fill(this.states, (byte) CellState.EMPTY.ordinal());
+
+		getStyleClass().add(STYLE_CLASS);
+		this.leftPane.setClip(this.leftClip);
+		this.topPane.setClip(this.topClip);
+		addClueNodes(this.topPane, this.leftPane);
+	}
+
+	/**
+	 * Resizes the view for another puzzle, keeping its canvas and scroll 
+	 * bars. All cells start empty.
+	 * 
+	 * @param numRows	number of rows in the grid
+	 * @param numCols	number of columns in the grid
+	 * @param cellLength	length of each cell in pixels
+	 */
+	public void initCells(int numRows, int numCols, int cellLength) {
+		if (this.states.length != numRows * numCols) {
+			this.states = new byte[numRows * numCols];
+		}
+		Arrays.fill(this.states, (byte) CellState.EMPTY.ordinal());
+		setGridSize(numRows, numCols, cellLength);
+	}
+
+	/**
+	 * Sets the views of the row and column clues that scroll with the
+	 * cells. Either may be null.
+	 * 
+	 * @param rowCluesView	view of the row clues, one cell length per row
+	 * @param colCluesView	view of the column clues, one cell length per column
+	 */
+	public void setClueViews(Region rowCluesView, Region colCluesView) {
+		this.rowCluesView = rowCluesView;
+		this.colCluesView = colCluesView;
+
+		// the panes only clip, the clue views are placed by placeClues
+		this.leftPane.getChildren().clear();
+		this.topPane.getChildren().clear();
+		if (rowCluesView != null) {
+			rowCluesView.setManaged(false);
+			this.leftPane.getChildren().add(rowCluesView);
+		}
+		if (colCluesView != null) {
+			colCluesView.setManaged(false);
+			this.topPane.getChildren().add(colCluesView);
+		}
+		requestLayout();
+	}
+
+	@Override
+	public void setCellState(int rowIdx, int colIdx, CellState state) {
+		int idx = rowIdx * getNumCols() + colIdx;
+		if (this.states[idx] == state.ordinal()) {
+			return;
+		}
+		this.states[idx] = (byte) state.ordinal();
+
+		// cells outside the viewport are drawn once they are scrolled into view
+		if (isRowVisible(rowIdx) && isColVisible(colIdx)) {
+			drawCell(rowIdx, colIdx);
+		}
+	}
+
+	@Override
+	protected void layoutClues(double leftWidth, double topHeight,
+			double viewWidth, double viewHeight) {
+		this.topPane.resizeRelocate(leftWidth, 0, viewWidth, topHeight);
+		this.leftPane.resizeRelocate(0, topHeight, leftWidth, viewHeight);
+		this.topClip.setWidth(viewWidth);
+		this.topClip.setHeight(topHeight);
+		this.leftClip.setWidth(leftWidth);
+		this.leftClip.setHeight(viewHeight);
+	}
+
+	@Override
+	protected void redraw() {
+		// the clues only move when scrolled, the cells have to be drawn again
+		placeClues();
+		for (int row = getFirstVisibleRow(); row <= getLastVisibleRow(); ++row) {
+			for (int col = getFirstVisibleCol(); col <= getLastVisibleCol(); ++col) {
+				drawCell(row, col);
+			}
+		}
+	}
+
+	private void placeClues() {
+		// the clue views keep their full length and slide under the clip
+		if (this.rowCluesView != null) {
+			this.rowCluesView.resizeRelocate(0, getRowY(0), getLeftWidth(),
+					getContentHeight());
+		}
+		if (this.colCluesView != null) {
+			this.colCluesView.resizeRelocate(getColX(0), 0, getContentWidth(),
+					getTopHeight());
+		}
+	}
+
+	@Override
+	protected void drawCell(int rowIdx, int colIdx) {
+		CanvasStyle.drawCell(getCellCanvas().getGraphicsContext2D(),
+				getColX(colIdx), getRowY(rowIdx), getCellLength(),
+				STATES[this.states[rowIdx * getNumCols() + colIdx]],
+				isHover(rowIdx, colIdx));
+	}
+
+	@Override
+	protected double getLeftWidth() {
+		return this.rowCluesView == null ? 0 : this.rowCluesView.prefWidth(getContentHeight());
+	}
+
+	@Override
+	protected double getTopHeight() {
+		return this.colCluesView == null ? 0 : this.colCluesView.prefHeight(getContentWidth());
+	}
+
+}
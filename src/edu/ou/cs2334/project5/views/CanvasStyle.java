@@ -0,0 +1,76 @@
+package edu.ou.cs2334.project5.views;
+
+import edu.ou.cs2334.project5.models.CellState;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.StrokeLineCap;
+/**
+ * Colors and drawing shared by the views that draw on a Canvas, including
+ * the canvas clue lines. A canvas is not styled by the style sheet, so the
+ * colors mirror style.css.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public final class CanvasStyle {
+
+	public static final Color BORDER_COLOR = Color.BLACK;
+	public static final Color EMPTY_COLOR = Color.web("#f4f4f4");
+	public static final Color FILLED_COLOR = Color.web("#325288");
+	public static final Color MARKED_COLOR = Color.FIREBRICK;
+	public static final Color HOVER_COLOR = Color.RED;
+	public static final Color UNSOLVED_BACKGROUND_COLOR = EMPTY_COLOR;
+	public static final Color UNSOLVED_TEXT_COLOR = BORDER_COLOR;
+	public static final Color SOLVED_BACKGROUND_COLOR = Color.web("#114E60");
+	public static final Color SOLVED_TEXT_COLOR = Color.WHITE;
+
+	private static final double X_LENGTH_SCALE = 1.0 / 2.0;
+	private static final double X_STROKE_WIDTH = 2;
+	private static final double HOVER_STROKE_WIDTH = 2;
+
+	private CanvasStyle() {
+	}
+
+	/**
+	 * Draws one cell the way a CellView looks: a one pixel border on its
+	 * inner edge, the fill of its state, an X when marked, and a thicker
+	 * outline when the mouse is over it.
+	 * 
+	 * @param gc	graphics context to draw with
+	 * @param x	left edge of the cell
+	 * @param y	top edge of the cell
+	 * @param side	length of the cell
+	 * @param state	state of the cell
+	 * @param hovered	whether the mouse is over the cell
+	 */
+	static void drawCell(GraphicsContext gc, double x, double y, double side,
+			CellState state, boolean hovered) {
+		// border, then the inside of the cell
+		gc.setFill(BORDER_COLOR);
+		gc.fillRect(x, y, side, side);
+		gc.setFill(state == CellState.FILLED ? FILLED_COLOR : EMPTY_COLOR);
+		gc.fillRect(x + 1, y + 1, side - 2, side - 2);
+
+		if (state == CellState.MARKED) {
+			// an X in the middle of the cell, the same size as in CellView
+			double half = X_LENGTH_SCALE * side / Math.sqrt(2) / 2;
+			double centerX = x + side / 2;
+			double centerY = y + side / 2;
+			gc.setStroke(MARKED_COLOR);
+			gc.setLineWidth(X_STROKE_WIDTH);
+			gc.setLineCap(StrokeLineCap.ROUND);
+			gc.strokeLine(centerX - half, centerY - half, centerX + half, centerY + half);
+			gc.strokeLine(centerX - half, centerY + half, centerX + half, centerY - half);
+		}
+
+		if (hovered) {
+			gc.setStroke(HOVER_COLOR);
+			gc.setLineWidth(HOVER_STROKE_WIDTH);
+			gc.setLineCap(StrokeLineCap.SQUARE);
+			double inset = HOVER_STROKE_WIDTH / 2;
+			gc.strokeRect(x + inset, y + inset, side - HOVER_STROKE_WIDTH,
+					side - HOVER_STROKE_WIDTH);
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package edu.ou.cs2334.project5.views;
+
+import edu.ou.cs2334.project5.interfaces.CellInputHandler;
+import edu.ou.cs2334.project5.models.CellState;
+/**
+ * Interface shared by the views that show the cell grid, so the rest of the
+ * program does not depend on how the cells are drawn.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public interface CellGridRenderer {
+
+	/**
+	 * Updates the state of the cell with the given indices.
+	 * 
+	 * @param rowIdx	row index of the cell
+	 * @param colIdx	column index of the cell
+	 * @param state	desired state of the cell
+	 */
+	void setCellState(int rowIdx, int colIdx, CellState state);
+
+	/**
+	 * Sets the handler that receives mouse input on the cells.
+	 * 
+	 * @param handler	handler of the cell input
+	 */
+	void setCellInputHandler(CellInputHandler handler);
+
+}
@@ -1,17 +1,23 @@
 package edu.ou.cs2334.project5.views;
 
+import java.util.ArrayList;
+import java.util.List;
+import edu.ou.cs2334.project5.interfaces.CellInputHandler;
 import edu.ou.cs2334.project5.models.CellState;
 import javafx.scene.layout.GridPane;
 /**
- * Extends GridPane and displays the cell states.
+ * Extends GridPane and displays the cell states with one CellView per cell.
  * 
  * @author emmas
  * @version 0.1
  */
-public class CellGridView extends GridPane {
+public class CellGridView extends GridPane implements CellGridRenderer {
 	
 	private static final String STYLE_CLASS = "cell-grid-view";
-	private static CellView[][] cellView;
+	private CellView[][] cellView;
+	
+	// cell views created so far, reused by later puzzles
+	private final List<CellView> cellViewPool = new ArrayList<>();
 	
 	/**
 	 * Constructs a CellGridView using the number of rows, number of columns,
@@ -30,7 +36,11 @@ public class CellGridView extends GridPane {
 	}
 	
 	/**
-	 * Initializes the cells of the view.
+	 * Initializes the cells of the view. The cell views of the previous 
+	 * puzzle are reset and reused, and new ones are only created when the 
+	 * grid has more cells than the pool holds. The pool keeps at most as 
+	 * many spare cell views as the grid uses, so a smaller puzzle lets the
+	 * cell views of a much larger one go.
 	 * 
 	 * @param numRows	number of rows in the grid
 	 * @param numCols	number of columns in the grid
@@ -43,17 +53,30 @@ public class CellGridView extends GridPane {
 		// initialize cell view array
 		cellView = new CellView[numRows][numCols];
 		
+		int poolIdx = 0;
 		for (int row = 0; row < numRows; ++row) {
 			
 			for (int col = 0; col < numCols; ++col) {
 				
-				// create cell view at each spot in the array
-				cellView[row][col] = new CellView(cellLength);
+				// take a cell view from the pool, creating it if the pool is used up
+				if (poolIdx == this.cellViewPool.size()) {
+					this.cellViewPool.add(new CellView(cellLength));
+				}
+				CellView view = this.cellViewPool.get(poolIdx++);
+				view.setState(CellState.EMPTY);
+				view.setSize(cellLength);
+				cellView[row][col] = view;
 				
 				// add each cell view to the grid
 				add(cellView[row][col], col, row);
 			}
 		}
+		
+		// drop the spare cell views beyond the number in use
+		int maxPoolSize = 2 * poolIdx;
+		if (this.cellViewPool.size() > maxPoolSize) {
+			this.cellViewPool.subList(maxPoolSize, this.cellViewPool.size()).clear();
+		}
 	}
 	
 	/**
@@ -74,8 +97,32 @@ public class CellGridView extends GridPane {
 	 * @param colIdx	column index of the cell view
 	 * @param state		desired state of the cell
 	 */
+	@Override
 	public void setCellState(int rowIdx, int colIdx, CellState state) {
 		cellView[rowIdx][colIdx].setState(state);
 	}
+	
+	/**
+	 * Binds the mouse handlers of every cell view to the given handler.
+	 * 
+	 * @param handler	handler of the cell input
+	 */
+	@Override
+	public void setCellInputHandler(CellInputHandler handler) {
+		for (int row = 0; row < cellView.length; ++row) {
+			
+			for (int col = 0; col < cellView[row].length; ++col) {
+				final int ROW = row;
+				final int COL = col;
+				final CellView CELL_VIEW = cellView[row][col];
+				CELL_VIEW.setOnMousePressed(event -> handler.cellPressed(ROW, COL, event.getButton()));
+				
+				// a full drag delivers drag events to the other cell views
+				CELL_VIEW.setOnDragDetected(event -> CELL_VIEW.startFullDrag());
+				CELL_VIEW.setOnMouseDragEntered(event -> handler.cellEntered(ROW, COL));
+				CELL_VIEW.setOnMouseReleased(event -> handler.cellReleased());
+			}
+		}
+	}
 
 }
@@ -22,6 +22,7 @@ public class CellView extends StackPane {
 	private Rectangle background = new Rectangle();
 	private Line xLeftLeg = new Line();
 	private Line xRightLeg = new Line();
+	private CellState state;
 
 	/**
 	 * Constructs a cell view using a side length.
@@ -41,6 +42,13 @@ public class CellView extends StackPane {
 	 * @param state	desired state of the cell
 	 */
 	public void setState(CellState state) {
+		// changing the style classes makes JavaFX restyle the cell, so skip 
+		// updates that change nothing
+		if (state == this.state) {
+			return;
+		}
+		this.state = state;
+		
 		ObservableList<String> styleClasses = getStyleClass();
 		styleClasses.removeAll(
 				EMPTY_STYLE_CLASS, FILLED_STYLE_CLASS, MARKED_STYLE_CLASS);
@@ -1,14 +1,20 @@
 package edu.ou.cs2334.project5.views;
 
+import edu.ou.cs2334.project5.interfaces.CellInputHandler;
+import edu.ou.cs2334.project5.interfaces.GridSource;
 import edu.ou.cs2334.project5.models.CellState;
 import edu.ou.cs2334.project5.views.clues.LeftCluesView;
 import edu.ou.cs2334.project5.views.clues.TopCluesView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.beans.value.ObservableValue;
 import javafx.geometry.Pos;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 /**
  * Extends the BorderPane class and displays the cells grid, the row clues
  * to the left of the grid, and the column clues on top of the grid.
@@ -22,10 +28,18 @@ public class NonogramView extends BorderPane {
 	private static final String SOLVED_STYLE_CLASS = "nonogram-view-solved";
 	private LeftCluesView leftCluesView;
 	private TopCluesView topCluesView;
-	private CellGridView cellGridView;
+	private CellGridRenderer cellGridView;
+	private VirtualGridView virtualView;
 	private HBox bottomHBox;
 	private Button loadBtn;
+	private Button saveBtn;
 	private Button resetBtn;
+	private Button undoBtn;
+	private Button redoBtn;
+	private final Label loadingLabel = new Label();
+	private final ProgressBar loadingBar = new ProgressBar();
+	private final Button cancelLoadBtn = new Button("Cancel");
+	private boolean solved;
 	
 	/**
 	 * Constructs a NonogramView by adding the style class "nonogram-view".
@@ -36,25 +50,90 @@ public class NonogramView extends BorderPane {
 	}
 	
 	/**
-	 * Initializes the view.
+	 * Initializes the view with one CellView per cell.
 	 * 
 	 * @param rowClues	2D array representing the row clues
 	 * @param colClues	2D array representing the column clues
 	 * @param cellLength	length of each cell in pixels
 	 */
 	public void initialize(int[][] rowClues, int[][] colClues, int cellLength) {
+		initialize(rowClues, colClues, cellLength, RenderMode.NODES);
+	}
+	
+	/**
+	 * Initializes the view. The VIRTUAL mode reads its states from a
+	 * GridSource, so use the overload that takes one for that mode.
+	 * 
+	 * @param rowClues	2D array representing the row clues
+	 * @param colClues	2D array representing the column clues
+	 * @param cellLength	length of each cell in pixels
+	 * @param mode	how the cell grid is drawn
+	 */
+	public void initialize(int[][] rowClues, int[][] colClues, int cellLength, 
+			RenderMode mode) {
+		initialize(rowClues, colClues, cellLength, mode, null);
+	}
+	
+	/**
+	 * Initializes the view. When the view is initialized again for another
+	 * puzzle, the cell and clue views of the previous puzzle are reused if
+	 * they are drawn the same way.
+	 * 
+	 * @param rowClues	2D array representing the row clues
+	 * @param colClues	2D array representing the column clues
+	 * @param cellLength	length of each cell in pixels
+	 * @param mode	how the cell grid is drawn
+	 * @param source	source of the states drawn in the VIRTUAL mode
+	 * @throws IllegalArgumentException	if the mode is VIRTUAL and the source is null
+	 */
+	public void initialize(int[][] rowClues, int[][] colClues, int cellLength, 
+			RenderMode mode, GridSource source) {
+		if (mode == RenderMode.VIRTUAL) {
+			initVirtual(rowClues, colClues, cellLength, source);
+			return;
+		}
+		this.virtualView = null;
+		
+		// the canvas mode is meant for large puzzles, so its clues are drawn
+		// on one canvas per line as well
+		boolean compactClues = mode == RenderMode.CANVAS;
+		
 		// initialize left clues view
-		this.leftCluesView = new LeftCluesView(rowClues, cellLength, 
-				maxClueLength(rowClues));
+		if (this.leftCluesView != null && this.leftCluesView.isCompact() == compactClues) {
+			this.leftCluesView.setClues(rowClues, cellLength, maxClueLength(rowClues));
+		}
+		else {
+			this.leftCluesView = new LeftCluesView(rowClues, cellLength, 
+					maxClueLength(rowClues), compactClues);
+		}
 		
 		// initialize top clues view
-		this.topCluesView = new TopCluesView(colClues, cellLength, 
-				maxClueLength(colClues));
-
+		if (this.topCluesView != null && this.topCluesView.isCompact() == compactClues) {
+			this.topCluesView.setClues(colClues, cellLength, maxClueLength(colClues));
+		}
+		else {
+			this.topCluesView = new TopCluesView(colClues, cellLength, 
+					maxClueLength(colClues), compactClues);
+		}
+		if (mode == RenderMode.CANVAS) {
+			initCanvas(rowClues.length, colClues.length, cellLength);
+			return;
+		}
 		
 		// initialize cell grid view
-		this.cellGridView = new CellGridView(rowClues.length, colClues.length,
-				cellLength);
+		Region gridRegion;
+		if (mode == RenderMode.NODES && this.cellGridView instanceof CellGridView) {
+			// resize the grid in place, reusing its cell views
+			CellGridView nodeView = (CellGridView) this.cellGridView;
+			nodeView.initCells(rowClues.length, colClues.length, cellLength);
+			gridRegion = nodeView;
+		}
+		else {
+			CellGridView nodeView = new CellGridView(rowClues.length, colClues.length,
+					cellLength);
+			this.cellGridView = nodeView;
+			gridRegion = nodeView;
+		}
 		
 		// set left clues view to left part of the BorderPane
 		setLeft(this.leftCluesView);
@@ -65,8 +144,8 @@ public class NonogramView extends BorderPane {
 		setAlignment(this.topCluesView, Pos.TOP_RIGHT);
 		
 		// set cell grid view to center part of the BorderPane
-		setCenter(this.cellGridView);
-		setAlignment(this.cellGridView, Pos.BOTTOM_RIGHT);
+		setCenter(gridRegion);
+		setAlignment(gridRegion, Pos.BOTTOM_RIGHT);
 		
 		// initialize HBox
 		initBottomHBox();
@@ -75,7 +154,58 @@ public class NonogramView extends BorderPane {
 		setBottom(this.bottomHBox);
 	}
 	
+	private void initCanvas(int numRows, int numCols, int cellLength) {
+		// the canvas view scrolls the clues with the cells, so it fills the pane
+		CanvasCellGridView canvasView;
+		if (this.cellGridView instanceof CanvasCellGridView) {
+			canvasView = (CanvasCellGridView) this.cellGridView;
+			canvasView.initCells(numRows, numCols, cellLength);
+		}
+		else {
+			canvasView = new CanvasCellGridView(numRows, numCols, cellLength);
+		}
+		canvasView.setClueViews(this.leftCluesView, this.topCluesView);
+		this.cellGridView = canvasView;
+		setLeft(null);
+		setTop(null);
+		setCenter(canvasView);
+		
+		initBottomHBox();
+		setBottom(this.bottomHBox);
+	}
+	
+	private void initVirtual(int[][] rowClues, int[][] colClues, int cellLength,
+			GridSource source) {
+		if (source == null) {
+			throw new IllegalArgumentException("The VIRTUAL mode requires a GridSource");
+		}
+		
+		// the virtual view draws the clues itself, so it fills the whole pane
+		if (this.virtualView != null) {
+			this.virtualView.initGrid(rowClues, colClues, cellLength,
+					maxClueLength(rowClues), maxClueLength(colClues), source);
+		}
+		else {
+			this.virtualView = new VirtualGridView(rowClues, colClues, cellLength,
+					maxClueLength(rowClues), maxClueLength(colClues), source);
+		}
+		this.cellGridView = this.virtualView;
+		this.leftCluesView = null;
+		this.topCluesView = null;
+		setLeft(null);
+		setTop(null);
+		setCenter(this.virtualView);
+		
+		initBottomHBox();
+		setBottom(this.bottomHBox);
+	}
+	
 	private void initBottomHBox() {
+		// the buttons are kept across puzzles
+		if (this.bottomHBox != null) {
+			return;
+		}
+		
 		// initialize HBox
 		this.bottomHBox = new HBox();
 		
@@ -85,22 +215,28 @@ public class NonogramView extends BorderPane {
 		// create Load button
 		this.loadBtn = new Button("Load");
 		
+		// create Save button
+		this.saveBtn = new Button("Save");
+		
 		// create Reset button
 		this.resetBtn = new Button("Reset");
 		
+		// create Undo and Redo buttons
+		this.undoBtn = new Button("Undo");
+		this.redoBtn = new Button("Redo");
+		
 		// add buttons to the HBox
-		this.bottomHBox.getChildren().addAll(this.loadBtn, this.resetBtn);
+		this.bottomHBox.getChildren().addAll(this.loadBtn, this.saveBtn, this.resetBtn,
+				this.undoBtn, this.redoBtn);
 	}
 	
 	/**
-	 * Gets the CellView with the given indices.
+	 * Sets the handler that receives mouse input on the cells.
 	 * 
-	 * @param rowIdx	row index of the CellView
-	 * @param colIdx	column index of the CellView
-	 * @return	the CellView with the given indices
+	 * @param handler	handler of the cell input
 	 */
-	public CellView getCellView(int rowIdx, int colIdx) {
-		return cellGridView.getCellView(rowIdx, colIdx);
+	public void setCellInputHandler(CellInputHandler handler) {
+		cellGridView.setCellInputHandler(handler);
 	}
 	
 	/**
@@ -121,6 +257,10 @@ public class NonogramView extends BorderPane {
 	 * @param solved	desired state of the row clue
 	 */
 	public void setRowClueState(int rowIdx, boolean solved) {
+		if (this.virtualView != null) {
+			this.virtualView.setRowClueState(rowIdx, solved);
+			return;
+		}
 		leftCluesView.setState(rowIdx, solved);
 	}
 	
@@ -131,6 +271,10 @@ public class NonogramView extends BorderPane {
 	 * @param solved	desired state of the column clue
 	 */
 	public void setColClueState(int colIdx, boolean solved) {
+		if (this.virtualView != null) {
+			this.virtualView.setColClueState(colIdx, solved);
+			return;
+		}
 		topCluesView.setState(colIdx, solved);
 	}
 	
@@ -140,6 +284,11 @@ public class NonogramView extends BorderPane {
 	 * @param solved	boolean indicated if the puzzle is solved
 	 */
 	public void setPuzzleState(boolean solved) {
+		if (solved == this.solved) {
+			return;
+		}
+		this.solved = solved;
+		
 		// if puzzle is solved, add SOLVED_STYLE_CLASS
 		// else remove all SOLVED_STYLE_CLASS
 		if (solved) {
@@ -159,6 +308,15 @@ public class NonogramView extends BorderPane {
 		return this.loadBtn;
 	}
 	
+	/**
+	 * Returns the view's save button
+	 * 
+	 * @return	the view's save button
+	 */
+	public Button getSaveButton() {
+		return this.saveBtn;
+	}
+	
 	/**
 	 * Returns the view's reset button
 	 * 
@@ -168,6 +326,66 @@ public class NonogramView extends BorderPane {
 		return this.resetBtn;
 	}
 	
+	/**
+	 * Returns the view's undo button
+	 * 
+	 * @return	the view's undo button
+	 */
+	public Button getUndoButton() {
+		return this.undoBtn;
+	}
+	
+	/**
+	 * Returns the view's redo button
+	 * 
+	 * @return	the view's redo button
+	 */
+	public Button getRedoButton() {
+		return this.redoBtn;
+	}
+	
+	/**
+	 * Shows the progress of a puzzle being loaded next to the buttons,
+	 * together with a Cancel button.
+	 * 
+	 * @param message	text describing the load
+	 * @param progress	progress of the load, from 0 to 1
+	 * @param onCancel	called when the Cancel button is clicked
+	 */
+	public void showLoading(String message, ObservableValue<? extends Number> progress,
+			Runnable onCancel) {
+		hideLoading();
+		this.loadingLabel.setText(message);
+		this.loadingBar.progressProperty().bind(progress);
+		this.cancelLoadBtn.setOnAction(event -> onCancel.run());
+		this.bottomHBox.getChildren().addAll(this.loadingLabel, this.loadingBar, 
+				this.cancelLoadBtn);
+	}
+	
+	/**
+	 * Removes the progress of a puzzle load shown by showLoading.
+	 */
+	public void hideLoading() {
+		this.loadingBar.progressProperty().unbind();
+		this.cancelLoadBtn.setOnAction(null);
+		this.bottomHBox.getChildren().removeAll(this.loadingLabel, this.loadingBar, 
+				this.cancelLoadBtn);
+	}
+	
+	/**
+	 * Shows an error alert
+	 * 
+	 * @param header	short description of what failed
+	 * @param content	details of the error
+	 */
+	public void showErrorAlert(String header, String content) {
+		Alert error = new Alert(AlertType.ERROR);
+		error.setTitle("Error");
+		error.setHeaderText(header);
+		error.setContentText(content);
+		error.showAndWait();
+	}
+	
 	/**
 	 * Shows a victory alert
 	 */
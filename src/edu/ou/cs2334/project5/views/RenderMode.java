@@ -0,0 +1,28 @@
+package edu.ou.cs2334.project5.views;
+/**
+ * This enumeration selects how the cell grid of a NonogramView is drawn.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public enum RenderMode {
+
+	/**
+	 * One CellView node per cell, styled by the style sheet.
+	 */
+	NODES,
+
+	/**
+	 * All cells drawn on a single Canvas the size of the viewport, with the
+	 * clues scrolling alongside. The scene graph stays small however large
+	 * the puzzle is, which suits very large puzzles.
+	 */
+	CANVAS,
+
+	/**
+	 * Cells and clues drawn through a scrollable viewport. Only the visible
+	 * part of the puzzle is drawn, so the window may be resized freely.
+	 */
+	VIRTUAL;
+
+}
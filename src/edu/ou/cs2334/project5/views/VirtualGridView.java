@@ -0,0 +1,200 @@
+package edu.ou.cs2334.project5.views;
+
+import edu.ou.cs2334.project5.interfaces.GridSource;
+import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.views.clues.ClueFonts;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.TextAlignment;
+/**
+ * Shows the cell grid together with the row and column clues through a
+ * scrollable viewport. Three canvases the size of the viewport hold the
+ * cells, the visible slice of the row clues, and the visible slice of the
+ * column clues, and all three move with the same scroll bars. Only what is
+ * visible is drawn, and states are read from a GridSource when needed, so
+ * memory and drawing time depend on the size of the viewport rather than
+ * the size of the puzzle.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class VirtualGridView extends AbstractScrollingGridView {
+
+	private static final String STYLE_CLASS = "virtual-grid-view";
+	private static final double FONT_SIZE_SCALE = 1.0 / 2.0;
+
+	private int[][] rowClues;
+	private int[][] colClues;
+	private int numRowClueUnits;
+	private int numColClueUnits;
+	private GridSource source;
+
+	private final Canvas leftCanvas = new Canvas();
+	private final Canvas topCanvas = new Canvas();
+
+	/**
+	 * Constructs a VirtualGridView.
+	 * 
+	 * @param rowClues	2D array representing the row clues
+	 * @param colClues	2D array representing the column clues
+	 * @param cellLength	length of each cell in pixels
+	 * @param numRowClueUnits	the maximum number of numbered clues among all rows
+	 * @param numColClueUnits	the maximum number of numbered clues among all columns
+	 * @param source	source of the cell and clue states to draw
+	 */
+	public VirtualGridView(int[][] rowClues, int[][] colClues, int cellLength,
+			int numRowClueUnits, int numColClueUnits, GridSource source) {
+		super(rowClues.length, colClues.length, cellLength);
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.numRowClueUnits = numRowClueUnits;
+		this.numColClueUnits = numColClueUnits;
+		this.source = source;
+
+		getStyleClass().add(STYLE_CLASS);
+		addClueNodes(this.topCanvas, this.leftCanvas);
+	}
+
+	/**
+	 * Shows another puzzle, keeping the canvases and scroll bars.
+	 * 
+	 * @param rowClues	2D array representing the row clues
+	 * @param colClues	2D array representing the column clues
+	 * @param cellLength	length of each cell in pixels
+	 * @param numRowClueUnits	the maximum number of numbered clues among all rows
+	 * @param numColClueUnits	the maximum number of numbered clues among all columns
+	 * @param source	source of the cell and clue states to draw
+	 */
+	public void initGrid(int[][] rowClues, int[][] colClues, int cellLength,
+			int numRowClueUnits, int numColClueUnits, GridSource source) {
+		this.rowClues = rowClues;
+		this.colClues = colClues;
+		this.numRowClueUnits = numRowClueUnits;
+		this.numColClueUnits = numColClueUnits;
+		this.source = source;
+		setGridSize(rowClues.length, colClues.length, cellLength);
+	}
+
+	@Override
+	public void setCellState(int rowIdx, int colIdx, CellState state) {
+		// cells outside the viewport are read from the source once visible
+		if (isRowVisible(rowIdx) && isColVisible(colIdx)) {
+			drawCell(rowIdx, colIdx, state);
+		}
+	}
+
+	/**
+	 * Updates the state of a row clue if it is visible.
+	 * 
+	 * @param rowIdx	index of the row clue
+	 * @param solved	desired state of the row clue
+	 */
+	public void setRowClueState(int rowIdx, boolean solved) {
+		if (isRowVisible(rowIdx)) {
+			drawRowClue(rowIdx, solved);
+		}
+	}
+
+	/**
+	 * Updates the state of a column clue if it is visible.
+	 * 
+	 * @param colIdx	index of the column clue
+	 * @param solved	desired state of the column clue
+	 */
+	public void setColClueState(int colIdx, boolean solved) {
+		if (isColVisible(colIdx)) {
+			drawColClue(colIdx, solved);
+		}
+	}
+
+	@Override
+	protected void layoutClues(double leftWidth, double topHeight,
+			double viewWidth, double viewHeight) {
+		resizeCanvas(this.topCanvas, leftWidth, 0, viewWidth, topHeight);
+		resizeCanvas(this.leftCanvas, 0, topHeight, leftWidth, viewHeight);
+	}
+
+	@Override
+	protected void redraw() {
+		// the clue canvases follow the grid, so every scroll redraws all three
+		int firstRow = getFirstVisibleRow();
+		int lastRow = getLastVisibleRow();
+		int firstCol = getFirstVisibleCol();
+		int lastCol = getLastVisibleCol();
+
+		for (int row = firstRow; row <= lastRow; ++row) {
+			drawRowClue(row, this.source.isRowSolved(row));
+			for (int col = firstCol; col <= lastCol; ++col) {
+				drawCell(row, col, this.source.getCellState(row, col));
+			}
+		}
+		for (int col = firstCol; col <= lastCol; ++col) {
+			drawColClue(col, this.source.isColSolved(col));
+		}
+	}
+
+	@Override
+	protected void drawCell(int rowIdx, int colIdx) {
+		drawCell(rowIdx, colIdx, this.source.getCellState(rowIdx, colIdx));
+	}
+
+	private void drawCell(int rowIdx, int colIdx, CellState state) {
+		CanvasStyle.drawCell(getCellCanvas().getGraphicsContext2D(),
+				getColX(colIdx), getRowY(rowIdx), getCellLength(), state,
+				isHover(rowIdx, colIdx));
+	}
+
+	private void drawRowClue(int rowIdx, boolean solved) {
+		GraphicsContext gc = this.leftCanvas.getGraphicsContext2D();
+		int cellLength = getCellLength();
+		double y = getRowY(rowIdx);
+		int[] clue = this.rowClues[rowIdx];
+
+		// blank units pad the front so the numbers line up at the grid
+		gc.setFill(solved ? CanvasStyle.SOLVED_BACKGROUND_COLOR
+				: CanvasStyle.UNSOLVED_BACKGROUND_COLOR);
+		gc.fillRect(0, y, this.leftCanvas.getWidth(), cellLength);
+		prepareText(gc, solved);
+		int firstUnit = this.numRowClueUnits - clue.length;
+		for (int i = 0; i < clue.length; ++i) {
+			gc.fillText(Integer.toString(clue[i]),
+					(firstUnit + i + 0.5) * cellLength, y + 0.5 * cellLength);
+		}
+	}
+
+	private void drawColClue(int colIdx, boolean solved) {
+		GraphicsContext gc = this.topCanvas.getGraphicsContext2D();
+		int cellLength = getCellLength();
+		double x = getColX(colIdx);
+		int[] clue = this.colClues[colIdx];
+
+		gc.setFill(solved ? CanvasStyle.SOLVED_BACKGROUND_COLOR
+				: CanvasStyle.UNSOLVED_BACKGROUND_COLOR);
+		gc.fillRect(x, 0, cellLength, this.topCanvas.getHeight());
+		prepareText(gc, solved);
+		int firstUnit = this.numColClueUnits - clue.length;
+		for (int i = 0; i < clue.length; ++i) {
+			gc.fillText(Integer.toString(clue[i]),
+					x + 0.5 * cellLength, (firstUnit + i + 0.5) * cellLength);
+		}
+	}
+
+	private void prepareText(GraphicsContext gc, boolean solved) {
+		gc.setFill(solved ? CanvasStyle.SOLVED_TEXT_COLOR : CanvasStyle.UNSOLVED_TEXT_COLOR);
+		gc.setFont(ClueFonts.get(FONT_SIZE_SCALE * getCellLength()));
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.CENTER);
+	}
+
+	@Override
+	protected double getLeftWidth() {
+		return this.numRowClueUnits * getCellLength();
+	}
+
+	@Override
+	protected double getTopHeight() {
+		return this.numColClueUnits * getCellLength();
+	}
+
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.layout.FlowPane;
 
 /**
@@ -15,9 +16,25 @@ import javafx.scene.layout.FlowPane;
 public abstract class AbstractGroupCluesView extends FlowPane {
 
 	/**
-	 * A list of oriented clues.
+	 * A list of oriented clues. It keeps some spare clues of larger puzzles
+	 * shown before, so they can be reused.
 	 */
-	private List<AbstractOrientedClueView> clueViews;
+	private List<ClueLineView> clueViews = new ArrayList<>();
+
+	/**
+	 * The same clues as nodes of the pane, in the same order.
+	 */
+	private List<Node> clueNodes = new ArrayList<>();
+
+	/**
+	 * The direction the numbers of each clue run in.
+	 */
+	private Orientation lineOrientation;
+
+	/**
+	 * Whether each clue is drawn on one canvas.
+	 */
+	private boolean compact;
 
 	/**
 	 * Initializes an AbstractGroupClues view using the given parameter values.
@@ -31,6 +48,24 @@ public abstract class AbstractGroupCluesView extends FlowPane {
 	protected AbstractGroupCluesView(
 			Orientation orientation, String styleClass,
 			int[][] setOfClues, int cellLength, int numClueUnits) {
+		this(orientation, styleClass, setOfClues, cellLength, numClueUnits, false);
+	}
+
+	/**
+	 * Initializes an AbstractGroupClues view using the given parameter values.
+	 * A compact view draws each clue on a single ClueLineCanvas instead of
+	 * building a tree of nodes per clue number.
+	 * 
+	 * @param orientation the orientation of the view (HORIZONTAL or VERTICAL)
+	 * @param styleClass the name of a styling class for the view
+	 * @param setOfClues an array of clue arrays
+	 * @param cellLength the length of a cell
+	 * @param numClueUnits the maximum number of numbered clues overall
+	 * @param compact whether each clue is drawn on one canvas
+	 */
+	protected AbstractGroupCluesView(
+			Orientation orientation, String styleClass,
+			int[][] setOfClues, int cellLength, int numClueUnits, boolean compact) {
 		// Set the orientation -------------------------------------------------
 		setOrientation(orientation);
 
@@ -38,11 +73,11 @@ public abstract class AbstractGroupCluesView extends FlowPane {
 		getStyleClass().add(styleClass);
 		
 		// Create and add clues to list
-		clueViews = new ArrayList<>(setOfClues.length);
-		for (int[] clue : setOfClues) {
-			clueViews.add(makeClue(clue, cellLength, numClueUnits));
-		}
-		getChildren().addAll(clueViews);
+		// (the numbers of a clue run across the direction the clues are stacked)
+		this.lineOrientation = orientation == Orientation.VERTICAL
+				? Orientation.HORIZONTAL : Orientation.VERTICAL;
+		this.compact = compact;
+		fillClues(setOfClues, cellLength, numClueUnits);
 		setMaxWidth(USE_PREF_SIZE);
 		setMaxHeight(USE_PREF_SIZE);
 		
@@ -52,6 +87,53 @@ public abstract class AbstractGroupCluesView extends FlowPane {
 	
 	protected abstract AbstractOrientedClueView makeClue(int[] clue, int cellLength, int numClueUnits);
 
+	/**
+	 * Shows another set of clues, reusing the clue views already created
+	 * and creating only the ones that are missing. All clues are shown as
+	 * unsolved.
+	 * 
+	 * @param setOfClues an array of clue arrays
+	 * @param cellLength the length of a cell
+	 * @param numClueUnits the maximum number of numbered clues overall
+	 */
+	public void setClues(int[][] setOfClues, int cellLength, int numClueUnits) {
+		fillClues(setOfClues, cellLength, numClueUnits);
+	}
+
+	private void fillClues(int[][] setOfClues, int cellLength, int numClueUnits) {
+		for (int i = 0; i < setOfClues.length; ++i) {
+			if (i < clueViews.size()) {
+				clueViews.get(i).setClues(setOfClues[i], cellLength, numClueUnits);
+			} else if (compact) {
+				ClueLineCanvas line = new ClueLineCanvas(
+						lineOrientation, setOfClues[i], cellLength, numClueUnits);
+				clueViews.add(line);
+				clueNodes.add(line);
+			} else {
+				AbstractOrientedClueView view = makeClue(setOfClues[i], cellLength, numClueUnits);
+				clueViews.add(view);
+				clueNodes.add(view);
+			}
+		}
+		getChildren().setAll(clueNodes.subList(0, setOfClues.length));
+		
+		// drop the spare clues beyond the number in use
+		int maxPoolSize = 2 * setOfClues.length;
+		if (clueViews.size() > maxPoolSize) {
+			clueViews.subList(maxPoolSize, clueViews.size()).clear();
+			clueNodes.subList(maxPoolSize, clueNodes.size()).clear();
+		}
+	}
+
+	/**
+	 * Returns whether each clue is drawn on one canvas.
+	 * 
+	 * @return true if the view is compact
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+
 	/**
 	 * Updates the state at a given clue index.
 	 * 
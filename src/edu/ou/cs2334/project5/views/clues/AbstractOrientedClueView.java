@@ -1,6 +1,6 @@
 package edu.ou.cs2334.project5.views.clues;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 import javafx.geometry.Orientation;
@@ -15,12 +15,23 @@ import javafx.scene.layout.FlowPane;
  * @author It's you
  * @version 0.1
  */
-public abstract class AbstractOrientedClueView extends FlowPane {
+public abstract class AbstractOrientedClueView extends FlowPane implements ClueLineView {
 
 	/**
-	 * A list of ClueItemView elements.
+	 * A list of ClueItemView elements. It keeps some spare items of longer
+	 * clues shown before, so they can be reused.
 	 */
-	private List<ClueItemView> clueViews = new LinkedList<>();
+	private List<ClueItemView> clueViews = new ArrayList<>();
+	
+	/**
+	 * The number of ClueItemView elements in use.
+	 */
+	private int numItems;
+	
+	/**
+	 * The solved status shown, so unchanged updates can be skipped.
+	 */
+	private boolean solved;
 
 	/**
 	 * Initializes an AbstractOrientedClueView using the given parameter values.
@@ -41,22 +52,7 @@ public abstract class AbstractOrientedClueView extends FlowPane {
 		getStyleClass().add(styleClass);
 		
 		// Add clues -----------------------------------------------------------
-		
-		// Add clues from the clues list
-		for (int clue : clues) {
-			clueViews.add(new ClueItemView(clue, cellLength));
-		}
-		
-		// Prepend the list with blank ClueViews to pad the front
-		// (e.g., say there are 2 clues [1, 2] but a maximum of
-		// 4 clues overall (since another ClueView may have more
-		// clues) so we display something like "   1 2"
-		while (clueViews.size() < numClueUnits) {
-			clueViews.add(0, new ClueItemView(cellLength));
-		}
-		
-		// Add these elements to the pane --------------------------------------
-		getChildren().addAll(clueViews);
+		fillClues(clues, cellLength, numClueUnits);
 		
 		// Use preferred dimensions --------------------------------------------
 		setMaxWidth(USE_PREF_SIZE);
@@ -69,14 +65,61 @@ public abstract class AbstractOrientedClueView extends FlowPane {
 		setPrefWrapLength(Double.MAX_VALUE);
 	}
 
+	/**
+	 * Shows another clue in this view, reusing the ClueItemView elements 
+	 * already created and creating only the ones that are missing.
+	 * 
+	 * @param clues an array of clues
+	 * @param cellLength the length of a cell
+	 * @param numClueUnits the maximum number of numbered clues overall
+	 */
+	@Override
+	public void setClues(int[] clues, int cellLength, int numClueUnits) {
+		fillClues(clues, cellLength, numClueUnits);
+	}
+
+	private void fillClues(int[] clues, int cellLength, int numClueUnits) {
+		// Pad the front with blank ClueViews
+		// (e.g., say there are 2 clues [1, 2] but a maximum of
+		// 4 clues overall (since another ClueView may have more
+		// clues) so we display something like "   1 2"
+		int numItems = Math.max(numClueUnits, clues.length);
+		int numPadUnits = numItems - clues.length;
+		while (clueViews.size() < numItems) {
+			clueViews.add(new ClueItemView(cellLength));
+		}
+		for (int i = 0; i < numItems; ++i) {
+			ClueItemView clueView = clueViews.get(i);
+			clueView.setClue(i < numPadUnits ? "" : Integer.toString(clues[i - numPadUnits]));
+			clueView.setSize(cellLength);
+			clueView.setState(false);
+		}
+		solved = false;
+		this.numItems = numItems;
+		
+		// Add these elements to the pane --------------------------------------
+		getChildren().setAll(clueViews.subList(0, numItems));
+		
+		// Drop the spare items beyond the number in use
+		int maxPoolSize = 2 * numItems;
+		if (clueViews.size() > maxPoolSize) {
+			clueViews.subList(maxPoolSize, clueViews.size()).clear();
+		}
+	}
+
 	/**
 	 * Update the solved status of each ClueItemView.
 	 * 
 	 * @param solved whether or not the clue is solved
 	 */
+	@Override
 	public void setState(boolean solved) {
-		for (ClueItemView clueView : clueViews) {
-			clueView.setState(solved);
+		if (solved == this.solved) {
+			return;
+		}
+		this.solved = solved;
+		for (int i = 0; i < numItems; ++i) {
+			clueViews.get(i).setState(solved);
 		}
 	}
 
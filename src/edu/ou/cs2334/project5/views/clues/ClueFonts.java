@@ -0,0 +1,40 @@
+package edu.ou.cs2334.project5.views.clues;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.text.Font;
+
+/**
+ * Shares one Font per size among all clue views and grid views. Every clue of a puzzle is
+ * drawn at the same size, so a puzzle needs one Font however many clues it
+ * has.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public final class ClueFonts {
+
+	/**
+	 * The font family of the clues, the same as in style.css.
+	 */
+	static final String FONT_FAMILY = "sans-serif";
+
+	/**
+	 * The cached fonts keyed by size.
+	 */
+	private static final Map<Double, Font> FONTS = new ConcurrentHashMap<>();
+
+	private ClueFonts() {
+	}
+
+	/**
+	 * Returns the clue font of the given size, creating it on first use.
+	 * 
+	 * @param size the font size in points
+	 * @return the shared font of that size
+	 */
+	public static Font get(double size) {
+		return FONTS.computeIfAbsent(size, key -> Font.font(FONT_FAMILY, key));
+	}
+}
@@ -2,7 +2,6 @@ package edu.ou.cs2334.project5.views.clues;
 import javafx.collections.ObservableList;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
 /**
@@ -70,12 +69,21 @@ public class ClueItemView extends StackPane {
 	 */
 	private ClueItemView(String clue, int sideLength) {
 		getStyleClass().add(STYLE_CLASS);
-		text.setText(clue);
+		setClue(clue);
 		setState(false);
 		setSize(sideLength);
 		getChildren().addAll(background, text);
 	}
 
+	/**
+	 * Updates the clue shown, so the item can be reused for another clue.
+	 * 
+	 * @param clue the String representation of a clue, empty for padding
+	 */
+	void setClue(String clue) {
+		text.setText(clue);
+	}
+
 	/**
 	 * Updates the state of the ClueItemView by updating style classes.
 	 * 
@@ -102,6 +110,7 @@ public class ClueItemView extends StackPane {
 	public void setSize(int sideLength) {
 		background.setWidth(sideLength);
 		background.setHeight(sideLength);
-		text.setFont(new Font(FONT_SIZE_SCALE * sideLength));
+		// every clue has the same size, so they all share one Font
+		text.setFont(ClueFonts.get(FONT_SIZE_SCALE * sideLength));
 	}
 }
@@ -0,0 +1,111 @@
+package edu.ou.cs2334.project5.views.clues;
+
+import edu.ou.cs2334.project5.views.CanvasStyle;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Draws a whole row or column clue on one Canvas. It looks like an
+ * AbstractOrientedClueView, but it is a single node instead of a StackPane,
+ * a Rectangle and a Text per clue number, which keeps the clue panels of
+ * large puzzles small.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+public class ClueLineCanvas extends Canvas implements ClueLineView {
+
+	/**
+	 * The scaling factor of the font size relative to the cell length.
+	 */
+	private static final double FONT_SIZE_SCALE = 1.0 / 2.0;
+
+	/**
+	 * The clue numbers.
+	 */
+	private int[] clues;
+
+	/**
+	 * The length of a cell.
+	 */
+	private int cellLength;
+
+	/**
+	 * The number of blank units before the first clue number.
+	 */
+	private int numPadUnits;
+
+	/**
+	 * The direction the clue numbers run in.
+	 */
+	private final Orientation orientation;
+
+	/**
+	 * The solved status shown, so unchanged updates can be skipped.
+	 */
+	private boolean solved;
+
+	/**
+	 * Constructs a ClueLineCanvas using the given parameter values.
+	 * 
+	 * @param orientation the direction the numbers run in (HORIZONTAL for a row)
+	 * @param clues an array of clues
+	 * @param cellLength the length of a cell
+	 * @param numClueUnits the maximum number of numbered clues overall
+	 */
+	public ClueLineCanvas(Orientation orientation, int[] clues, int cellLength,
+			int numClueUnits) {
+		this.orientation = orientation;
+		setClues(clues, cellLength, numClueUnits);
+	}
+
+	@Override
+	public void setClues(int[] clues, int cellLength, int numClueUnits) {
+		this.clues = clues;
+		this.cellLength = cellLength;
+		this.numPadUnits = Math.max(0, numClueUnits - clues.length);
+		this.solved = false;
+		if (orientation == Orientation.HORIZONTAL) {
+			setWidth(numClueUnits * cellLength);
+			setHeight(cellLength);
+		} else {
+			setWidth(cellLength);
+			setHeight(numClueUnits * cellLength);
+		}
+		draw();
+	}
+
+	@Override
+	public void setState(boolean solved) {
+		if (solved == this.solved) {
+			return;
+		}
+		this.solved = solved;
+		draw();
+	}
+
+	private void draw() {
+		GraphicsContext gc = getGraphicsContext2D();
+		gc.setFill(solved ? CanvasStyle.SOLVED_BACKGROUND_COLOR
+				: CanvasStyle.UNSOLVED_BACKGROUND_COLOR);
+		gc.fillRect(0, 0, getWidth(), getHeight());
+
+		// center each number in its own unit, after the blank units
+		gc.setFill(solved ? CanvasStyle.SOLVED_TEXT_COLOR : CanvasStyle.UNSOLVED_TEXT_COLOR);
+		gc.setFont(ClueFonts.get(FONT_SIZE_SCALE * cellLength));
+		gc.setTextAlign(TextAlignment.CENTER);
+		gc.setTextBaseline(VPos.CENTER);
+		double center = 0.5 * cellLength;
+		for (int i = 0; i < clues.length; ++i) {
+			double along = (numPadUnits + i + 0.5) * cellLength;
+			if (orientation == Orientation.HORIZONTAL) {
+				gc.fillText(Integer.toString(clues[i]), along, center);
+			} else {
+				gc.fillText(Integer.toString(clues[i]), center, along);
+			}
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package edu.ou.cs2334.project5.views.clues;
+
+/**
+ * A single row or column clue shown in an AbstractGroupCluesView.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+interface ClueLineView {
+
+	/**
+	 * Updates the solved status shown by the clue.
+	 * 
+	 * @param solved whether or not the clue is solved
+	 */
+	void setState(boolean solved);
+
+	/**
+	 * Shows another clue, so the view can be reused for another puzzle. The
+	 * clue is shown as unsolved.
+	 * 
+	 * @param clues an array of clues
+	 * @param cellLength the length of a cell
+	 * @param numClueUnits the maximum number of numbered clues overall
+	 */
+	void setClues(int[] clues, int cellLength, int numClueUnits);
+}
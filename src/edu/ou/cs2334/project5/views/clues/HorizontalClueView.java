@@ -26,4 +26,17 @@ public class HorizontalClueView extends AbstractOrientedClueView {
 		setMaxWidth(width * cellLength);
 	}
 
+	/**
+	 * Shows another clue in this view.
+	 * 
+	 * @param rowClue an array of row clues
+	 * @param cellLength the length of a cell
+	 * @param width the maximum number of numbered clues among all rows
+	 */
+	@Override
+	public void setClues(int[] rowClue, int cellLength, int width) {
+		super.setClues(rowClue, cellLength, width);
+		setMaxWidth(width * cellLength);
+	}
+
 }
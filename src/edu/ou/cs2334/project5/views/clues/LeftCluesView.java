@@ -23,7 +23,36 @@ public class LeftCluesView extends AbstractGroupCluesView {
 	 * @param width the maximum number of numbered clues among all rows
 	 */
 	public LeftCluesView(int[][] rowClues, int cellLength, int width) {
-		super(Orientation.VERTICAL, STYLE_CLASS, rowClues, cellLength, width);
+		this(rowClues, cellLength, width, false);
+	}
+	
+	/**
+	 * Constructs a LeftCluesView given a set of clues, cell length, width, and
+	 * whether each clue is drawn on one canvas.
+	 * 
+	 * @param rowClues a set of horizontal row clues
+	 * @param cellLength the length of a cell
+	 * @param width the maximum number of numbered clues among all rows
+	 * @param compact whether each clue is drawn on one canvas
+	 */
+	public LeftCluesView(int[][] rowClues, int cellLength, int width,
+			boolean compact) {
+		super(Orientation.VERTICAL, STYLE_CLASS, rowClues, cellLength, width, compact);
+		setMaxHeight(rowClues.length * cellLength);
+		
+		setPrefWrapLength(rowClues.length * cellLength);
+	}
+	
+	/**
+	 * Shows another set of clues, reusing the clue views already created.
+	 * 
+	 * @param rowClues a set of horizontal row clues
+	 * @param cellLength the length of a cell
+	 * @param width the maximum number of numbered clues among all rows
+	 */
+	@Override
+	public void setClues(int[][] rowClues, int cellLength, int width) {
+		super.setClues(rowClues, cellLength, width);
 		setMaxHeight(rowClues.length * cellLength);
 		
 		setPrefWrapLength(rowClues.length * cellLength);
@@ -23,7 +23,36 @@ public class TopCluesView extends AbstractGroupCluesView {
 	 * @param height the maximum number of numbered clues among all columns
 	 */
 	public TopCluesView(int[][] colClues, int cellLength, int height) {
-		super(Orientation.HORIZONTAL, STYLE_CLASS, colClues, cellLength, height);
+		this(colClues, cellLength, height, false);
+	}
+	
+	/**
+	 * Constructs a TopCluesView given a set of clues, cell length, height, and
+	 * whether each clue is drawn on one canvas.
+	 * 
+	 * @param colClues a set of column clues
+	 * @param cellLength the length of a cell
+	 * @param height the maximum number of numbered clues among all columns
+	 * @param compact whether each clue is drawn on one canvas
+	 */
+	public TopCluesView(int[][] colClues, int cellLength, int height,
+			boolean compact) {
+		super(Orientation.HORIZONTAL, STYLE_CLASS, colClues, cellLength, height, compact);
+		setMaxWidth(colClues.length * cellLength);
+		
+		setPrefWrapLength(colClues.length * cellLength);
+	}
+	
+	/**
+	 * Shows another set of clues, reusing the clue views already created.
+	 * 
+	 * @param colClues a set of column clues
+	 * @param cellLength the length of a cell
+	 * @param height the maximum number of numbered clues among all columns
+	 */
+	@Override
+	public void setClues(int[][] colClues, int cellLength, int height) {
+		super.setClues(colClues, cellLength, height);
 		setMaxWidth(colClues.length * cellLength);
 		
 		setPrefWrapLength(colClues.length * cellLength);
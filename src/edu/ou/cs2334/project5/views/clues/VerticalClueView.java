@@ -25,4 +25,17 @@ public class VerticalClueView extends AbstractOrientedClueView {
 		setMaxHeight(height * cellLength);
 	}
 
+	/**
+	 * Shows another clue in this view.
+	 * 
+	 * @param colClue an array of column clues
+	 * @param cellLength the length of a cell
+	 * @param height the maximum number of numbered clues among all columns
+	 */
+	@Override
+	public void setClues(int[] colClue, int cellLength, int height) {
+		super.setClues(colClue, cellLength, height);
+		setMaxHeight(height * cellLength);
+	}
+
 }
@@ -0,0 +1,101 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.BacktrackingSolver;
+import edu.ou.cs2334.project5.solvers.Grid;
+import edu.ou.cs2334.project5.solvers.LineCache;
+import edu.ou.cs2334.project5.solvers.SearchResult;
+
+class BacktrackingSolverTest {
+
+	@Test
+	void testAmbiguousPuzzle() {
+		// two diagonals fit these clues, so line logic alone cannot decide
+		int[][] clues = {{1}, {1}};
+		SearchResult result = new BacktrackingSolver(clues, clues).solve(3);
+		assertEquals(2, result.getNumSolutions());
+		assertTrue(result.isExhausted());
+
+		result = new BacktrackingSolver(clues, clues).solve(2);
+		assertEquals(2, result.getNumSolutions());
+		assertFalse(result.isExhausted());
+		assertFalse(result.getSolutions().get(0).equals(result.getSolutions().get(1)));
+	}
+
+	@Test
+	void testSolveFromPartialGrid() {
+		// a filled corner leaves only one of the two diagonals
+		int[][] clues = {{1}, {1}};
+		Grid start = new Grid(2, 2);
+		start.set(0, 0, Grid.FILLED);
+		SearchResult result = new BacktrackingSolver(clues, clues).solve(start, 2, 
+				Long.MAX_VALUE, Long.MAX_VALUE);
+		assertEquals(1, result.getNumSolutions());
+		assertTrue(result.isExhausted());
+		assertEquals(Grid.FILLED, result.getSolutions().get(0).get(1, 1));
+		assertEquals(Grid.UNKNOWN, start.get(1, 1));
+	}
+
+	@Test
+	void testNoSolution() {
+		int[][] rowClues = {{2}, {0}};
+		int[][] colClues = {{0}, {1}};
+		SearchResult result = new BacktrackingSolver(rowClues, colClues).solve();
+		assertFalse(result.isSolved());
+		assertTrue(result.isExhausted());
+		assertThrows(IllegalStateException.class,
+				() -> result.applyTo(new NonogramModel(rowClues, colClues)));
+	}
+
+	@Test
+	void testSolveModel() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/bunny.txt");
+		SearchResult result = new BacktrackingSolver(model).solve(2);
+		assertEquals(1, result.getNumSolutions());
+		assertTrue(result.isExhausted());
+
+		result.applyTo(model);
+		assertTrue(model.isSolved());
+	}
+
+	@Test
+	void testLineCacheDuringSearch() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/pikachu.txt");
+		BacktrackingSolver solver = new BacktrackingSolver(model);
+		SearchResult result = solver.solve(2);
+		assertTrue(result.isSolved());
+
+		// probing and backtracking bring line states back, which the cache answers
+		LineCache cache = solver.getLineCache();
+		assertTrue(cache.getHits() > 0);
+		assertTrue(cache.getMisses() > 0);
+
+		// the cached line logic finds the same solutions as uncached line logic
+		SearchResult uncached = new BacktrackingSolver(model.getRowClueSet(), 
+				model.getColClueSet(), null).solve(2);
+		assertEquals(result.getSolutions(), uncached.getSolutions());
+	}
+
+	@Test
+	void testHardPuzzleWithinTimeLimit() throws IOException {
+		// a 43x51 puzzle that line logic barely starts; takes about a second
+		// warm, so the limit leaves room for a cold JIT and a slow machine
+		NonogramModel model = new NonogramModel("puzzles/mr-monopoly.txt");
+		SearchResult result = new BacktrackingSolver(model)
+				.solve(1, Long.MAX_VALUE, TimeUnit.SECONDS.toNanos(10));
+		assertFalse(result.isLimitReached());
+		assertTrue(result.isSolved());
+
+		result.applyTo(model);
+		assertTrue(model.isSolved());
+	}
+
+}
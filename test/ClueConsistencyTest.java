@@ -0,0 +1,32 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.tools.ClueConsistency;
+
+class ClueConsistencyTest {
+
+	@Test
+	void testConsistentPuzzle() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/bunny.txt");
+		assertTrue(ClueConsistency.findProblems(model.getRowClues(), model.getColClues()).isEmpty());
+	}
+
+	@Test
+	void testInconsistentClues() {
+		List<String> problems = ClueConsistency.findProblems(
+				new int[][] {{1, 1}, {0}}, new int[][] {{1}, {0}});
+		assertEquals(2, problems.size());
+		assertEquals("row 0 needs 3 cells but has 2", problems.get(0));
+		assertEquals("row clues sum to 2 but column clues sum to 1", problems.get(1));
+
+		problems = ClueConsistency.findProblems(new int[][] {{0, 1}}, new int[][] {{1}});
+		assertEquals("row 0 has invalid run 0", problems.get(0));
+	}
+
+}
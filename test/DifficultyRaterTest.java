@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.DifficultyRater;
+import edu.ou.cs2334.project5.solvers.DifficultyRating;
+import edu.ou.cs2334.project5.solvers.DifficultyRating.Tier;
+import edu.ou.cs2334.project5.solvers.LineSolver;
+import edu.ou.cs2334.project5.solvers.UniquenessResult.Verdict;
+
+class DifficultyRaterTest {
+
+	private static final int[][] DIAGONAL_CLUES = {{1}, {1}};
+
+	@Test
+	void testLogicOnlyPuzzle() throws IOException {
+		DifficultyRating rating = new DifficultyRater().rate(new NonogramModel("puzzles/bunny.txt"));
+		assertFalse(rating.isGuessingRequired());
+		assertEquals(0, rating.getNumNodes());
+		assertEquals(Verdict.UNIQUE, rating.getVerdict());
+		assertTrue(rating.getNumSweeps() > 0);
+		assertTrue((rating.getTechniques() & LineSolver.OVERLAP) != 0);
+		assertTrue(rating.getTier().compareTo(Tier.EXPERT) < 0);
+		assertEquals(DifficultyRater.tierOf(rating.getScore()), rating.getTier());
+	}
+
+	@Test
+	void testGuessingPuzzle() {
+		DifficultyRating rating = new DifficultyRater().rate(
+				ClueSet.of(DIAGONAL_CLUES), ClueSet.of(DIAGONAL_CLUES));
+		assertTrue(rating.isGuessingRequired());
+		assertTrue(rating.getNumNodes() > 0);
+		assertEquals(Verdict.MULTIPLE, rating.getVerdict());
+		assertEquals(Tier.EXPERT, rating.getTier());
+	}
+
+	@Test
+	void testTimedOutRatingNotCached() {
+		// no time at all leaves the search undecided before its first node
+		DifficultyRater rater = new DifficultyRater(DifficultyRater.DEFAULT_MAX_NODES, 0);
+		DifficultyRating rating = rater.rate(ClueSet.of(DIAGONAL_CLUES), ClueSet.of(DIAGONAL_CLUES));
+		assertEquals(Verdict.UNDECIDED, rating.getVerdict());
+		assertEquals(0, rater.getCacheSize());
+	}
+
+	@Test
+	void testCache() throws IOException {
+		DifficultyRater rater = new DifficultyRater();
+		DifficultyRating first = rater.rate(new NonogramModel("puzzles/space-invader.txt"));
+		DifficultyRating second = rater.rate(new NonogramModel("puzzles/space-invader.txt"));
+		assertSame(first, second);
+		assertEquals(1, rater.getHits());
+		assertEquals(1, rater.getMisses());
+		assertEquals(1, rater.getCacheSize());
+
+		// the same clues split differently between lines hash differently
+		ClueSet cols = ClueSet.of(new int[][] {{1}});
+		assertNotEquals(
+				DifficultyRater.contentHash(ClueSet.of(new int[][] {{1, 1}, {2}}), cols),
+				DifficultyRater.contentHash(ClueSet.of(new int[][] {{1}, {1, 2}}), cols));
+
+		Path file = Files.createTempFile("ratings", ".tsv");
+		try {
+			rater.saveCache(file);
+			DifficultyRater loaded = new DifficultyRater();
+			assertEquals(1, loaded.loadCache(file));
+			DifficultyRating cached = loaded.rate(new NonogramModel("puzzles/space-invader.txt"));
+			assertEquals(1, loaded.getHits());
+			assertEquals(first.getScore(), cached.getScore());
+			assertEquals(first.getTier(), cached.getTier());
+			assertEquals(first.getContentHash(), cached.getContentHash());
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testRateAll() throws IOException {
+		Path missing = Paths.get("puzzles/missing.txt");
+		List<Path> paths = Arrays.asList(Paths.get("puzzles/bunny.txt"),
+				Paths.get("puzzles/space-invader.txt"), missing, Paths.get("puzzles/bunny.txt"));
+		DifficultyRater rater = new DifficultyRater();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			Map<Path, Exception> errors = new HashMap<>();
+			List<DifficultyRating> ratings = rater.rateAll(paths, pool, errors);
+			assertEquals(4, ratings.size());
+			assertEquals(10, ratings.get(1).getNumRows());
+			assertNull(ratings.get(2));
+			assertEquals(ratings.get(0).getContentHash(), ratings.get(3).getContentHash());
+			assertEquals(2, rater.getCacheSize());
+			assertEquals(1, errors.size());
+			assertTrue(errors.get(missing) instanceof IOException);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.Grid;
+import edu.ou.cs2334.project5.solvers.LogicSolver;
+import edu.ou.cs2334.project5.tools.ImageGrid;
+
+class ImageGridTest {
+
+	private static final int BLACK_RGB = 0xFF000000;
+	private static final int WHITE_RGB = 0xFFFFFFFF;
+
+	@Test
+	void testDownsample() {
+		// 4x6 pixels, each cell of a 2x3 grid covers a 2x2 block
+		BufferedImage image = new BufferedImage(6, 4, BufferedImage.TYPE_INT_ARGB);
+		for (int y = 0; y < 4; ++y) {
+			for (int x = 0; x < 6; ++x) {
+				image.setRGB(x, y, (x / 2 + y / 2) % 2 == 0 ? BLACK_RGB : WHITE_RGB);
+			}
+		}
+		image.setRGB(4, 0, 0x00000000);
+		int[][] levels = ImageGrid.downsample(image, 2, 3);
+		assertArrayEquals(new int[] {ImageGrid.BLACK, ImageGrid.WHITE, 63}, levels[0]);
+		assertArrayEquals(new int[] {ImageGrid.WHITE, ImageGrid.BLACK, ImageGrid.WHITE}, levels[1]);
+		assertEquals(2, ImageGrid.rowsFor(image, 3));
+
+		// a grid finer than the image shares pixels between cells
+		levels = ImageGrid.downsample(image, 8, 12);
+		assertEquals(ImageGrid.BLACK, levels[7][5]);
+		assertEquals(ImageGrid.WHITE, levels[7][11]);
+		assertEquals(ImageGrid.WHITE, levels[0][9]);
+	}
+
+	@Test
+	void testThreshold() {
+		int[][] levels = {{10, 200, 30}, {220, 40, 250}};
+		int threshold = ImageGrid.otsuThreshold(levels);
+		assertTrue(threshold >= 40 && threshold < 200);
+		boolean[][] cells = ImageGrid.threshold(levels, threshold, false);
+		assertArrayEquals(new boolean[] {true, false, true}, cells[0]);
+		assertArrayEquals(new boolean[] {false, true, false}, cells[1]);
+		cells = ImageGrid.threshold(levels, threshold, true);
+		assertArrayEquals(new boolean[] {false, true, false}, cells[0]);
+	}
+
+	@Test
+	void testCluesMatchPuzzle() throws IOException {
+		// draw a solved puzzle with 3x3 pixels per cell and convert it back
+		NonogramModel model = new NonogramModel("puzzles/space-invader.txt");
+		boolean[][] cells = new boolean[model.getNumRows()][model.getNumCols()];
+		Grid solution = new LogicSolver(model).solve().getGrid();
+		BufferedImage image = new BufferedImage(3 * model.getNumCols(), 3 * model.getNumRows(),
+				BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < image.getHeight(); ++y) {
+			for (int x = 0; x < image.getWidth(); ++x) {
+				boolean filled = solution.get(y / 3, x / 3) == Grid.FILLED;
+				image.setRGB(x, y, filled ? BLACK_RGB : WHITE_RGB);
+				cells[y / 3][x / 3] = filled;
+			}
+		}
+		int[][] levels = ImageGrid.downsample(image, model.getNumRows(), model.getNumCols());
+		boolean[][] converted = ImageGrid.threshold(levels, ImageGrid.otsuThreshold(levels), false);
+		for (int row = 0; row < cells.length; ++row) {
+			assertArrayEquals(cells[row], converted[row]);
+		}
+		assertArrayEquals(model.getRowClues(), ImageGrid.rowClues(converted));
+		assertArrayEquals(model.getColClues(), ImageGrid.colClues(converted));
+	}
+
+}
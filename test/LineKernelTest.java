@@ -0,0 +1,100 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.LineKernel;
+
+// run with --add-modules jdk.incubator.vector and the vector folder compiled
+// in to check the vector kernel; otherwise both kernels are scalar
+class LineKernelTest {
+
+	// none of these is a multiple of the 16 to 64 lanes of a vector
+	private static final int[] LENGTHS = {1, 7, 15, 17, 33, 63, 65, 100, 129, 200, 1001};
+
+	@Test
+	void testDefaultKernel() {
+		boolean vector = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+				&& !"false".equalsIgnoreCase(System.getProperty(LineKernel.VECTOR_PROPERTY))
+				&& hasVectorKernel();
+		String name = LineKernel.getDefault().getName();
+		assertEquals(vector, name.startsWith("vector"), name);
+	}
+
+	@Test
+	void testKernelsAgree() {
+		LineKernel kernel = LineKernel.getDefault();
+		LineKernel scalar = LineKernel.scalar();
+		Random random = new Random(2334);
+		for (int length : LENGTHS) {
+			for (int offset = 0; offset < 3; ++offset) {
+				byte[] cells = randomCells(length + offset, random);
+				byte[] expected = randomCells(length + 2, random);
+				int words = LineKernel.wordsFor(length);
+
+				// stale bits must be cleared by both kernels
+				long[] bits = new long[words];
+				long[] scalarBits = new long[words];
+				Arrays.fill(bits, -1L);
+				Arrays.fill(scalarBits, -1L);
+				kernel.packFilled(cells, offset, length, bits);
+				scalar.packFilled(cells, offset, length, scalarBits);
+				assertArrayEquals(scalarBits, bits, kernel + " length " + length);
+
+				int[] runs = new int[length];
+				int[] scalarRuns = new int[length];
+				int numRuns = kernel.project(cells, offset, length, bits, runs);
+				assertEquals(scalar.project(cells, offset, length, scalarBits, scalarRuns), 
+						numRuns);
+				assertArrayEquals(scalarRuns, runs);
+
+				assertEquals(scalar.countFilledMismatches(cells, offset, expected, 2, length),
+						kernel.countFilledMismatches(cells, offset, expected, 2, length));
+				assertEquals(scalar.countMismatches(cells, offset, expected, 2, length),
+						kernel.countMismatches(cells, offset, expected, 2, length));
+				assertEquals(0, kernel.countMismatches(cells, offset, cells, offset, length));
+			}
+		}
+	}
+
+	@Test
+	void testCountMismatches() {
+		LineKernel kernel = LineKernel.getDefault();
+		for (int length : LENGTHS) {
+			byte[] cells = new byte[length];
+			byte[] expected = new byte[length];
+			Arrays.fill(cells, LineKernel.MARKED);
+			assertEquals(0, kernel.countFilledMismatches(cells, 0, expected, 0, length));
+			assertEquals(length, kernel.countMismatches(cells, 0, expected, 0, length));
+
+			// the last cell falls in the scalar tail
+			Arrays.fill(expected, LineKernel.MARKED);
+			expected[length - 1] = LineKernel.FILLED;
+			assertEquals(1, kernel.countFilledMismatches(cells, 0, expected, 0, length));
+			assertEquals(1, kernel.countMismatches(cells, 0, expected, 0, length));
+		}
+	}
+
+	private static boolean hasVectorKernel() {
+		try {
+			Class.forName("edu.ou.cs2334.project5.models.VectorLineKernel");
+			return true;
+		}
+		catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private static byte[] randomCells(int numCells, Random random) {
+		byte[] result = new byte[numCells];
+		for (int i = 0; i < numCells; ++i) {
+			result[i] = (byte) random.nextInt(3);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,173 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.DpLineSolver;
+import edu.ou.cs2334.project5.solvers.Grid;
+import edu.ou.cs2334.project5.solvers.LineCache;
+import edu.ou.cs2334.project5.solvers.LineSolver;
+import edu.ou.cs2334.project5.solvers.LogicSolver;
+import edu.ou.cs2334.project5.solvers.SolveResult;
+import edu.ou.cs2334.project5.solvers.Sweep;
+
+class LineSolverTest {
+
+	private static final byte U = Grid.UNKNOWN;
+	private static final byte F = Grid.FILLED;
+	private static final byte E = Grid.EMPTY;
+
+	@Test
+	void testOverlap() {
+		LineSolver solver = new LineSolver(5);
+		byte[] line = {U, U, U, U, U};
+		assertEquals(1, solver.solve(new int[] {3}, line, 5));
+		assertArrayEquals(new byte[] {U, U, F, U, U}, line);
+		assertEquals(LineSolver.OVERLAP, solver.getTechniques());
+
+		line = new byte[] {U, U, U, U, U};
+		assertEquals(5, solver.solve(new int[] {1, 3}, line, 5));
+		assertArrayEquals(new byte[] {F, E, F, F, F}, line);
+	}
+
+	@Test
+	void testGapAndBoundary() {
+		LineSolver solver = new LineSolver(6);
+		byte[] line = {U, U, U, F, U, U};
+		solver.solve(new int[] {2}, line, 6);
+		assertArrayEquals(new byte[] {E, E, U, F, U, E}, line);
+		assertEquals(LineSolver.GAP, solver.getTechniques() & LineSolver.GAP);
+
+		line = new byte[] {U, U, E, F, F, U};
+		solver.solve(new int[] {2}, line, 6);
+		assertArrayEquals(new byte[] {E, E, E, F, F, E}, line);
+
+		line = new byte[] {U, U, U, U, U, U};
+		solver.solve(LineSolver.toBlocks(new int[] {0}), line, 6);
+		assertArrayEquals(new byte[] {E, E, E, E, E, E}, line);
+	}
+
+	@Test
+	void testContradiction() {
+		LineSolver solver = new LineSolver(4);
+		assertEquals(LineSolver.CONTRADICTION, 
+				solver.solve(new int[] {2, 2}, new byte[] {U, U, U, U}, 4));
+		assertEquals(LineSolver.CONTRADICTION, 
+				solver.solve(new int[] {1}, new byte[] {F, E, F, U}, 4));
+		assertEquals(LineSolver.CONTRADICTION, 
+				solver.solve(new int[] {3}, new byte[] {U, E, U, U}, 4));
+	}
+
+	@Test
+	void testSolveModel() throws IOException {
+		NonogramModel model = new NonogramModel("./puzzles/space-invader.txt");
+		SolveResult result = new LogicSolver(model).solve();
+		assertEquals(SolveResult.Status.SOLVED, result.getStatus());
+		List<Sweep> sweeps = result.getSweeps();
+		assertTrue(sweeps.size() > 0);
+		int numCellsSolved = 0;
+		for (Sweep sweep : sweeps) {
+			numCellsSolved += sweep.getNumCellsSolved();
+		}
+		assertEquals(model.getNumRows() * model.getNumCols(), numCellsSolved);
+
+		result.applyTo(model);
+		assertTrue(model.isSolved());
+	}
+
+	@Test
+	void testDpMatchesAllPlacements() {
+		// compare with every line the clue and the known cells allow
+		Random random = new Random(1);
+		DpLineSolver solver = new DpLineSolver(10);
+		for (int iter = 0; iter < 2000; ++iter) {
+			int length = 1 + random.nextInt(10);
+			boolean[] solution = new boolean[length];
+			byte[] line = new byte[length];
+			for (int i = 0; i < length; ++i) {
+				solution[i] = random.nextBoolean();
+				line[i] = random.nextInt(3) == 0 ? (random.nextBoolean() ? F : E) : U;
+			}
+			int[] clue = NonogramModel.project(solution).stream()
+					.mapToInt(Integer::intValue).toArray();
+
+			boolean[] canBeFilled = new boolean[length];
+			boolean[] canBeEmpty = new boolean[length];
+			boolean consistent = false;
+			for (int mask = 0; mask < 1 << length; ++mask) {
+				boolean[] cells = new boolean[length];
+				boolean matches = true;
+				for (int i = 0; i < length; ++i) {
+					cells[i] = (mask >> i & 1) == 1;
+					matches &= line[i] == U || (line[i] == F) == cells[i];
+				}
+				if (matches && NonogramModel.matchesClue(cells, clue)) {
+					consistent = true;
+					for (int i = 0; i < length; ++i) {
+						canBeFilled[i] |= cells[i];
+						canBeEmpty[i] |= !cells[i];
+					}
+				}
+			}
+
+			byte[] solved = line.clone();
+			int changed = solver.solve(LineSolver.toBlocks(clue), solved, length);
+			if (!consistent) {
+				assertEquals(LineSolver.CONTRADICTION, changed);
+				continue;
+			}
+			for (int i = 0; i < length; ++i) {
+				byte expected = line[i] != U ? line[i] 
+						: canBeFilled[i] && !canBeEmpty[i] ? F 
+						: canBeEmpty[i] && !canBeFilled[i] ? E : U;
+				assertEquals(expected, solved[i]);
+			}
+		}
+	}
+
+	@Test
+	void testDpBeyondOverlap() {
+		// the filled cell is one of the two blocks, so both its neighbors
+		// are empty, which the left-most/right-most placements cannot tell
+		byte[] line = {U, U, F, U, U};
+		assertEquals(0, new LineSolver(5).solve(new int[] {1, 1}, line.clone(), 5));
+		assertEquals(2, new DpLineSolver(5).solve(new int[] {1, 1}, line, 5));
+		assertArrayEquals(new byte[] {U, E, F, E, U}, line);
+	}
+
+	@Test
+	void testLineCache() {
+		LineCache cache = new LineCache(2);
+		DpLineSolver solver = new DpLineSolver(5, cache);
+		byte[] line = {U, U, U, U, U};
+		assertEquals(1, solver.solve(new int[] {3}, line, 5));
+		line = new byte[] {U, U, U, U, U};
+		assertEquals(1, solver.solve(new int[] {3}, line, 5));
+		assertArrayEquals(new byte[] {U, U, F, U, U}, line);
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0.5, cache.getHitRate());
+
+		// contradictions are cached too
+		assertEquals(LineSolver.CONTRADICTION, 
+				solver.solve(new int[] {1}, new byte[] {F, E, F, U}, 4));
+		assertEquals(LineSolver.CONTRADICTION, 
+				solver.solve(new int[] {1}, new byte[] {F, E, F, U}, 4));
+		assertEquals(2, cache.getHits());
+
+		// {3} was used least recently, so it makes room for {1}
+		solver.solve(new int[] {1}, new byte[] {U, U, U, U, U}, 5);
+		assertEquals(1, cache.getEvictions());
+		assertEquals(2, cache.size());
+		solver.solve(new int[] {3}, new byte[] {U, U, U, U, U}, 5);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+	}
+
+}
@@ -2,17 +2,32 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
 
 import edu.ou.cs2334.project5.models.CellState;
+import edu.ou.cs2334.project5.models.ChangeTracker;
+import edu.ou.cs2334.project5.models.ClueLine;
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.LineKernel;
 import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.models.PuzzleFormatException;
+import edu.ou.cs2334.project5.models.StorageMode;
 
 class NonogramModelTest {
 
@@ -409,6 +424,29 @@ class NonogramModelTest {
 		}
 	}
 	
+	@Test
+	void testSolvedStateAfterReset() {
+		int[][] rowClues = {{1}, {0}};
+		int[][] colClues = {{1}, {0}};
+		NonogramModel model = new NonogramModel(rowClues, colClues);
+		checkRowsSolved(new boolean[] {false, true}, model);
+		checkColsSolved(new boolean[] {false, true}, model);
+		assertFalse(model.isSolved());
+		
+		assertTrue(model.setCellState(0, 0, CellState.FILLED));
+		checkRowsSolved(new boolean[] {true, true}, model);
+		checkColsSolved(new boolean[] {true, true}, model);
+		assertTrue(model.isSolved());
+		
+		// Resetting must bring back the unsolved lines
+		model.resetCells();
+		checkRowsSolved(new boolean[] {false, true}, model);
+		checkColsSolved(new boolean[] {false, true}, model);
+		assertFalse(model.isSolved());
+		assertTrue(model.setCellState(0, 0, CellState.FILLED));
+		assertTrue(model.isSolved());
+	}
+	
 	@Test
 	void testProject() {
 		boolean[] cells = {false, false, false, false, false};
@@ -430,6 +468,451 @@ class NonogramModelTest {
 		assertEquals(List.of(5), NonogramModel.project(cells));
 	}
 
+	@Test
+	void testProjectIntoBuffer() {
+		boolean[] cells = {false, false, false, false, false};
+		int[] runs = new int[NonogramModel.maxProjectionLength(cells.length)];
+		assertEquals(3, runs.length);
+		assertEquals(1, NonogramModel.project(cells, runs));
+		assertEquals(0, runs[0]);
+		assertTrue(NonogramModel.matchesClue(cells, new int[] {0}));
+		assertFalse(NonogramModel.matchesClue(cells, new int[] {1}));
+
+		cells = new boolean[] {true, false, true, true, false};
+		assertEquals(2, NonogramModel.project(cells, runs));
+		assertEquals(1, runs[0]);
+		assertEquals(2, runs[1]);
+		assertTrue(NonogramModel.matchesClue(cells, new int[] {1, 2}));
+		assertFalse(NonogramModel.matchesClue(cells, new int[] {1}));
+		assertFalse(NonogramModel.matchesClue(cells, new int[] {1, 2, 1}));
+		assertFalse(NonogramModel.matchesClue(cells, new int[] {0}));
+
+		cells = new boolean[] {true, false, true, false, true};
+		assertEquals(3, NonogramModel.project(cells, runs));
+		assertTrue(NonogramModel.matchesClue(cells, new int[] {1, 1, 1}));
+	}
+
+	@Test
+	void testProjectRowAndCol() {
+		int[][] rowClues = {{3}, {1, 1}, {0}, {3}};
+		int[][] colClues = {{2, 1}, {1, 1}, {2, 1}};
+		NonogramModel model = new NonogramModel(rowClues, colClues);
+		model.setCellState(1, 0, CellState.FILLED);
+		model.setCellState(1, 1, CellState.MARKED);
+		model.setCellState(1, 2, CellState.FILLED);
+		model.setCellState(3, 0, CellState.FILLED);
+
+		int[] runs = new int[NonogramModel.maxProjectionLength(3)];
+		assertEquals(2, model.projectRow(1, runs));
+		assertArrayEquals(new int[] {1, 1}, new int[] {runs[0], runs[1]});
+		assertArrayEquals(new int[] {1, 1}, model.projectCellStatesRow(1));
+		assertTrue(model.matchesRowClue(1));
+		assertTrue(model.matchesRowClue(2));
+		assertFalse(model.matchesRowClue(3));
+
+		assertEquals(2, model.projectCol(0, runs));
+		assertArrayEquals(new int[] {1, 1}, model.projectCellStatesCol(0));
+		assertArrayEquals(new int[] {0}, model.projectCellStatesCol(1));
+		assertFalse(model.matchesColClue(0));
+		assertFalse(model.matchesColClue(1));
+	}
+
+	@Test
+	void testPackedStorageMatchesArrayStorage() {
+		// 70 rows and 130 columns so lines span several 64-bit words
+		int numRows = 70;
+		int numCols = 130;
+		int[][] rowClues = new int[numRows][];
+		int[][] colClues = new int[numCols][];
+		Arrays.fill(rowClues, new int[] {numCols});
+		Arrays.fill(colClues, new int[] {numRows});
+		NonogramModel array = new NonogramModel(rowClues, colClues, StorageMode.ARRAY);
+		NonogramModel packed = new NonogramModel(rowClues, colClues, StorageMode.PACKED);
+		assertEquals(StorageMode.ARRAY, array.getStorageMode());
+		assertEquals(StorageMode.PACKED, packed.getStorageMode());
+
+		Random random = new Random(2334);
+		CellState[] states = CellState.values();
+		for (int i = 0; i < 5000; ++i) {
+			int row = random.nextInt(numRows);
+			int col = random.nextInt(numCols);
+			CellState state = states[random.nextInt(states.length)];
+			assertEquals(array.setCellState(row, col, state),
+					packed.setCellState(row, col, state));
+		}
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				assertEquals(array.getCellState(row, col), packed.getCellState(row, col));
+			}
+			assertArrayEquals(array.projectCellStatesRow(row), packed.projectCellStatesRow(row));
+		}
+		for (int col = 0; col < numCols; ++col) {
+			assertArrayEquals(array.projectCellStatesCol(col), packed.projectCellStatesCol(col));
+		}
+
+		// Completely filled lines end exactly on a word boundary or past it
+		for (int col = 0; col < numCols; ++col) {
+			packed.setCellState(0, col, CellState.FILLED);
+		}
+		assertTrue(packed.isRowSolved(0));
+		packed.setCellState(0, 64, CellState.MARKED);
+		assertArrayEquals(new int[] {64, 65}, packed.projectCellStatesRow(0));
+		assertFalse(packed.isRowSolved(0));
+
+		packed.resetCells();
+		assertArrayEquals(new int[] {0}, packed.projectCellStatesRow(0));
+		assertArrayEquals(new int[] {0}, packed.projectCellStatesCol(0));
+		assertEquals(CellState.EMPTY, packed.getCellState(0, 64));
+	}
+
+	@Test
+	void testByteStorageMatchesArrayStorage() {
+		// 70 columns so a row spans more than one vector and one word
+		int numRows = 40;
+		int numCols = 70;
+		int[][] rowClues = new int[numRows][];
+		int[][] colClues = new int[numCols][];
+		Arrays.fill(rowClues, new int[] {numCols});
+		Arrays.fill(colClues, new int[] {numRows});
+		NonogramModel array = new NonogramModel(rowClues, colClues, StorageMode.ARRAY);
+		NonogramModel bytes = new NonogramModel(rowClues, colClues, StorageMode.BYTES);
+		assertEquals(StorageMode.BYTES, bytes.getStorageMode());
+
+		Random random = new Random(2334);
+		CellState[] states = CellState.values();
+		for (int i = 0; i < 3000; ++i) {
+			int row = random.nextInt(numRows);
+			int col = random.nextInt(numCols);
+			CellState state = states[random.nextInt(states.length)];
+			assertEquals(array.setCellState(row, col, state),
+					bytes.setCellState(row, col, state));
+		}
+		byte[] expected = new byte[numCols + 1];
+		for (int col = 0; col < numCols; ++col) {
+			expected[col + 1] = (byte) random.nextInt(3);
+		}
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				assertEquals(array.getCellState(row, col), bytes.getCellState(row, col));
+			}
+			assertArrayEquals(array.projectCellStatesRow(row), bytes.projectCellStatesRow(row));
+			assertEquals(array.countRowMismatches(row, expected, 1),
+					bytes.countRowMismatches(row, expected, 1));
+			assertEquals(array.countRowStateMismatches(row, expected, 1),
+					bytes.countRowStateMismatches(row, expected, 1));
+		}
+		for (int col = 0; col < numCols; ++col) {
+			assertArrayEquals(array.projectCellStatesCol(col), bytes.projectCellStatesCol(col));
+		}
+
+		bytes.resetCells();
+		for (int col = 0; col < numCols; ++col) {
+			bytes.setCellState(0, col, CellState.FILLED);
+		}
+		assertTrue(bytes.isRowSolved(0));
+		byte[] solution = new byte[numCols];
+		Arrays.fill(solution, LineKernel.FILLED);
+		assertEquals(0, bytes.countRowMismatches(0, solution, 0));
+		assertEquals(numCols, bytes.countRowMismatches(1, solution, 0));
+		Arrays.fill(solution, LineKernel.MARKED);
+		bytes.setCellState(1, 0, CellState.MARKED);
+		assertEquals(numCols, bytes.countRowStateMismatches(0, solution, 0));
+		assertEquals(numCols - 1, bytes.countRowStateMismatches(1, solution, 0));
+		assertEquals(0, bytes.countRowMismatches(1, solution, 0));
+	}
+
+	@Test
+	void testPackedSolvePuzzle() {
+		int[][] rowClues = {{3}, {1, 1}, {0}, {3}};
+		int[][] colClues = {{2, 1}, {1, 1}, {2, 1}};
+		NonogramModel model = new NonogramModel(rowClues, colClues, StorageMode.PACKED);
+		assertTrue(model.isRowSolved(2));
+		assertFalse(model.isSolved());
+		int[][] filled = {{0, 0}, {0, 1}, {0, 2}, {1, 0}, {1, 2}, {3, 0}, {3, 1}, {3, 2}};
+		for (int[] cell : filled) {
+			assertFalse(model.isSolved());
+			assertTrue(model.setCellState(cell[0], cell[1], CellState.FILLED));
+		}
+		assertTrue(model.isSolved());
+		assertFalse(model.setCellState(2, 2, CellState.MARKED));
+	}
+
+	@Test
+	void testClueLines() {
+		int[][] rowClues = {{1, 2}, {0}};
+		int[][] colClues = {{1}, {0}, {2}, {1}};
+		NonogramModel model = new NonogramModel(rowClues, colClues);
+		ClueLine row = model.getRowClueLine(0);
+		assertSame(row, model.getRowClueLine(0));
+		assertEquals(2, row.size());
+		assertEquals(2, row.get(1));
+		assertArrayEquals(new int[] {1, 2}, row.toArray());
+		assertEquals("1 2", row.toString());
+		assertTrue(row.matches(new int[] {1, 2, 7}, 2));
+		assertFalse(row.matches(new int[] {1}, 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> row.get(2));
+
+		// the view does not see changes made to the constructor's arrays
+		rowClues[0][1] = 5;
+		assertEquals(2, row.get(1));
+		assertEquals(model.getColClueLine(3), model.getColClueLine(0));
+		assertArrayEquals(new int[] {0}, model.getColClue(1));
+	}
+
+	@Test
+	void testClueSet() {
+		int[][] clues = {{1, 2}, {0}, {3}};
+		ClueSet set = ClueSet.of(clues);
+		assertEquals(3, set.getNumLines());
+		assertEquals(2, set.size(0));
+		assertEquals(2, set.get(0, 1));
+		assertEquals(2, set.getBlockCount(0));
+		assertEquals(0, set.getBlockCount(1));
+		assertEquals(4, set.getMinimumSpan(0));
+		assertEquals(0, set.getMinimumSpan(1));
+		assertEquals(3, set.getSum(2));
+		assertEquals(6, set.getTotal());
+		assertThrows(IndexOutOfBoundsException.class, () -> set.get(1, 1));
+		assertTrue(Arrays.deepEquals(clues, set.toArrays()));
+
+		int[] blocks = new int[2];
+		assertEquals(0, set.copyBlocks(1, blocks));
+		assertEquals(2, set.copyBlocks(0, blocks));
+		assertArrayEquals(new int[] {1, 2}, blocks);
+
+		NonogramModel model = new NonogramModel(clues, new int[][] {{1}, {2}});
+		assertSame(model.getRowClueSet().getLine(2), model.getRowClueLine(2));
+	}
+
+	@Test
+	void testUndoRedo() {
+		NonogramModel model = new NonogramModel(new int[][] {{1}, {1}}, new int[][] {{1}, {1}});
+		assertFalse(model.canUndo());
+		assertFalse(model.undo(null));
+
+		model.setCellState(0, 0, CellState.MARKED);
+		model.setCellState(0, 0, CellState.FILLED);
+		model.setCellState(1, 1, CellState.FILLED);
+		assertTrue(model.isSolved());
+
+		// undo works after solving and reports the reverted cell
+		List<CellState> changed = new ArrayList<>();
+		assertTrue(model.undo((rowIdx, colIdx, state) -> changed.add(state)));
+		assertEquals(Arrays.asList(CellState.EMPTY), changed);
+		assertFalse(model.isSolved());
+		assertFalse(model.isRowSolved(1));
+		assertTrue(model.undo(null));
+		assertEquals(CellState.MARKED, model.getCellState(0, 0));
+
+		assertTrue(model.redo(null));
+		assertTrue(model.redo(null));
+		assertFalse(model.canRedo());
+		assertTrue(model.isSolved());
+
+		// a new change drops the changes that could be redone
+		model.undo(null);
+		model.setCellState(1, 0, CellState.MARKED);
+		assertFalse(model.canRedo());
+	}
+
+	@Test
+	void testUndoGroups() {
+		NonogramModel model = new NonogramModel(new int[][] {{3}, {0}}, new int[][] {{1}, {1}, {1}});
+		model.setCellState(1, 1, CellState.MARKED);
+		model.beginEdit();
+		model.setCellState(0, 0, CellState.FILLED);
+		model.beginEdit();
+		model.setCellState(0, 1, CellState.FILLED);
+		model.endEdit();
+		model.setCellState(0, 2, CellState.FILLED);
+		model.endEdit();
+		assertTrue(model.isSolved());
+
+		model.undo(null);
+		for (int colIdx = 0; colIdx < 3; ++colIdx) {
+			assertEquals(CellState.EMPTY, model.getCellState(0, colIdx));
+		}
+		assertEquals(CellState.MARKED, model.getCellState(1, 1));
+
+		model.redo(null);
+		assertTrue(model.isSolved());
+		assertTrue(model.canUndo());
+		model.resetCells();
+		assertFalse(model.canUndo());
+	}
+
+	@Test
+	void testHistoryCapacity() {
+		NonogramModel model = new NonogramModel(new int[][] {{4}}, new int[][] {{1}, {1}, {1}, {1}});
+		model.setHistoryCapacity(2);
+		model.beginEdit();
+		for (int colIdx = 0; colIdx < 4; ++colIdx) {
+			model.setCellState(0, colIdx, CellState.MARKED);
+		}
+		model.endEdit();
+
+		// only the last two changes of the group are kept
+		assertTrue(model.undo(null));
+		assertFalse(model.canUndo());
+		assertEquals(CellState.MARKED, model.getCellState(0, 1));
+		assertEquals(CellState.EMPTY, model.getCellState(0, 2));
+
+		model.setHistoryCapacity(0);
+		model.setCellState(0, 0, CellState.EMPTY);
+		assertFalse(model.canUndo());
+	}
+
+	@Test
+	void testHistoryGrows() {
+		int[][] colClues = new int[25][];
+		Arrays.fill(colClues, new int[] {1});
+		NonogramModel model = new NonogramModel(new int[][] {{25}}, colClues);
+		assertEquals(NonogramModel.DEFAULT_HISTORY_CAPACITY, model.getHistoryCapacity());
+
+		// the buffer grows past its first length and then drops the oldest changes
+		model.setHistoryCapacity(20);
+		for (int colIdx = 0; colIdx < 25; ++colIdx) {
+			model.setCellState(0, colIdx, CellState.MARKED);
+		}
+		int numUndone = 0;
+		while (model.undo(null)) {
+			++numUndone;
+		}
+		assertEquals(20, numUndone);
+		for (int colIdx = 0; colIdx < 25; ++colIdx) {
+			assertEquals(colIdx < 5 ? CellState.MARKED : CellState.EMPTY, 
+					model.getCellState(0, colIdx));
+		}
+		while (model.redo(null)) {
+			--numUndone;
+		}
+		assertEquals(0, numUndone);
+		assertEquals(CellState.MARKED, model.getCellState(0, 24));
+	}
+
+	@Test
+	void testChangeTracking() {
+		NonogramModel model = new NonogramModel(new int[][] {{2}, {0}}, new int[][] {{1}, {1}});
+
+		// a new model lists what differs from an empty, unsolved view
+		ChangeTracker changes = model.getChanges();
+		assertEquals(0, changes.getNumCells());
+		assertEquals(1, changes.getNumRows());
+		assertEquals(1, changes.getRow(0));
+		model.clearChanges();
+		assertTrue(changes.isEmpty());
+
+		model.setCellState(0, 0, CellState.MARKED);
+		model.setCellState(0, 0, CellState.FILLED);
+		model.setCellState(0, 1, CellState.FILLED);
+		assertEquals(2, changes.getNumCells());
+		assertEquals(0, changes.getCellRow(1));
+		assertEquals(1, changes.getCellCol(1));
+		assertEquals(1, changes.getNumRows());
+		assertEquals(2, changes.getNumCols());
+		model.clearChanges();
+
+		model.resetCells();
+		assertEquals(2, changes.getNumCells());
+		assertEquals(1, changes.getNumRows());
+		assertEquals(2, changes.getNumCols());
+	}
+
+	@Test
+	void testChangeTrackingStartsLazily() {
+		// edits made before the first call are folded into the initial list
+		NonogramModel model = new NonogramModel(new int[][] {{2}, {0}}, new int[][] {{1}, {1}});
+		model.setCellState(0, 0, CellState.FILLED);
+		model.setCellState(1, 1, CellState.MARKED);
+		model.setCellState(1, 1, CellState.EMPTY);
+		ChangeTracker changes = model.getChanges();
+		assertEquals(1, changes.getNumCells());
+		assertEquals(0, changes.getCellRow(0));
+		assertEquals(0, changes.getCellCol(0));
+		assertEquals(1, changes.getNumRows());
+		assertEquals(1, changes.getNumCols());
+		assertSame(changes, model.getChanges());
+	}
+
+	@Test
+	void testBinaryRoundTrip() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/bunny.txt");
+		Random random = new Random(2334);
+		CellState[] states = CellState.values();
+		for (int i = 0; i < 200; ++i) {
+			model.setCellState(random.nextInt(model.getNumRows()),
+					random.nextInt(model.getNumCols()), states[random.nextInt(states.length)]);
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		model.writeBinary(out, true);
+		NonogramModel copy = new NonogramModel(
+				new ByteArrayInputStream(out.toByteArray()), StorageMode.PACKED);
+		assertArrayEquals(model.getRowClues(), copy.getRowClues());
+		assertArrayEquals(model.getColClues(), copy.getColClues());
+		for (int rowIdx = 0; rowIdx < model.getNumRows(); ++rowIdx) {
+			assertEquals(model.isRowSolved(rowIdx), copy.isRowSolved(rowIdx));
+			for (int colIdx = 0; colIdx < model.getNumCols(); ++colIdx) {
+				assertEquals(model.getCellState(rowIdx, colIdx), copy.getCellState(rowIdx, colIdx));
+			}
+		}
+
+		// without cells the clues still round-trip and the cells start empty
+		out = new ByteArrayOutputStream();
+		model.writeBinary(out, false);
+		copy = new NonogramModel(new ByteArrayInputStream(out.toByteArray()), StorageMode.ARRAY);
+		assertArrayEquals(model.getColClues(), copy.getColClues());
+		assertEquals(CellState.EMPTY, copy.getCellState(0, 0));
+		assertTrue(out.size() < new File("puzzles/bunny.txt").length());
+	}
+
+	@Test
+	void testBinaryMalformed() {
+		byte[] data = {'N', 'G', 'R', 'M', 9, 0, 1, 1};
+		assertThrows(PuzzleFormatException.class,
+				() -> new NonogramModel(new ByteArrayInputStream(data), StorageMode.ARRAY));
+		byte[] truncated = {'N', 'G', 'R', 'M', 1, 0, 2, 2, 1};
+		assertThrows(IOException.class,
+				() -> new NonogramModel(new ByteArrayInputStream(truncated), StorageMode.ARRAY));
+	}
+
+	@Test
+	void testWriteText() throws IOException {
+		int[][] rowClues = {{0}, {1, 2}};
+		int[][] colClues = {{1}, {0}, {1}, {1}};
+		StringWriter out = new StringWriter();
+		new NonogramModel(rowClues, colClues).writeText(out);
+		assertEquals("2 4\n0\n1 2\n1\n0\n1\n1\n", out.toString());
+
+		NonogramModel model = new NonogramModel("puzzles/bunny.txt");
+		out = new StringWriter();
+		model.writeText(out);
+		NonogramModel read = new NonogramModel(new ByteArrayInputStream(
+				out.toString().getBytes(StandardCharsets.UTF_8)), StorageMode.ARRAY);
+		assertArrayEquals(model.getRowClues(), read.getRowClues());
+		assertArrayEquals(model.getColClues(), read.getColClues());
+	}
+
+	@Test
+	void testReadClues() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/bunny.txt");
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		model.writeBinary(binary, true);
+		StringWriter text = new StringWriter();
+		model.writeText(text);
+
+		// both formats give the clues without building a model
+		for (byte[] bytes : new byte[][] {binary.toByteArray(),
+				text.toString().getBytes(StandardCharsets.UTF_8)}) {
+			ClueSet[] clues = NonogramModel.readClues(new ByteArrayInputStream(bytes));
+			assertEquals(2, clues.length);
+			assertArrayEquals(model.getRowClues(), clues[0].toArrays());
+			assertArrayEquals(model.getColClues(), clues[1].toArrays());
+		}
+		assertThrows(PuzzleFormatException.class, () -> NonogramModel.readClues(
+				new ByteArrayInputStream("2 x\n".getBytes(StandardCharsets.UTF_8))));
+	}
+
 	private static void checkCellStates(CellState[][] states, NonogramModel model) {
 		for (int rowIdx = 0; rowIdx < states.length; ++rowIdx) {
 			for (int colIdx = 0; colIdx < states[0].length; ++colIdx) {
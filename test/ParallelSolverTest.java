@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.ParallelSolver;
+import edu.ou.cs2334.project5.solvers.SearchResult;
+
+class ParallelSolverTest {
+
+	@Test
+	void testAmbiguousPuzzle() {
+		int[][] clues = {{1}, {1}};
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			SearchResult result = new ParallelSolver(clues, clues, pool, 4).solve(3);
+			assertEquals(2, result.getNumSolutions());
+			assertTrue(result.isExhausted());
+
+			result = new ParallelSolver(clues, clues, pool, 4).solve(1);
+			assertEquals(1, result.getNumSolutions());
+			assertFalse(result.isExhausted());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testConcurrentSolves() {
+		int[][] clues = {{1}, {1}};
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			ParallelSolver solver = new ParallelSolver(clues, clues, pool, 4);
+			CompletableFuture<SearchResult> all = CompletableFuture.supplyAsync(() -> solver.solve(3));
+			CompletableFuture<SearchResult> one = CompletableFuture.supplyAsync(() -> solver.solve(1));
+			assertEquals(2, all.join().getNumSolutions());
+			assertTrue(all.join().isExhausted());
+			assertEquals(1, one.join().getNumSolutions());
+			assertFalse(one.join().isExhausted());
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testSolveInto() throws IOException {
+		NonogramModel model = new NonogramModel("puzzles/pikachu.txt");
+		assertTrue(new ParallelSolver(model).solveInto(model));
+		assertTrue(model.isSolved());
+	}
+
+}
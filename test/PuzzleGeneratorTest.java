@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.NonogramModel;
+import edu.ou.cs2334.project5.solvers.GeneratedPuzzle;
+import edu.ou.cs2334.project5.solvers.Grid;
+import edu.ou.cs2334.project5.solvers.LogicSolver;
+import edu.ou.cs2334.project5.solvers.PuzzleGenerator;
+import edu.ou.cs2334.project5.solvers.UniquenessChecker;
+
+class PuzzleGeneratorTest {
+
+	@Test
+	void testUniqueSolution() {
+		PuzzleGenerator generator = new PuzzleGenerator(10, 12, 0.5, false);
+		Random random = new Random(7);
+		for (int i = 0; i < 20; ++i) {
+			GeneratedPuzzle puzzle = generator.generate(random);
+			assertTrue(new UniquenessChecker().check(puzzle.getRowClues(), 
+					puzzle.getColClues()).isUnique());
+
+			// the clues are the projection of the solution
+			NonogramModel model = puzzle.toModel();
+			puzzle.getSolution().applyTo(model);
+			assertTrue(model.isSolved());
+		}
+	}
+
+	@Test
+	void testLogicOnly() {
+		PuzzleGenerator generator = new PuzzleGenerator(15, 15, 0.5, true);
+		Random random = new Random(11);
+		for (int i = 0; i < 20; ++i) {
+			GeneratedPuzzle puzzle = generator.generate(random);
+			Grid solved = new LogicSolver(puzzle.getRowClues(), puzzle.getColClues())
+					.solve().getGrid();
+			assertEquals(puzzle.getSolution(), solved);
+		}
+	}
+
+	@Test
+	void testParallelBatchIsRepeatable() {
+		// density 0.5 makes many uniqueness checks search and some run out of nodes
+		PuzzleGenerator generator = new PuzzleGenerator(25, 25, 0.5, false);
+		ForkJoinPool single = new ForkJoinPool(1);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<GeneratedPuzzle> first = generator.generate(40, 42, single);
+			List<GeneratedPuzzle> second = generator.generate(40, 42, pool);
+			assertEquals(40, first.size());
+			for (int i = 0; i < first.size(); ++i) {
+				assertArrayEquals(first.get(i).getRowClues(), second.get(i).getRowClues());
+				assertArrayEquals(first.get(i).getColClues(), second.get(i).getColClues());
+			}
+		}
+		finally {
+			single.shutdown();
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, 
+				() -> new PuzzleGenerator(0, 5, 0.5, false));
+		assertThrows(IllegalArgumentException.class, 
+				() -> new PuzzleGenerator(5, 5, 1.5, false));
+	}
+
+}
@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.models.ClueSet;
+import edu.ou.cs2334.project5.models.PuzzleFormatException;
+import edu.ou.cs2334.project5.models.PuzzleReader;
+
+class PuzzleReaderTest {
+
+	private static PuzzleReader reader(String text) {
+		return new PuzzleReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+	}
+
+	@Test
+	void testRead() throws IOException {
+		PuzzleReader reader = reader("2  3 \r\n1 1\n  0\t\n2\n1\n1");
+		assertArrayEquals(new int[] {2, 3}, reader.readHeader());
+		ClueSet rowClues = reader.readClueLines(2, "row");
+		assertArrayEquals(new int[] {1, 1}, rowClues.toArray(0));
+		assertArrayEquals(new int[] {0}, rowClues.toArray(1));
+		ClueSet colClues = reader.readClueLines(3, "column");
+		assertArrayEquals(new int[] {2}, colClues.toArray(0));
+		assertArrayEquals(new int[] {1}, colClues.toArray(2));
+	}
+
+	@Test
+	void testMalformed() throws IOException {
+		PuzzleFormatException e = assertThrows(PuzzleFormatException.class,
+				() -> reader("1 1\n1 x1\n1\n").readClueLines(2, "row"));
+		assertEquals(2, e.getLineNum());
+		assertEquals(3, e.getColNum());
+
+		e = assertThrows(PuzzleFormatException.class, () -> reader("1 1\n1\n").readClueLines(3, "row"));
+		assertEquals(3, e.getLineNum());
+
+		e = assertThrows(PuzzleFormatException.class, () -> reader("1 1\n\n").readClueLines(2, "row"));
+		assertEquals(2, e.getLineNum());
+
+		e = assertThrows(PuzzleFormatException.class, () -> reader("4 99999999999\n").readHeader());
+		assertEquals(3, e.getColNum());
+
+		assertThrows(PuzzleFormatException.class, () -> reader("1 2 3\n").readHeader());
+	}
+
+}
@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ou.cs2334.project5.solvers.Grid;
+import edu.ou.cs2334.project5.solvers.UniquenessChecker;
+import edu.ou.cs2334.project5.solvers.UniquenessResult;
+import edu.ou.cs2334.project5.solvers.UniquenessResult.Verdict;
+
+class UniquenessCheckerTest {
+
+	private static final int[][] DIAGONAL_CLUES = {{1}, {1}};
+
+	@Test
+	void testUnique() throws IOException {
+		UniquenessResult result = new UniquenessChecker().check(new File("puzzles/bunny.txt"));
+		assertEquals(Verdict.UNIQUE, result.getVerdict());
+		assertEquals(1, result.getSolutions().size());
+		assertNull(result.getWitnesses());
+	}
+
+	@Test
+	void testMultiple() {
+		UniquenessResult result = new UniquenessChecker().check(DIAGONAL_CLUES, DIAGONAL_CLUES);
+		assertEquals(Verdict.MULTIPLE, result.getVerdict());
+		Grid[] witnesses = result.getWitnesses();
+		assertEquals(2, witnesses.length);
+		assertFalse(witnesses[0].equals(witnesses[1]));
+	}
+
+	@Test
+	void testNoSolution() {
+		UniquenessChecker checker = new UniquenessChecker();
+		assertEquals(Verdict.NO_SOLUTION,
+				checker.check(new int[][] {{2}, {0}}, new int[][] {{0}, {0}}).getVerdict());
+		assertEquals(Verdict.NO_SOLUTION,
+				checker.check(new int[][] {{1, 1}}, new int[][] {{0}, {1}, {1}}).getVerdict());
+	}
+
+	@Test
+	void testDefaultBudgetDecides() throws IOException {
+		// the default budget counts nodes only, so a busy machine still decides
+		UniquenessResult result = new UniquenessChecker().check(new File("puzzles/amogus.txt"));
+		assertNotEquals(Verdict.UNDECIDED, result.getVerdict());
+		assertTrue(result.getNumNodes() > 0);
+	}
+
+	@Test
+	void testBudget() {
+		UniquenessResult result = new UniquenessChecker(0, UniquenessChecker.DEFAULT_MAX_MILLIS).check(DIAGONAL_CLUES, DIAGONAL_CLUES);
+		assertEquals(Verdict.UNDECIDED, result.getVerdict());
+	}
+
+}
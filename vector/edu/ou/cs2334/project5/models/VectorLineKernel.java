@@ -0,0 +1,99 @@
+package edu.ou.cs2334.project5.models;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+/**
+ * Scans lines with the Vector API. Each step compares a whole vector of 
+ * cells with FILLED and MARKED and either turns the resulting mask into 
+ * bits of the bitset or counts its lanes, so the cells of a line are 
+ * handled 16 to 64 at a time depending on the processor. LineKernel loads
+ * this class by name when the {@code jdk.incubator.vector} module is 
+ * present.
+ * 
+ * @author emmas
+ * @version 0.1
+ */
+final class VectorLineKernel extends LineKernel {
+	
+	// a mask converts to a long only when it has at most 64 lanes
+	private static final VectorSpecies<Byte> SPECIES = 
+			ByteVector.SPECIES_PREFERRED.length() <= Long.SIZE 
+					? ByteVector.SPECIES_PREFERRED : ByteVector.SPECIES_512;
+	
+	@Override
+	public String getName() {
+		return "vector-" + SPECIES.vectorBitSize();
+	}
+	
+	@Override
+	public void packFilled(byte[] cells, int offset, int length, long[] bits) {
+		Arrays.fill(bits, 0, wordsFor(length), 0L);
+		
+		// the lane count divides 64, so a vector never straddles two words
+		int lanes = SPECIES.length();
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+		for (; i < bound; i += lanes) {
+			long mask = ByteVector.fromArray(SPECIES, cells, offset + i)
+					.eq(FILLED).toLong();
+			bits[i >>> 6] |= mask << i;
+		}
+		for (; i < length; ++i) {
+			if (cells[offset + i] == FILLED) {
+				bits[i >>> 6] |= 1L << i;
+			}
+		}
+	}
+	
+	@Override
+	public int countFilledMismatches(byte[] cells, int offset, byte[] expected, 
+			int expectedOffset, int length) {
+		int bound = SPECIES.loopBound(length);
+		int count = 0;
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			VectorMask<Byte> filled = ByteVector.fromArray(SPECIES, cells, offset + i)
+					.eq(FILLED);
+			VectorMask<Byte> expectedFilled = 
+					ByteVector.fromArray(SPECIES, expected, expectedOffset + i).eq(FILLED);
+			count += filled.eq(expectedFilled).not().trueCount();
+		}
+		for (; i < length; ++i) {
+			if ((cells[offset + i] == FILLED) != (expected[expectedOffset + i] == FILLED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+	
+	@Override
+	public int countMismatches(byte[] cells, int offset, byte[] expected, 
+			int expectedOffset, int length) {
+		int bound = SPECIES.loopBound(length);
+		int count = 0;
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			ByteVector line = ByteVector.fromArray(SPECIES, cells, offset + i);
+			ByteVector expectedLine = 
+					ByteVector.fromArray(SPECIES, expected, expectedOffset + i);
+			
+			// a cell differs when either its filled or its marked lane differs
+			VectorMask<Byte> sameFilled = line.eq(FILLED).eq(expectedLine.eq(FILLED));
+			VectorMask<Byte> sameMarked = line.eq(MARKED).eq(expectedLine.eq(MARKED));
+			count += sameFilled.and(sameMarked).not().trueCount();
+		}
+		for (; i < length; ++i) {
+			byte cell = cells[offset + i];
+			byte expectedCell = expected[expectedOffset + i];
+			if ((cell == FILLED) != (expectedCell == FILLED) 
+					|| (cell == MARKED) != (expectedCell == MARKED)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+}